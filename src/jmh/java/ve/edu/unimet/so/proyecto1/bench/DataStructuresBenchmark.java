@@ -0,0 +1,137 @@
+/*
+ * DataStructuresBenchmark.java
+ */
+package ve.edu.unimet.so.proyecto1.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ve.edu.unimet.so.proyecto1.datastructures.LinkedQueue;
+import ve.edu.unimet.so.proyecto1.datastructures.OrderedList;
+import ve.edu.unimet.so.proyecto1.datastructures.RingQueue;
+import ve.edu.unimet.so.proyecto1.datastructures.SimpleList;
+
+/**
+ * Costo de las estructuras propias. Cada invocación procesa el lote completo
+ * de "size" elementos (llenar y vaciar), así el resultado es por lote.
+ * Las claves salen de una semilla fija para que sea comparable entre commits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DataStructuresBenchmark {
+
+    static final class Key {
+        final int value;
+        Key(int value) { this.value = value; }
+    }
+
+    /** random: claves aleatorias; ascending/descending: peor y mejor caso del insert ordenado. */
+    @Param({"random", "ascending", "descending"})
+    public String order;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Key[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new Key[size];
+        for (int i = 0; i < size; i++) {
+            int value = switch (order) {
+                case "ascending" -> i;
+                case "descending" -> size - i;
+                default -> random.nextInt(size);
+            };
+            keys[i] = new Key(value);
+        }
+    }
+
+    @Benchmark
+    public void linkedQueueEnqueueDequeue(Blackhole bh) {
+        LinkedQueue<Key> queue = new LinkedQueue<>();
+        for (Key key : keys) {
+            queue.enqueue(key);
+        }
+        while (!queue.isEmpty()) {
+            bh.consume(queue.dequeue());
+        }
+    }
+
+    @Benchmark
+    public void ringQueueEnqueueDequeue(Blackhole bh) {
+        RingQueue<Key> queue = new RingQueue<>();
+        for (Key key : keys) {
+            queue.enqueue(key);
+        }
+        while (!queue.isEmpty()) {
+            bh.consume(queue.dequeue());
+        }
+    }
+
+    @Benchmark
+    public void simpleListAddRemoveFirst(Blackhole bh) {
+        SimpleList<Key> list = new SimpleList<>();
+        for (Key key : keys) {
+            list.add(key);
+        }
+        // removeFirst busca por identidad: quitar desde el final es el peor caso de búsqueda
+        for (int i = keys.length - 1; i >= keys.length - 100 && i >= 0; i--) {
+            bh.consume(list.removeFirst(keys[i]));
+        }
+        bh.consume(list.size());
+    }
+
+    @Benchmark
+    public Object[] simpleListToArray(ListState state) {
+        return state.list.toArray();
+    }
+
+    @Benchmark
+    public void orderedListAddPollFirst(Blackhole bh) {
+        OrderedList<Key> list = new OrderedList<>((a, b) -> Integer.compare(a.value, b.value));
+        for (Key key : keys) {
+            list.add(key);
+        }
+        while (!list.isEmpty()) {
+            bh.consume(list.pollFirst());
+        }
+    }
+
+    @Benchmark
+    public void orderedListBuildFrom(Blackhole bh) {
+        OrderedList<Key> list = new OrderedList<>((a, b) -> Integer.compare(a.value, b.value));
+        list.buildFrom(keys);
+        bh.consume(list.peekFirst());
+    }
+
+    @State(Scope.Thread)
+    public static class ListState {
+        SimpleList<Key> list;
+
+        @Setup(Level.Trial)
+        public void setup(DataStructuresBenchmark bench) {
+            list = new SimpleList<>();
+            for (Key key : bench.keys) {
+                list.add(key);
+            }
+        }
+    }
+}
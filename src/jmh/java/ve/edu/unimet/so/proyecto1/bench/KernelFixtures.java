@@ -0,0 +1,33 @@
+/*
+ * KernelFixtures.java
+ */
+package ve.edu.unimet.so.proyecto1.bench;
+
+import java.util.SplittableRandom;
+import ve.edu.unimet.so.proyecto1.kernel.OperatingSystem;
+import ve.edu.unimet.so.proyecto1.kernel.SchedulingPolicy;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+
+/** Kernels precargados y reproducibles (semilla fija) para los benchmarks. */
+final class KernelFixtures {
+
+    static final long SEED = 42;
+    static final int QUANTUM = 4;
+
+    private KernelFixtures() {
+    }
+
+    /** Kernel con readyCount procesos largos en READY bajo la política dada. */
+    static OperatingSystem loadedKernel(SchedulingPolicy policy, int readyCount) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        OperatingSystem os = new OperatingSystem(QUANTUM);
+        os.setAlgorithm(policy);
+        for (int pid = 0; pid < readyCount; pid++) {
+            long arrival = random.nextInt(readyCount);
+            int instructions = 1_000_000 + random.nextInt(1_000_000);
+            long deadline = arrival + instructions + random.nextInt(10_000_000);
+            os.addProcess(new PCB(pid, "P" + pid, instructions, random.nextInt(10), arrival, deadline, -1, 0));
+        }
+        return os;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * KernelTickBenchmark.java
+ */
+package ve.edu.unimet.so.proyecto1.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ve.edu.unimet.so.proyecto1.kernel.OperatingSystem;
+import ve.edu.unimet.so.proyecto1.kernel.SchedulingPolicy;
+
+/**
+ * Costo de un tick (executeOneCycle) con "readyCount" procesos en READY.
+ * Los procesos son largos, así que la población no cambia durante la medición.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Thread)
+public class KernelTickBenchmark {
+
+    @Param({"FCFS", "RR", "SRT", "PRIORITY", "EDF"})
+    public SchedulingPolicy policy;
+
+    @Param({"1000", "100000", "1000000"})
+    public int readyCount;
+
+    private OperatingSystem os;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        os = KernelFixtures.loadedKernel(policy, readyCount);
+    }
+
+    @Benchmark
+    public long executeOneCycle() {
+        os.executeOneCycle();
+        return os.getGlobalTick();
+    }
+}
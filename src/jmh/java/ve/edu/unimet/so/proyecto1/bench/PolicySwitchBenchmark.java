@@ -0,0 +1,60 @@
+/*
+ * PolicySwitchBenchmark.java
+ */
+package ve.edu.unimet.so.proyecto1.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ve.edu.unimet.so.proyecto1.kernel.OperatingSystem;
+import ve.edu.unimet.so.proyecto1.kernel.SchedulingPolicy;
+
+/**
+ * Costo de setAlgorithm (rebuild de READY) con "readyCount" procesos.
+ * Cada invocación alterna entre "policy" y una política de la otra familia
+ * (FIFO vs ordenada), así siempre se reconstruye la estructura completa.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Thread)
+public class PolicySwitchBenchmark {
+
+    @Param({"FCFS", "RR", "SRT", "PRIORITY", "EDF"})
+    public SchedulingPolicy policy;
+
+    @Param({"1000", "100000", "1000000"})
+    public int readyCount;
+
+    private OperatingSystem os;
+    private SchedulingPolicy other;
+    private boolean atPolicy;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        other = (policy == SchedulingPolicy.FCFS || policy == SchedulingPolicy.RR)
+                ? SchedulingPolicy.EDF
+                : SchedulingPolicy.FCFS;
+        os = KernelFixtures.loadedKernel(other, readyCount);
+        atPolicy = false;
+    }
+
+    @Benchmark
+    public int setAlgorithm() {
+        atPolicy = !atPolicy;
+        os.setAlgorithm(atPolicy ? policy : other);
+        return os.getReadyCount();
+    }
+}
@@ -4,6 +4,7 @@
 
 package ve.edu.unimet.so.proyecto1;
 import ve.edu.unimet.so.proyecto1.datastructures.DataStructuresTest;
+import ve.edu.unimet.so.proyecto1.kernel.KernelTest;
 
 
 /**
@@ -14,5 +15,6 @@ public class Project1OS {
 
     public static void main(String[] args) {
         DataStructuresTest.runAll();
+        KernelTest.runAll();
     }
 }
@@ -0,0 +1,267 @@
+/*
+ * SweepRunner.java
+ */
+package ve.edu.unimet.so.proyecto1;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import ve.edu.unimet.so.proyecto1.kernel.MediumTermScheduler;
+import ve.edu.unimet.so.proyecto1.kernel.MetricsEngine;
+import ve.edu.unimet.so.proyecto1.kernel.OperatingSystem;
+import ve.edu.unimet.so.proyecto1.kernel.SchedulingPolicy;
+import ve.edu.unimet.so.proyecto1.kernel.SmpMode;
+import ve.edu.unimet.so.proyecto1.kernel.WorkloadGenerator;
+
+/**
+ * Barrido de parámetros sin GUI (planificación de capacidad).
+ *
+ * Corre la misma carga bajo cada combinación de política, quantum, límite de
+ * procesos en memoria, CPUs, modo SMP y semilla, cada una en su propio
+ * OperatingSystem, en paralelo sobre un ForkJoinPool.
+ * Las instancias no comparten estado mutable: cada corrida genera sus propios
+ * PCBs a partir de su semilla. Escribe una fila CSV por configuración, en el
+ * orden del barrido (la salida no depende del número de hilos).
+ *
+ * Uso (todos opcionales):
+ *   policies=FCFS,RR,SRT,PRIORITY,EDF quanta=2,4,8 seeds=1,2,3
+ *   memory=unlimited,20,100 cpus=1,2,4 smp=GLOBAL,PARTITIONED
+ *   processes=1000 maxTicks=10000000 threads=8 out=sweep.csv
+ */
+public class SweepRunner {
+
+    private static final String HEADER =
+            "policy,quantum,maxProcessesInMemory,cpus,smp,seed,processes,ticks,terminated,throughput,meanWaiting,"
+            + "deadlineMissRate,contextSwitches,meanCpuUtilization,migrations,swapOuts,swapIns";
+
+    /** Una configuración del barrido y, tras correrla, su resumen. */
+    static final class Run {
+        final SchedulingPolicy policy;
+        final int quantum;
+        final int maxProcessesInMemory; // MediumTermScheduler.UNLIMITED = sin swapping
+        final int cpus;
+        final SmpMode smp;
+        final long seed;
+        final int processes;
+        final long maxTicks;
+
+        long ticks;
+        int terminated;
+        double throughput;
+        double meanWaiting;
+        double deadlineMissRate;
+        long contextSwitches;
+        double meanCpuUtilization;
+        long migrations;
+        long swapOuts;
+        long swapIns;
+
+        Run(SchedulingPolicy policy, int quantum, int maxProcessesInMemory, int cpus, SmpMode smp, long seed,
+                int processes, long maxTicks) {
+            this.policy = policy;
+            this.quantum = quantum;
+            this.maxProcessesInMemory = maxProcessesInMemory;
+            this.cpus = cpus;
+            this.smp = smp;
+            this.seed = seed;
+            this.processes = processes;
+            this.maxTicks = maxTicks;
+        }
+
+        String toCsv() {
+            String memory = maxProcessesInMemory == MediumTermScheduler.UNLIMITED ? "unlimited"
+                    : String.valueOf(maxProcessesInMemory);
+            return policy + "," + quantum + "," + memory + "," + cpus + "," + smp + "," + seed + "," + processes + ","
+                    + ticks + "," + terminated + "," + throughput + "," + meanWaiting + "," + deadlineMissRate + ","
+                    + contextSwitches + "," + meanCpuUtilization + "," + migrations + "," + swapOuts + "," + swapIns;
+        }
+    }
+
+    /** Divide el arreglo de corridas hasta llegar a corridas individuales. */
+    private static final class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient Run[] runs; // la tarea nunca se serializa
+        private final int from;
+        private final int to;
+
+        SweepTask(Run[] runs, int from, int to) {
+            this.runs = runs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                simulate(runs[from]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SweepTask(runs, from, mid), new SweepTask(runs, mid, to));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        SchedulingPolicy[] policies = SchedulingPolicy.values();
+        int[] quanta = {4};
+        int[] memoryLimits = {MediumTermScheduler.UNLIMITED};
+        int[] cpuCounts = {1};
+        SmpMode[] smpModes = {SmpMode.GLOBAL};
+        long[] seeds = {1};
+        int processes = 1000;
+        long maxTicks = 10_000_000L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String out = null;
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("expected key=value, got: " + arg);
+            }
+            String key = arg.substring(0, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "policies" -> policies = parsePolicies(value);
+                case "quanta" -> quanta = parseInts(value);
+                case "memory" -> memoryLimits = parseMemoryLimits(value);
+                case "cpus" -> cpuCounts = parseInts(value);
+                case "smp" -> smpModes = parseSmpModes(value);
+                case "seeds" -> seeds = parseLongs(value);
+                case "processes" -> processes = Integer.parseInt(value);
+                case "maxTicks" -> maxTicks = Long.parseLong(value);
+                case "threads" -> threads = Integer.parseInt(value);
+                case "out" -> out = value;
+                default -> throw new IllegalArgumentException("unknown option: " + key);
+            }
+        }
+
+        Run[] runs = buildSweep(policies, quanta, memoryLimits, cpuCounts, smpModes, seeds, processes, maxTicks);
+        long start = System.nanoTime();
+        runAll(runs, threads);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        OutputStream sink = out == null ? System.out : new FileOutputStream(out);
+        PrintStream printer = new PrintStream(sink, false, "UTF-8");
+        printer.println(HEADER);
+        for (Run run : runs) {
+            printer.println(run.toCsv());
+        }
+        printer.flush();
+        if (out != null) {
+            printer.close();
+        }
+        System.err.println(runs.length + " runs in " + elapsedMs + " ms on " + threads + " threads");
+    }
+
+    static Run[] buildSweep(SchedulingPolicy[] policies, int[] quanta, int[] memoryLimits, int[] cpuCounts,
+            SmpMode[] smpModes, long[] seeds, int processes, long maxTicks) {
+        Run[] runs = new Run[policies.length * quanta.length * memoryLimits.length * cpuCounts.length
+                * smpModes.length * seeds.length];
+        int i = 0;
+        for (SchedulingPolicy policy : policies) {
+            for (int quantum : quanta) {
+                for (int memory : memoryLimits) {
+                    for (int cpus : cpuCounts) {
+                        for (SmpMode smp : smpModes) {
+                            for (long seed : seeds) {
+                                runs[i++] = new Run(policy, quantum, memory, cpus, smp, seed, processes, maxTicks);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return runs;
+    }
+
+    static void runAll(Run[] runs, int threads) {
+        if (runs.length == 0) return;
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            pool.invoke(new SweepTask(runs, 0, runs.length));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Corre una configuración en un kernel aislado y llena su resumen. */
+    static void simulate(Run run) {
+        OperatingSystem os = new OperatingSystem(run.quantum, run.cpus, run.smp);
+        os.setAlgorithm(run.policy);
+        os.setMaxProcessesInMemory(run.maxProcessesInMemory);
+        // Los trabajos se crean al llegar: en memoria solo están los activos
+        os.setWorkloadSource(new WorkloadGenerator(run.seed, run.processes).stream());
+
+        while (os.getGlobalTick() < run.maxTicks && os.getTerminatedCount() < run.processes) {
+            if (os.advanceToNextEvent(run.maxTicks) == 0) {
+                break;
+            }
+        }
+
+        // Miss = terminó tarde o sigue sin terminar con la deadline vencida (marcado por el índice)
+        MetricsEngine metrics = os.getMetrics();
+        long ticks = os.getGlobalTick();
+        long terminated = metrics.getTerminatedCount();
+        long admitted = os.getAdmittedCount();
+        run.ticks = ticks;
+        run.terminated = (int) terminated;
+        run.throughput = ticks == 0 ? 0.0 : (double) terminated / ticks;
+        run.meanWaiting = metrics.getMeanWaitingTime();
+        run.deadlineMissRate = admitted == 0 ? 0.0 : (double) metrics.getDeadlineMisses() / admitted;
+        run.contextSwitches = os.getContextSwitches();
+        run.meanCpuUtilization = metrics.getMeanCpuUtilization();
+        run.migrations = metrics.getMigrations();
+        run.swapOuts = os.getMediumTermScheduler().getSwapOuts();
+        run.swapIns = os.getMediumTermScheduler().getSwapIns();
+    }
+
+    private static SchedulingPolicy[] parsePolicies(String csv) {
+        String[] parts = csv.split(",");
+        SchedulingPolicy[] out = new SchedulingPolicy[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            out[i] = SchedulingPolicy.valueOf(parts[i].trim().toUpperCase());
+        }
+        return out;
+    }
+
+    private static SmpMode[] parseSmpModes(String csv) {
+        String[] parts = csv.split(",");
+        SmpMode[] out = new SmpMode[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            out[i] = SmpMode.valueOf(parts[i].trim().toUpperCase());
+        }
+        return out;
+    }
+
+    /** "unlimited" o un entero > 0 por elemento. */
+    private static int[] parseMemoryLimits(String csv) {
+        String[] parts = csv.split(",");
+        int[] out = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            out[i] = part.equalsIgnoreCase("unlimited") ? MediumTermScheduler.UNLIMITED : Integer.parseInt(part);
+        }
+        return out;
+    }
+
+    private static int[] parseInts(String csv) {
+        String[] parts = csv.split(",");
+        int[] out = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            out[i] = Integer.parseInt(parts[i].trim());
+        }
+        return out;
+    }
+
+    private static long[] parseLongs(String csv) {
+        String[] parts = csv.split(",");
+        long[] out = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            out[i] = Long.parseLong(parts[i].trim());
+        }
+        return out;
+    }
+}
@@ -18,4 +18,12 @@ public class Compare {
         int compare(T a, T b);
     }
 
+    /**
+     * Comparator over int keys/handles (no boxing, no object dereference).
+     * Same sign convention as Comparator.
+     */
+    public interface IntComparator {
+        int compare(int a, int b);
+    }
+
 }
@@ -4,6 +4,11 @@
  */
 package ve.edu.unimet.so.proyecto1.datastructures;
 
+import ve.edu.unimet.so.proyecto1.models.PCB;
+import ve.edu.unimet.so.proyecto1.models.PcbPool;
+import ve.edu.unimet.so.proyecto1.models.PcbTable;
+import ve.edu.unimet.so.proyecto1.models.ProcessState;
+
 /**
  *
  * @author chano
@@ -23,6 +28,17 @@ public class DataStructuresTest {
         testsPassed = 0;
         testSimpleList();
         testOrderedList();
+        testOrderedListBulk();
+        testIndexedHeap();
+        testIndexedMinMaxHeap();
+        testIndexedIntHeap();
+        testRingQueue();
+        testVersions();
+        testLogHistogram();
+        testPriorityArrayQueue();
+        testIndexedIntRingQueue();
+        testIntPriorityArrayQueue();
+        testPcbTable();
         System.out.println("OK: " + testsPassed + "/" + testsRun + " tests passed.");
     }
 
@@ -115,6 +131,514 @@ public class DataStructuresTest {
         expect(list.isEmpty(), "OrderedList clear");
     }
 
+    private static void testOrderedListBulk() {
+        OrderedList<Box> list = new OrderedList<>(
+                (a, b) -> Integer.compare(a.id, b.id),
+                2
+        );
+
+        Box a = new Box(2);
+        Box b = new Box(1);
+        Box c = new Box(2);
+        Box d = new Box(0);
+        list.buildFrom(new Object[] {a, b, c, d});
+
+        expect(list.size() == 4, "OrderedList buildFrom size");
+        expect(list.get(0) == d, "OrderedList buildFrom position 0");
+        expect(list.get(1) == b, "OrderedList buildFrom position 1");
+        expect(list.get(2) == a, "OrderedList buildFrom stable for equals (a)");
+        expect(list.get(3) == c, "OrderedList buildFrom stable for equals (c)");
+
+        Box e = new Box(2);
+        Box f = new Box(-1);
+        list.addAll(new Object[] {e, f});
+        expect(list.size() == 6, "OrderedList addAll size");
+        expect(list.get(0) == f, "OrderedList addAll merges smaller first");
+        expect(list.get(5) == e, "OrderedList addAll keeps batch after existing equals");
+
+        Box g = new Box(2);
+        list.add(g);
+        expect(list.get(6) == g, "OrderedList binary insert stable for equals");
+
+        OrderedList<Box> big = new OrderedList<>((x, y) -> Integer.compare(x.id, y.id));
+        Object[] batch = new Object[1000];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = new Box((i * 7919) % 1000);
+        }
+        big.buildFrom(batch);
+        big.addAll(batch);
+        boolean ordered = true;
+        for (int i = 1; i < big.size(); i++) {
+            if (big.get(i - 1).id > big.get(i).id) ordered = false;
+        }
+        expect(ordered && big.size() == 2000, "OrderedList large buildFrom/addAll sorted");
+    }
+
+    private static void testIndexedHeap() {
+        IndexedHeap<Box> heap = new IndexedHeap<>(
+                (a, b) -> Integer.compare(a.id, b.id),
+                2
+        );
+
+        Box a = new Box(5);
+        Box b = new Box(1);
+        Box c = new Box(3);
+        Box d = new Box(4);
+
+        int ha = heap.add(a);
+        heap.add(b);
+        int hc = heap.add(c);
+        int hd = heap.add(d);
+
+        expect(heap.size() == 4, "IndexedHeap size after add");
+        expect(heap.peekFirst() == b, "IndexedHeap peekFirst is min");
+        expect(heap.get(hc) == c, "IndexedHeap get by handle");
+
+        Box removed = heap.remove(hc);
+        expect(removed == c, "IndexedHeap remove by handle");
+        expect(!heap.contains(hc), "IndexedHeap handle freed after remove");
+        expect(heap.size() == 3, "IndexedHeap size after remove");
+
+        Box polled = heap.pollFirst();
+        expect(polled == b, "IndexedHeap pollFirst");
+        expect(heap.peekFirst() == d, "IndexedHeap new first after pollFirst");
+
+        expect(heap.get(ha) == a && heap.get(hd) == d, "IndexedHeap handles stable after sifts");
+
+        boolean removedFirst = heap.removeFirst(d);
+        expect(removedFirst, "IndexedHeap removeFirst returns true");
+        expect(heap.peekFirst() == a, "IndexedHeap remaining is a");
+
+        for (int i = 20; i > 0; i--) {
+            heap.add(new Box(i));
+        }
+        int last = 0;
+        boolean ordered = true;
+        while (!heap.isEmpty()) {
+            Box next = heap.pollFirst();
+            if (next.id < last) ordered = false;
+            last = next.id;
+        }
+        expect(ordered, "IndexedHeap polls in order after growth");
+
+        int[] key = new int[] {10, 20, 30};
+        IndexedHeap<Integer> keyed = new IndexedHeap<>((x, y) -> Integer.compare(key[x], key[y]));
+        keyed.add(0);
+        int h1 = keyed.add(1);
+        keyed.add(2);
+        key[1] = 5;
+        keyed.update(h1);
+        expect(keyed.peekFirst() == 1, "IndexedHeap update moves re-keyed element up");
+        key[1] = 40;
+        keyed.update(h1);
+        expect(keyed.peekFirst() == 0, "IndexedHeap update moves re-keyed element down");
+
+        heap.clear();
+        expect(heap.isEmpty(), "IndexedHeap clear");
+    }
+
+    private static void testIndexedMinMaxHeap() {
+        IndexedMinMaxHeap<Box> heap = new IndexedMinMaxHeap<>(
+                (a, b) -> Integer.compare(a.id, b.id),
+                2
+        );
+        expect(heap.peekMin() == null && heap.peekMax() == null, "IndexedMinMaxHeap empty peeks return null");
+
+        Box a = new Box(5);
+        Box b = new Box(1);
+        Box c = new Box(3);
+        Box d = new Box(4);
+        int ha = heap.add(a);
+        heap.add(b);
+        int hc = heap.add(c);
+        heap.add(d);
+
+        expect(heap.peekMin() == b && heap.peekMax() == a, "IndexedMinMaxHeap peeks both ends");
+        expect(heap.remove(hc) == c && !heap.contains(hc), "IndexedMinMaxHeap remove by handle");
+        expect(heap.pollMax() == a && !heap.contains(ha), "IndexedMinMaxHeap pollMax");
+        expect(heap.pollMin() == b && heap.peekMax() == d, "IndexedMinMaxHeap pollMin");
+
+        // Random adds/removes checked against a plain array
+        heap.clear();
+        Box[] live = new Box[200];
+        int[] handles = new int[200];
+        int count = 0;
+        long seed = 42;
+        boolean consistent = true;
+        for (int step = 0; step < 3000 && consistent; step++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            int r = (int) (seed >>> 33);
+            if (count < live.length && (count == 0 || (r & 3) != 0)) {
+                live[count] = new Box(r % 500);
+                handles[count] = heap.add(live[count]);
+                count++;
+            } else {
+                int i = (r >>> 2) % count;
+                int kind = (r >>> 12) % 3;
+                Box removed = kind == 0 ? heap.pollMin() : kind == 1 ? heap.pollMax() : heap.remove(handles[i]);
+                if (kind != 2) {
+                    i = 0;
+                    while (live[i] != removed) i++;
+                }
+                consistent = removed == live[i];
+                live[i] = live[--count];
+                handles[i] = handles[count];
+            }
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                min = Math.min(min, live[i].id);
+                max = Math.max(max, live[i].id);
+            }
+            if (count > 0) {
+                consistent &= heap.peekMin().id == min && heap.peekMax().id == max;
+            }
+            for (int i = 0; i < count && consistent; i++) {
+                consistent = heap.get(handles[i]) == live[i];
+            }
+            consistent &= heap.size() == count;
+        }
+        expect(consistent, "IndexedMinMaxHeap random adds/removes keep both ends and handles");
+    }
+
+    private static void testIndexedIntHeap() {
+        int[] key = new int[] {50, 10, 30, 40};
+        IndexedIntHeap heap = new IndexedIntHeap((a, b) -> Integer.compare(key[a], key[b]), 2);
+
+        for (int h = 0; h < key.length; h++) {
+            heap.add(h);
+        }
+        expect(heap.size() == 4, "IndexedIntHeap size after add");
+        expect(heap.peekFirst() == 1, "IndexedIntHeap peekFirst is min");
+        expect(heap.contains(3), "IndexedIntHeap contains handle");
+
+        expect(heap.remove(2), "IndexedIntHeap remove handle");
+        expect(!heap.contains(2), "IndexedIntHeap handle gone after remove");
+
+        key[0] = 5;
+        heap.update(0);
+        expect(heap.pollFirst() == 0, "IndexedIntHeap update re-keys");
+        expect(heap.pollFirst() == 1, "IndexedIntHeap poll order 1");
+        expect(heap.pollFirst() == 3, "IndexedIntHeap poll order 2");
+        expect(heap.pollFirst() == -1, "IndexedIntHeap poll empty returns -1");
+
+        heap.add(2);
+        heap.clear();
+        expect(heap.isEmpty() && !heap.contains(2), "IndexedIntHeap clear");
+
+        // Two heaps over one position map: a handle lives in at most one of them
+        IndexedIntHeap.Positions shared = new IndexedIntHeap.Positions();
+        IndexedIntHeap left = new IndexedIntHeap((a, b) -> Integer.compare(key[a], key[b]), shared);
+        IndexedIntHeap right = new IndexedIntHeap((a, b) -> Integer.compare(key[a], key[b]), shared);
+        left.add(0);
+        left.add(1);
+        right.add(3);
+        expect(left.contains(1) && !right.contains(1) && right.contains(3), "IndexedIntHeap shared positions contains");
+        boolean rejected = false;
+        try {
+            right.add(1);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        expect(rejected, "IndexedIntHeap shared positions reject a handle queued elsewhere");
+        expect(left.remove(1) && !right.remove(1), "IndexedIntHeap shared positions remove");
+        right.add(1);
+        expect(right.pollFirst() == 1 && right.pollFirst() == 3, "IndexedIntHeap handle moves between heaps");
+    }
+
+    private static void testRingQueue() {
+        RingQueue<Box> queue = new RingQueue<>(2);
+        expect(queue.isEmpty(), "RingQueue starts empty");
+        expect(queue.dequeue() == null, "RingQueue dequeue empty returns null");
+
+        Box a = new Box(1);
+        Box b = new Box(2);
+        Box c = new Box(3);
+        queue.enqueue(a);
+        queue.enqueue(b);
+        expect(queue.dequeue() == a, "RingQueue FIFO order");
+        queue.enqueue(c); // wraps around
+        queue.enqueue(a); // grows while wrapped
+        expect(queue.size() == 3, "RingQueue size after wrap and grow");
+        expect(queue.peek() == b, "RingQueue peek after grow");
+
+        Object[] arr = queue.toArray();
+        expect(arr.length == 3 && arr[0] == b && arr[1] == c && arr[2] == a, "RingQueue toArray in FIFO order");
+
+        expect(queue.removeFirst(c), "RingQueue removeFirst returns true");
+        expect(queue.get(0) == b && queue.get(1) == a, "RingQueue order after removeFirst");
+
+        int capacity = queue.capacity();
+        for (int i = 0; i < 1000; i++) {
+            queue.enqueue(queue.dequeue());
+        }
+        expect(queue.capacity() == capacity, "RingQueue steady state does not grow");
+
+        queue.clear();
+        expect(queue.isEmpty(), "RingQueue clear");
+
+        IntRingQueue ints = new IntRingQueue(2);
+        ints.enqueue(7);
+        ints.enqueue(8);
+        expect(ints.dequeue() == 7, "IntRingQueue FIFO order");
+        ints.enqueue(9);
+        ints.enqueue(10);
+        int[] snapshot = ints.toArray();
+        expect(snapshot.length == 3 && snapshot[0] == 8 && snapshot[2] == 10, "IntRingQueue toArray");
+        expect(ints.removeFirst(9) && !ints.removeFirst(9), "IntRingQueue removeFirst");
+        expect(ints.size() == 2 && ints.get(0) == 8 && ints.get(1) == 10, "IntRingQueue order after removeFirst");
+        ints.clear();
+        expect(ints.dequeue() == -1, "IntRingQueue dequeue empty returns -1");
+    }
+
+    private static void testVersions() {
+        Box a = new Box(1);
+        Box b = new Box(2);
+
+        SimpleList<Box> list = new SimpleList<>();
+        int v = list.version();
+        list.add(a);
+        expect(list.version() != v, "SimpleList add changes version");
+        v = list.version();
+        list.get(0);
+        list.toArray();
+        expect(list.version() == v, "SimpleList reads keep version");
+        list.removeFirst(a);
+        expect(list.version() != v, "SimpleList remove changes version");
+
+        RingQueue<Box> queue = new RingQueue<>();
+        v = queue.version();
+        queue.dequeue();
+        expect(queue.version() == v, "RingQueue dequeue on empty keeps version");
+        queue.enqueue(a);
+        queue.enqueue(b);
+        Object[] dest = new Object[4];
+        v = queue.version();
+        expect(queue.copyInto(dest) == 2 && queue.version() == v, "RingQueue copyInto keeps version");
+        queue.dequeue();
+        expect(queue.version() != v, "RingQueue dequeue changes version");
+
+        IndexedHeap<Box> heap = new IndexedHeap<>((x, y) -> Integer.compare(x.id, y.id));
+        int handle = heap.add(b);
+        heap.add(a);
+        v = heap.version();
+        heap.peekFirst();
+        expect(heap.copyInto(dest) == 2 && heap.version() == v, "IndexedHeap reads keep version");
+        heap.update(handle);
+        expect(heap.version() != v, "IndexedHeap update changes version");
+        v = heap.version();
+        heap.pollFirst();
+        expect(heap.version() != v, "IndexedHeap poll changes version");
+
+        OrderedList<Box> ordered = new OrderedList<>((x, y) -> Integer.compare(x.id, y.id));
+        v = ordered.version();
+        ordered.addAll(new Object[] { b, a });
+        expect(ordered.version() != v, "OrderedList addAll changes version");
+        v = ordered.version();
+        ordered.pollFirst();
+        expect(ordered.version() != v, "OrderedList poll changes version");
+    }
+
+    private static void testLogHistogram() {
+        LogHistogram h = new LogHistogram();
+        expect(h.getCount() == 0 && h.percentile(0.5) == 0, "LogHistogram starts empty");
+        expect(LogHistogram.bucketOf(0) == 0 && LogHistogram.bucketOf(1) == 1, "LogHistogram buckets 0 and 1");
+        expect(LogHistogram.bucketOf(3) == 2 && LogHistogram.bucketOf(4) == 3, "LogHistogram power-of-two edges");
+        expect(LogHistogram.bucketOf(Long.MAX_VALUE) == 63, "LogHistogram last bucket");
+
+        for (int i = 0; i < 99; i++) h.record(100);
+        h.record(5000);
+        expect(h.getCount() == 100 && h.getMax() == 5000, "LogHistogram count and max");
+        expect(h.getMean() == (99 * 100 + 5000) / 100.0, "LogHistogram mean");
+        expect(h.getBucketCount(LogHistogram.bucketOf(100)) == 99, "LogHistogram bucket count");
+        expect(h.percentile(0.5) == 127, "LogHistogram p50 is bucket upper bound");
+        expect(h.percentile(1.0) == 5000, "LogHistogram p100 capped at max");
+
+        h.record(-3);
+        expect(h.getBucketCount(0) == 1, "LogHistogram negative recorded as 0");
+
+        h.clear();
+        expect(h.getCount() == 0 && h.getMax() == 0 && h.getBucketCount(0) == 0, "LogHistogram clear");
+    }
+
+    private static void testPriorityArrayQueue() {
+        // level = id / 10; inside a level, lower id first
+        PriorityArrayQueue<Box> queue = new PriorityArrayQueue<>(x -> x.id / 10, (x, y) -> {
+            int c = Integer.compare(y.id / 10, x.id / 10);
+            return c != 0 ? c : Integer.compare(x.id, y.id);
+        });
+        expect(queue.isEmpty() && queue.peekFirst() == null, "PriorityArrayQueue starts empty");
+        expect(queue.topLevel() == Integer.MIN_VALUE, "PriorityArrayQueue empty topLevel");
+
+        Box low = new Box(15);
+        Box highLate = new Box(37);
+        Box highEarly = new Box(31);
+        queue.add(low);
+        queue.add(highLate);
+        queue.add(highEarly);
+        expect(queue.size() == 3 && queue.topLevel() == 3, "PriorityArrayQueue topLevel from bitmap");
+        expect(queue.peekFirst() == highEarly, "PriorityArrayQueue tie-break inside level");
+
+        Box above = new Box(900); // level 90: overflow
+        Box below = new Box(-25); // level -2: overflow
+        queue.add(above);
+        queue.add(below);
+        expect(queue.topLevel() == 90 && queue.peekFirst() == above, "PriorityArrayQueue overflow above levels");
+        expect(queue.removeFirst(above), "PriorityArrayQueue removeFirst overflow");
+        expect(queue.removeFirst(highLate) && !queue.removeFirst(highLate), "PriorityArrayQueue removeFirst level");
+
+        int v = queue.version();
+        expect(queue.copyInto(new Object[4]) == 3 && queue.version() == v, "PriorityArrayQueue copyInto keeps version");
+        expect(queue.pollFirst() == highEarly, "PriorityArrayQueue poll order 1");
+        expect(queue.topLevel() == 1, "PriorityArrayQueue bit cleared when level empties");
+        expect(queue.pollFirst() == low, "PriorityArrayQueue poll order 2");
+        expect(queue.pollFirst() == below, "PriorityArrayQueue overflow below levels");
+        expect(queue.pollFirst() == null && queue.isEmpty(), "PriorityArrayQueue poll empty returns null");
+
+        queue.add(low);
+        queue.add(below);
+        queue.clear();
+        expect(queue.isEmpty() && queue.topLevel() == Integer.MIN_VALUE, "PriorityArrayQueue clear");
+    }
+
+    private static void testIndexedIntRingQueue() {
+        IndexedIntRingQueue queue = new IndexedIntRingQueue(2);
+        expect(queue.isEmpty() && queue.peek() == -1 && queue.dequeue() == -1, "IndexedIntRingQueue starts empty");
+        for (int h = 0; h < 5; h++) {
+            queue.enqueue(h);
+        }
+        expect(queue.remove(2) && !queue.remove(2) && !queue.contains(2), "IndexedIntRingQueue remove handle");
+        expect(queue.remove(0) && queue.peek() == 1, "IndexedIntRingQueue remove head");
+        queue.enqueue(2); // re-enqueued behind its stale slot
+        int[] order = queue.toArray();
+        expect(order.length == 4 && order[0] == 1 && order[1] == 3 && order[2] == 4 && order[3] == 2,
+                "IndexedIntRingQueue keeps FIFO order around removed handles");
+        boolean rejected = false;
+        try {
+            queue.enqueue(3);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        expect(rejected, "IndexedIntRingQueue rejects a queued handle");
+        expect(queue.dequeue() == 1 && queue.dequeue() == 3, "IndexedIntRingQueue dequeue order");
+        queue.clear();
+        expect(queue.isEmpty() && !queue.contains(4), "IndexedIntRingQueue clear");
+
+        // Same operations on IntRingQueue (linear removeFirst) as the reference
+        IntRingQueue reference = new IntRingQueue();
+        boolean same = true;
+        long seed = 7;
+        for (int step = 0; step < 5000 && same; step++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            int handle = (int) ((seed >>> 33) % 40);
+            int op = (int) ((seed >>> 20) & 3);
+            if (op == 0) {
+                same = queue.dequeue() == reference.dequeue();
+            } else if (op == 1) {
+                same = queue.remove(handle) == reference.removeFirst(handle);
+            } else if (!queue.contains(handle)) {
+                queue.enqueue(handle);
+                reference.enqueue(handle);
+            }
+            same &= queue.size() == reference.size() && queue.peek() == reference.peek();
+        }
+        int[] expected = reference.toArray();
+        int[] actual = queue.toArray();
+        same &= expected.length == actual.length;
+        for (int i = 0; same && i < expected.length; i++) {
+            same = expected[i] == actual[i];
+        }
+        expect(same, "IndexedIntRingQueue random enqueue/dequeue/remove matches a plain ring");
+    }
+
+    private static void testIntPriorityArrayQueue() {
+        // level = key / 10; inside a level, lower key first
+        int[] key = new int[] {15, 37, 31, 900, -25};
+        IntPriorityArrayQueue queue = new IntPriorityArrayQueue(h -> Math.floorDiv(key[h], 10), (a, b) -> {
+            int c = Integer.compare(Math.floorDiv(key[b], 10), Math.floorDiv(key[a], 10));
+            return c != 0 ? c : Integer.compare(key[a], key[b]);
+        });
+        expect(queue.isEmpty() && queue.peekFirst() == -1, "IntPriorityArrayQueue starts empty");
+        expect(queue.topLevel() == Integer.MIN_VALUE, "IntPriorityArrayQueue empty topLevel");
+
+        queue.add(0);
+        queue.add(1);
+        queue.add(2);
+        expect(queue.size() == 3 && queue.topLevel() == 3, "IntPriorityArrayQueue topLevel from bitmap");
+        expect(queue.peekFirst() == 2, "IntPriorityArrayQueue tie-break inside level");
+
+        queue.add(3); // level 90: overflow
+        queue.add(4); // level -3: overflow
+        expect(queue.topLevel() == 90 && queue.peekFirst() == 3, "IntPriorityArrayQueue overflow above levels");
+        expect(queue.remove(3), "IntPriorityArrayQueue remove overflow");
+        expect(queue.remove(1) && !queue.remove(1), "IntPriorityArrayQueue remove level");
+
+        int v = queue.version();
+        expect(queue.copyInto(new int[4]) == 3 && queue.version() == v, "IntPriorityArrayQueue copyInto keeps version");
+        expect(queue.pollFirst() == 2, "IntPriorityArrayQueue poll order 1");
+        expect(queue.topLevel() == 1, "IntPriorityArrayQueue bit cleared when level empties");
+        expect(queue.pollFirst() == 0, "IntPriorityArrayQueue poll order 2");
+        expect(queue.pollFirst() == 4, "IntPriorityArrayQueue overflow below levels");
+        expect(queue.pollFirst() == -1 && queue.isEmpty(), "IntPriorityArrayQueue poll empty returns -1");
+
+        queue.add(0);
+        queue.add(4);
+        queue.clear();
+        expect(queue.isEmpty() && queue.topLevel() == Integer.MIN_VALUE, "IntPriorityArrayQueue clear");
+    }
+
+    private static void testPcbTable() {
+        PcbTable table = new PcbTable(1); // grows on the second attach
+        PCB a = new PCB(1, "A", 10, 2, 0, 50, -1, 0);
+        PCB b = new PCB(2, "B", 10, 5, 1, 40, -1, 0);
+        int ra = table.attach(a);
+        int rb = table.attach(b);
+        expect(table.rowOf(a) == ra && table.rowOf(b) == rb && table.pcbAt(rb) == b, "PcbTable attach and rowOf");
+        boolean rejected = false;
+        try {
+            table.attach(a);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        expect(rejected, "PcbTable rejects a pcb attached twice");
+
+        Compare.IntComparator srt = table.srtComparator();
+        expect(srt.compare(rb, ra) < 0, "PcbTable srt tie-break by deadline");
+        a.setState(ProcessState.RUNNING);
+        a.executeCycles(6);
+        expect(srt.compare(rb, ra) < 0, "PcbTable keeps the attached copy until sync");
+        table.sync(ra);
+        expect(srt.compare(ra, rb) < 0 && table.getProgramCounter(ra) == 6, "PcbTable sync copies counters");
+        expect(table.getState(ra) == ProcessState.RUNNING, "PcbTable sync copies state");
+        expect(table.priorityComparator().compare(rb, ra) < 0, "PcbTable priority comparator");
+        expect(table.edfComparator().compare(rb, ra) < 0, "PcbTable edf comparator");
+        expect(table.fifoComparator().compare(ra, rb) < 0, "PcbTable fifo comparator");
+
+        PcbTable.View view = table.newView();
+        view.moveTo(rb);
+        expect(view.getName().equals("B") && view.getState() == ProcessState.NEW, "PcbTable view reads the row");
+
+        table.detach(a);
+        expect(!table.contains(a) && table.size() == 1, "PcbTable detach frees the row");
+        expect(table.attach(a) == ra, "PcbTable reuses the freed row");
+        table.setCpuId(ra, 3);
+        expect(a.getCpuId() == 3 && table.getCpuId(ra) == 3, "PcbTable setCpuId updates the pcb");
+
+        PcbPool pool = new PcbPool();
+        rejected = false;
+        try {
+            pool.release(a);
+        } catch (IllegalStateException e) {
+            rejected = true;
+        }
+        expect(rejected, "PcbPool refuses a pcb that is still in a table");
+        table.detach(a);
+        pool.release(a);
+        PCB job = pool.acquire(9, "T", 5, 1, 10, 30, -1, 0, 4, 1);
+        expect(job == a && job.getName().equals("T#4") && job.isPeriodicJob() && job.getCpuId() == 1
+                && job.getState() == ProcessState.NEW, "PcbPool reuses the pcb as a periodic job");
+    }
+
     private static void expect(boolean condition, String message) {
         testsRun++;
         if (!condition) {
@@ -0,0 +1,306 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ve.edu.unimet.so.proyecto1.datastructures;
+
+/**
+ * Binary min-heap ("best" according to the comparator at the top) where every
+ * element gets an int handle on insertion. The handle allows O(log n) removal
+ * and re-keying of an arbitrary element without a linear search.
+ *
+ * Handles stay valid until the element is removed (poll/remove/clear) and may
+ * be reused afterwards for new elements.
+ *
+ * @author chano
+ */
+public class IndexedHeap<T> {
+
+    public interface Visitor<T> {
+        void visit(T item);
+    }
+
+    private final Compare.Comparator<T> comparator;
+
+    // heap position -> element / handle
+    private Object[] heap;
+    private int[] heapHandles;
+    // handle -> heap position (-1 if the handle is free)
+    private int[] positions;
+    // stack of free handles
+    private int[] freeHandles;
+    private int freeCount;
+    private int size;
+    private int version;
+
+    public IndexedHeap(Compare.Comparator<T> comparator) {
+        this(comparator, 10);
+    }
+
+    public IndexedHeap(Compare.Comparator<T> comparator, int initialCapacity) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("comparator cannot be null");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be > 0");
+        }
+        this.comparator = comparator;
+        this.heap = new Object[initialCapacity];
+        this.heapHandles = new int[initialCapacity];
+        this.positions = new int[initialCapacity];
+        this.freeHandles = new int[initialCapacity];
+        for (int i = 0; i < initialCapacity; i++) {
+            positions[i] = -1;
+            freeHandles[i] = initialCapacity - 1 - i;
+        }
+        this.freeCount = initialCapacity;
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return heap.length;
+    }
+
+    public Compare.Comparator<T> comparator() {
+        return comparator;
+    }
+
+    /** Modification counter; changes on every structural change. */
+    public int version() {
+        return version;
+    }
+
+    /** Inserts the element and returns its handle. */
+    public int add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element cannot be null");
+        }
+        ensureCapacity(size + 1);
+        int handle = freeHandles[--freeCount];
+        heap[size] = element;
+        heapHandles[size] = handle;
+        positions[handle] = size;
+        size++;
+        version++;
+        siftUp(size - 1);
+        return handle;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T peekFirst() {
+        if (size == 0) return null;
+        return (T) heap[0];
+    }
+
+    /** Handle of the best element, or -1 if empty. */
+    public int peekHandle() {
+        if (size == 0) return -1;
+        return heapHandles[0];
+    }
+
+    public T pollFirst() {
+        if (size == 0) return null;
+        return removeAtPosition(0);
+    }
+
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < positions.length && positions[handle] >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int handle) {
+        checkHandle(handle);
+        return (T) heap[positions[handle]];
+    }
+
+    /** Removes the element behind the handle and returns it. */
+    public T remove(int handle) {
+        checkHandle(handle);
+        return removeAtPosition(positions[handle]);
+    }
+
+    /**
+     * Restores the heap order after the key of the element behind the handle
+     * changed (the element itself must not be replaced).
+     */
+    public void update(int handle) {
+        checkHandle(handle);
+        int pos = positions[handle];
+        version++;
+        if (pos > 0 && compareAt(pos, parent(pos)) < 0) {
+            siftUp(pos);
+        } else {
+            siftDown(pos);
+        }
+    }
+
+    /** Linear fallback for callers that did not keep the handle. */
+    public boolean removeFirst(T target) {
+        if (target == null) return false;
+        for (int i = 0; i < size; i++) {
+            if (heap[i] == target) {
+                removeAtPosition(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i] = null;
+            positions[heapHandles[i]] = -1;
+            freeHandles[freeCount++] = heapHandles[i];
+        }
+        size = 0;
+        version++;
+    }
+
+    /** Returns a compact copy of the elements in heap order (not sorted). */
+    public Object[] toArray() {
+        Object[] out = new Object[size];
+        System.arraycopy(heap, 0, out, 0, size);
+        return out;
+    }
+
+    /**
+     * Copies the elements in heap order into dest (dest.length >= size) and
+     * returns how many were copied. Lets callers reuse the snapshot array.
+     */
+    public int copyInto(Object[] dest) {
+        if (dest.length < size) {
+            throw new IllegalArgumentException("dest too small: " + dest.length + " < " + size);
+        }
+        System.arraycopy(heap, 0, dest, 0, size);
+        return size;
+    }
+
+    /** Visits the elements in heap order (not sorted). */
+    public void forEach(Visitor<T> visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("visitor cannot be null");
+        }
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T) heap[i];
+            visitor.visit(item);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T removeAtPosition(int pos) {
+        T removed = (T) heap[pos];
+        int handle = heapHandles[pos];
+        int last = --size;
+        version++;
+        if (pos != last) {
+            move(last, pos);
+            heap[last] = null;
+            if (pos > 0 && compareAt(pos, parent(pos)) < 0) {
+                siftUp(pos);
+            } else {
+                siftDown(pos);
+            }
+        } else {
+            heap[last] = null;
+        }
+        positions[handle] = -1;
+        freeHandles[freeCount++] = handle;
+        return removed;
+    }
+
+    private void siftUp(int pos) {
+        Object element = heap[pos];
+        int handle = heapHandles[pos];
+        while (pos > 0) {
+            int p = parent(pos);
+            if (compare(element, heap[p]) >= 0) break;
+            move(p, pos);
+            pos = p;
+        }
+        heap[pos] = element;
+        heapHandles[pos] = handle;
+        positions[handle] = pos;
+    }
+
+    private void siftDown(int pos) {
+        Object element = heap[pos];
+        int handle = heapHandles[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && compareAt(right, child) < 0) {
+                child = right;
+            }
+            if (compare(element, heap[child]) <= 0) break;
+            move(child, pos);
+            pos = child;
+        }
+        heap[pos] = element;
+        heapHandles[pos] = handle;
+        positions[handle] = pos;
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        heapHandles[to] = heapHandles[from];
+        positions[heapHandles[to]] = to;
+    }
+
+    private int compareAt(int i, int j) {
+        return compare(heap[i], heap[j]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        return comparator.compare((T) a, (T) b);
+    }
+
+    private static int parent(int pos) {
+        return (pos - 1) >>> 1;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= heap.length) return;
+        int oldCapacity = heap.length;
+        int newCapacity = oldCapacity * 2;
+        if (newCapacity < minCapacity) newCapacity = minCapacity;
+
+        Object[] newHeap = new Object[newCapacity];
+        System.arraycopy(heap, 0, newHeap, 0, size);
+        heap = newHeap;
+
+        int[] newHeapHandles = new int[newCapacity];
+        System.arraycopy(heapHandles, 0, newHeapHandles, 0, size);
+        heapHandles = newHeapHandles;
+
+        int[] newPositions = new int[newCapacity];
+        System.arraycopy(positions, 0, newPositions, 0, oldCapacity);
+        for (int i = oldCapacity; i < newCapacity; i++) {
+            newPositions[i] = -1;
+        }
+        positions = newPositions;
+
+        int[] newFree = new int[newCapacity];
+        System.arraycopy(freeHandles, 0, newFree, 0, freeCount);
+        for (int h = newCapacity - 1; h >= oldCapacity; h--) {
+            newFree[freeCount++] = h;
+        }
+        freeHandles = newFree;
+    }
+
+    private void checkHandle(int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("invalid handle: " + handle);
+        }
+    }
+}
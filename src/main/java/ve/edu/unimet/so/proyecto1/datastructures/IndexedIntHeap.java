@@ -0,0 +1,228 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ve.edu.unimet.so.proyecto1.datastructures;
+
+/**
+ * Binary min-heap of non-negative int handles (e.g. rows of a PcbTable),
+ * ordered by a Compare.IntComparator. The handle itself is the index, so
+ * remove/update/contains are O(log n)/O(1) without extra bookkeeping.
+ *
+ * A handle can be in the heap at most once. Heaps built over the same
+ * Positions share the handle -> position map, and then a handle can be in
+ * at most one of them (e.g. the levels of an IntPriorityArrayQueue); that
+ * way each heap does not need an array as large as the largest handle.
+ *
+ * @author chano
+ */
+public class IndexedIntHeap {
+
+    /** handle -> heap position (-1 if absent), shareable between heaps. */
+    public static final class Positions {
+        private int[] at;
+
+        public Positions() {
+            this(10);
+        }
+
+        public Positions(int initialCapacity) {
+            if (initialCapacity <= 0) {
+                throw new IllegalArgumentException("initialCapacity must be > 0");
+            }
+            this.at = new int[initialCapacity];
+            for (int i = 0; i < initialCapacity; i++) {
+                at[i] = -1;
+            }
+        }
+
+        private void ensure(int minCapacity) {
+            if (minCapacity <= at.length) return;
+            int oldCapacity = at.length;
+            int newCapacity = oldCapacity * 2;
+            if (newCapacity < minCapacity) newCapacity = minCapacity;
+            int[] newAt = new int[newCapacity];
+            System.arraycopy(at, 0, newAt, 0, oldCapacity);
+            for (int i = oldCapacity; i < newCapacity; i++) {
+                newAt[i] = -1;
+            }
+            at = newAt;
+        }
+    }
+
+    private final Compare.IntComparator comparator;
+    private final Positions positions;
+    private int[] heap;       // heap position -> handle
+    private int size;
+
+    public IndexedIntHeap(Compare.IntComparator comparator) {
+        this(comparator, 10);
+    }
+
+    public IndexedIntHeap(Compare.IntComparator comparator, int initialCapacity) {
+        this(comparator, new Positions(initialCapacity), initialCapacity);
+    }
+
+    /** Heap that keeps its positions in a map shared with other heaps. */
+    public IndexedIntHeap(Compare.IntComparator comparator, Positions positions) {
+        this(comparator, positions, 10);
+    }
+
+    private IndexedIntHeap(Compare.IntComparator comparator, Positions positions, int initialCapacity) {
+        if (comparator == null || positions == null) {
+            throw new IllegalArgumentException("comparator and positions cannot be null");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be > 0");
+        }
+        this.comparator = comparator;
+        this.positions = positions;
+        this.heap = new int[initialCapacity];
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int handle) {
+        if (handle < 0 || handle >= positions.at.length) return false;
+        int pos = positions.at[handle];
+        return pos >= 0 && pos < size && heap[pos] == handle;
+    }
+
+    public void add(int handle) {
+        if (handle < 0) {
+            throw new IllegalArgumentException("handle must be >= 0");
+        }
+        positions.ensure(handle + 1);
+        if (positions.at[handle] >= 0) {
+            throw new IllegalArgumentException("handle already in heap: " + handle);
+        }
+        ensureCapacity(size + 1);
+        heap[size] = handle;
+        positions.at[handle] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /** Best handle, or -1 if empty. */
+    public int peekFirst() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    /** Removes and returns the best handle, or -1 if empty. */
+    public int pollFirst() {
+        if (size == 0) return -1;
+        int first = heap[0];
+        removeAtPosition(0);
+        return first;
+    }
+
+    public boolean remove(int handle) {
+        if (!contains(handle)) return false;
+        removeAtPosition(positions.at[handle]);
+        return true;
+    }
+
+    /** Restores the heap order after the key behind the handle changed. */
+    public void update(int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("handle not in heap: " + handle);
+        }
+        int pos = positions.at[handle];
+        if (pos > 0 && comparator.compare(heap[pos], heap[(pos - 1) >>> 1]) < 0) {
+            siftUp(pos);
+        } else {
+            siftDown(pos);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions.at[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /** Returns a compact copy of the handles in heap order (not sorted). */
+    public int[] toArray() {
+        int[] out = new int[size];
+        System.arraycopy(heap, 0, out, 0, size);
+        return out;
+    }
+
+    /**
+     * Copies the handles in heap order into dest starting at offset and
+     * returns how many were copied.
+     */
+    public int copyInto(int[] dest, int offset) {
+        if (offset < 0 || dest.length - offset < size) {
+            throw new IllegalArgumentException("dest too small: " + (dest.length - offset) + " < " + size);
+        }
+        System.arraycopy(heap, 0, dest, offset, size);
+        return size;
+    }
+
+    private void removeAtPosition(int pos) {
+        int handle = heap[pos];
+        int last = --size;
+        int[] at = positions.at;
+        at[handle] = -1;
+        if (pos != last) {
+            heap[pos] = heap[last];
+            at[heap[pos]] = pos;
+            if (pos > 0 && comparator.compare(heap[pos], heap[(pos - 1) >>> 1]) < 0) {
+                siftUp(pos);
+            } else {
+                siftDown(pos);
+            }
+        }
+    }
+
+    private void siftUp(int pos) {
+        int[] at = positions.at;
+        int handle = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (comparator.compare(handle, heap[parent]) >= 0) break;
+            heap[pos] = heap[parent];
+            at[heap[pos]] = pos;
+            pos = parent;
+        }
+        heap[pos] = handle;
+        at[handle] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int[] at = positions.at;
+        int handle = heap[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && comparator.compare(heap[right], heap[child]) < 0) {
+                child = right;
+            }
+            if (comparator.compare(handle, heap[child]) <= 0) break;
+            heap[pos] = heap[child];
+            at[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = handle;
+        at[handle] = pos;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= heap.length) return;
+        int newCapacity = heap.length * 2;
+        if (newCapacity < minCapacity) newCapacity = minCapacity;
+        int[] newHeap = new int[newCapacity];
+        System.arraycopy(heap, 0, newHeap, 0, size);
+        heap = newHeap;
+    }
+}
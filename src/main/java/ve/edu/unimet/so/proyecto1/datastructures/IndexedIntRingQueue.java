@@ -0,0 +1,159 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ve.edu.unimet.so.proyecto1.datastructures;
+
+/**
+ * FIFO of non-negative int handles (e.g. rows of a PcbTable) with O(1)
+ * remove(handle) that keeps the order of the rest. Built on IntRingQueue:
+ * each queued handle remembers the absolute ring position it was enqueued
+ * at (its ticket), and remove only forgets the ticket. The stale slot stays
+ * in the ring until it reaches the head or a compaction drops it, so a
+ * handle can be re-enqueued right away.
+ *
+ * The head slot is always live, so peek/dequeue stay O(1); the ring is
+ * compacted when dead slots outnumber live ones (amortized O(1) per remove).
+ *
+ * @author chano
+ */
+public class IndexedIntRingQueue {
+
+    private final IntRingQueue ring;
+    private long[] ticket;   // handle -> absolute ring position (-1 if not queued)
+    private long headTicket; // absolute position of the ring head
+    private int size;        // live handles
+
+    public IndexedIntRingQueue() {
+        this(16);
+    }
+
+    public IndexedIntRingQueue(int initialCapacity) {
+        this.ring = new IntRingQueue(initialCapacity);
+        this.ticket = new long[initialCapacity];
+        for (int i = 0; i < initialCapacity; i++) {
+            ticket[i] = -1;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < ticket.length && ticket[handle] >= 0;
+    }
+
+    public void enqueue(int handle) {
+        if (handle < 0) {
+            throw new IllegalArgumentException("handle must be >= 0");
+        }
+        ensureHandleCapacity(handle + 1);
+        if (ticket[handle] >= 0) {
+            throw new IllegalArgumentException("handle already queued: " + handle);
+        }
+        ticket[handle] = headTicket + ring.size();
+        ring.enqueue(handle);
+        size++;
+    }
+
+    /** Removes and returns the oldest handle, or -1 if empty. */
+    public int dequeue() {
+        if (size == 0) {
+            return -1;
+        }
+        int handle = ring.dequeue();
+        headTicket++;
+        ticket[handle] = -1;
+        size--;
+        dropDeadHead();
+        return handle;
+    }
+
+    /** Oldest handle, or -1 if empty. */
+    public int peek() {
+        return size == 0 ? -1 : ring.peek();
+    }
+
+    /** O(1) removal; the other handles keep their order. */
+    public boolean remove(int handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        ticket[handle] = -1;
+        size--;
+        dropDeadHead();
+        if (ring.size() - size > size) {
+            compact();
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (int i = 0; i < ring.size(); i++) {
+            int handle = ring.get(i);
+            if (isLive(i, handle)) ticket[handle] = -1;
+        }
+        headTicket += ring.size();
+        ring.clear();
+        size = 0;
+    }
+
+    /** Snapshot in FIFO order (length == size). */
+    public int[] toArray() {
+        int[] out = new int[size];
+        copyInto(out);
+        return out;
+    }
+
+    /** Copies the handles in FIFO order into dest and returns how many were copied. */
+    public int copyInto(int[] dest) {
+        if (dest.length < size) {
+            throw new IllegalArgumentException("dest too small: " + dest.length + " < " + size);
+        }
+        int k = 0;
+        for (int i = 0; i < ring.size(); i++) {
+            int handle = ring.get(i);
+            if (isLive(i, handle)) dest[k++] = handle;
+        }
+        return k;
+    }
+
+    private boolean isLive(int slot, int handle) {
+        return ticket[handle] == headTicket + slot;
+    }
+
+    private void dropDeadHead() {
+        while (!ring.isEmpty() && !isLive(0, ring.peek())) {
+            ring.dequeue();
+            headTicket++;
+        }
+    }
+
+    /** Re-enqueues the live handles behind the dead slots and drops the dead ones. */
+    private void compact() {
+        for (int n = ring.size(); n > 0; n--) {
+            int handle = ring.dequeue();
+            if (ticket[handle] == headTicket++) {
+                ticket[handle] = headTicket + ring.size();
+                ring.enqueue(handle);
+            }
+        }
+    }
+
+    private void ensureHandleCapacity(int minCapacity) {
+        if (minCapacity <= ticket.length) return;
+        int oldCapacity = ticket.length;
+        int newCapacity = Math.max(oldCapacity * 2, minCapacity);
+        long[] newTicket = new long[newCapacity];
+        System.arraycopy(ticket, 0, newTicket, 0, oldCapacity);
+        for (int i = oldCapacity; i < newCapacity; i++) {
+            newTicket[i] = -1;
+        }
+        ticket = newTicket;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ve.edu.unimet.so.proyecto1.datastructures;
+
+/**
+ * Double-ended priority queue (min-max heap) with the same int handles as
+ * IndexedHeap. Even levels are ordered as a min-heap and odd levels as a
+ * max-heap, so both the first and the last element according to the
+ * comparator are available in O(1); add/poll/remove are O(log n).
+ *
+ * Handles stay valid until the element is removed (poll/remove/clear) and may
+ * be reused afterwards for new elements.
+ *
+ * @author chano
+ */
+public class IndexedMinMaxHeap<T> {
+
+    public interface Visitor<T> {
+        void visit(T item);
+    }
+
+    private final Compare.Comparator<T> comparator;
+
+    // heap position -> element / handle
+    private Object[] heap;
+    private int[] heapHandles;
+    // handle -> heap position (-1 if the handle is free)
+    private int[] positions;
+    // stack of free handles
+    private int[] freeHandles;
+    private int freeCount;
+    private int size;
+    private int version;
+
+    public IndexedMinMaxHeap(Compare.Comparator<T> comparator) {
+        this(comparator, 10);
+    }
+
+    public IndexedMinMaxHeap(Compare.Comparator<T> comparator, int initialCapacity) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("comparator cannot be null");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be > 0");
+        }
+        this.comparator = comparator;
+        this.heap = new Object[initialCapacity];
+        this.heapHandles = new int[initialCapacity];
+        this.positions = new int[initialCapacity];
+        this.freeHandles = new int[initialCapacity];
+        for (int i = 0; i < initialCapacity; i++) {
+            positions[i] = -1;
+            freeHandles[i] = initialCapacity - 1 - i;
+        }
+        this.freeCount = initialCapacity;
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Compare.Comparator<T> comparator() {
+        return comparator;
+    }
+
+    /** Modification counter; changes on every structural change. */
+    public int version() {
+        return version;
+    }
+
+    /** Inserts the element and returns its handle. */
+    public int add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element cannot be null");
+        }
+        ensureCapacity(size + 1);
+        int handle = freeHandles[--freeCount];
+        heap[size] = element;
+        heapHandles[size] = handle;
+        positions[handle] = size;
+        size++;
+        version++;
+        bubbleUp(size - 1);
+        return handle;
+    }
+
+    /** Smallest element according to the comparator, or null if empty. */
+    @SuppressWarnings("unchecked")
+    public T peekMin() {
+        if (size == 0) return null;
+        return (T) heap[0];
+    }
+
+    /** Largest element according to the comparator, or null if empty. */
+    @SuppressWarnings("unchecked")
+    public T peekMax() {
+        if (size == 0) return null;
+        return (T) heap[maxPosition()];
+    }
+
+    public T pollMin() {
+        if (size == 0) return null;
+        return removeAtPosition(0);
+    }
+
+    public T pollMax() {
+        if (size == 0) return null;
+        return removeAtPosition(maxPosition());
+    }
+
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < positions.length && positions[handle] >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int handle) {
+        checkHandle(handle);
+        return (T) heap[positions[handle]];
+    }
+
+    /** Removes the element behind the handle and returns it. */
+    public T remove(int handle) {
+        checkHandle(handle);
+        return removeAtPosition(positions[handle]);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i] = null;
+            positions[heapHandles[i]] = -1;
+            freeHandles[freeCount++] = heapHandles[i];
+        }
+        size = 0;
+        version++;
+    }
+
+    /** Returns a compact copy of the elements in heap order (not sorted). */
+    public Object[] toArray() {
+        Object[] out = new Object[size];
+        System.arraycopy(heap, 0, out, 0, size);
+        return out;
+    }
+
+    /** Visits the elements in heap order (not sorted). */
+    public void forEach(Visitor<T> visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("visitor cannot be null");
+        }
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T) heap[i];
+            visitor.visit(item);
+        }
+    }
+
+    private int maxPosition() {
+        if (size == 1) return 0;
+        if (size == 2) return 1;
+        return compareAt(1, 2) >= 0 ? 1 : 2;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T removeAtPosition(int pos) {
+        T removed = (T) heap[pos];
+        int handle = heapHandles[pos];
+        int last = --size;
+        version++;
+        if (pos != last) {
+            move(last, pos);
+            heap[last] = null;
+            // The element from the last leaf may belong above pos; if it moves
+            // up, whatever lands on pos still has to be pushed down.
+            bubbleUp(pos);
+            trickleDown(pos);
+        } else {
+            heap[last] = null;
+        }
+        positions[handle] = -1;
+        freeHandles[freeCount++] = handle;
+        return removed;
+    }
+
+    private void bubbleUp(int pos) {
+        if (pos == 0) return;
+        int p = parent(pos);
+        if (isMinLevel(pos)) {
+            if (compareAt(pos, p) > 0) {
+                swap(pos, p);
+                bubbleUpGrand(p, false);
+            } else {
+                bubbleUpGrand(pos, true);
+            }
+        } else {
+            if (compareAt(pos, p) < 0) {
+                swap(pos, p);
+                bubbleUpGrand(p, true);
+            } else {
+                bubbleUpGrand(pos, false);
+            }
+        }
+    }
+
+    /** Moves the element up through grandparents on the same kind of level. */
+    private void bubbleUpGrand(int pos, boolean minLevel) {
+        while (pos > 2) {
+            int g = parent(parent(pos));
+            int c = compareAt(pos, g);
+            if (minLevel ? c >= 0 : c <= 0) break;
+            swap(pos, g);
+            pos = g;
+        }
+    }
+
+    private void trickleDown(int pos) {
+        boolean minLevel = isMinLevel(pos);
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) return;
+
+            // Best (min or max) among children and grandchildren
+            int best = child;
+            if (child + 1 < size && better(child + 1, best, minLevel)) best = child + 1;
+            int end = Math.min(size, 4 * pos + 7);
+            for (int i = 4 * pos + 3; i < end; i++) {
+                if (better(i, best, minLevel)) best = i;
+            }
+
+            if (!better(best, pos, minLevel)) return;
+            swap(best, pos);
+            if (best <= child + 1) return; // a winning child has nothing below it to fix
+
+            int p = parent(best);
+            if (better(p, best, minLevel)) {
+                swap(best, p);
+            }
+            pos = best;
+        }
+    }
+
+    private boolean better(int i, int j, boolean minLevel) {
+        int c = compareAt(i, j);
+        return minLevel ? c < 0 : c > 0;
+    }
+
+    private void swap(int i, int j) {
+        Object e = heap[i];
+        int h = heapHandles[i];
+        heap[i] = heap[j];
+        heapHandles[i] = heapHandles[j];
+        heap[j] = e;
+        heapHandles[j] = h;
+        positions[heapHandles[i]] = i;
+        positions[h] = j;
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        heapHandles[to] = heapHandles[from];
+        positions[heapHandles[to]] = to;
+    }
+
+    private int compareAt(int i, int j) {
+        return compare(heap[i], heap[j]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        return comparator.compare((T) a, (T) b);
+    }
+
+    private static int parent(int pos) {
+        return (pos - 1) >>> 1;
+    }
+
+    private static boolean isMinLevel(int pos) {
+        return ((31 - Integer.numberOfLeadingZeros(pos + 1)) & 1) == 0;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= heap.length) return;
+        int oldCapacity = heap.length;
+        int newCapacity = oldCapacity * 2;
+        if (newCapacity < minCapacity) newCapacity = minCapacity;
+
+        Object[] newHeap = new Object[newCapacity];
+        System.arraycopy(heap, 0, newHeap, 0, size);
+        heap = newHeap;
+
+        int[] newHeapHandles = new int[newCapacity];
+        System.arraycopy(heapHandles, 0, newHeapHandles, 0, size);
+        heapHandles = newHeapHandles;
+
+        int[] newPositions = new int[newCapacity];
+        System.arraycopy(positions, 0, newPositions, 0, oldCapacity);
+        for (int i = oldCapacity; i < newCapacity; i++) {
+            newPositions[i] = -1;
+        }
+        positions = newPositions;
+
+        int[] newFree = new int[newCapacity];
+        System.arraycopy(freeHandles, 0, newFree, 0, freeCount);
+        for (int h = newCapacity - 1; h >= oldCapacity; h--) {
+            newFree[freeCount++] = h;
+        }
+        freeHandles = newFree;
+    }
+
+    private void checkHandle(int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("invalid handle: " + handle);
+        }
+    }
+}
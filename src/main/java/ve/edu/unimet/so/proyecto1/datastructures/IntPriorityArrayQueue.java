@@ -0,0 +1,159 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ve.edu.unimet.so.proyecto1.datastructures;
+
+/**
+ * int-specialized PriorityArrayQueue for non-negative handles (e.g. rows of
+ * a PcbTable): one IndexedIntHeap per level in [0, LEVELS) plus the bitmap
+ * of non-empty levels, and an overflow heap for any other level. Same
+ * ordering rules as PriorityArrayQueue.
+ *
+ * All the level heaps share one handle -> position map, so remove(handle)
+ * is O(log k) for the k handles of its level and memory does not grow with
+ * the number of levels in use.
+ *
+ * @author chano
+ */
+public class IntPriorityArrayQueue {
+
+    public static final int LEVELS = PriorityArrayQueue.LEVELS;
+
+    public interface Leveler {
+        int levelOf(int handle);
+    }
+
+    private final Leveler leveler;
+    private final Compare.IntComparator comparator;
+    private final IndexedIntHeap.Positions positions = new IndexedIntHeap.Positions();
+    private final IndexedIntHeap[] levels = new IndexedIntHeap[LEVELS];
+    private final IndexedIntHeap overflow;
+    private long bitmap; // bit l set <=> levels[l] not empty
+    private int size;
+    private int version;
+
+    public IntPriorityArrayQueue(Leveler leveler, Compare.IntComparator comparator) {
+        if (leveler == null || comparator == null) {
+            throw new IllegalArgumentException("leveler and comparator cannot be null");
+        }
+        this.leveler = leveler;
+        this.comparator = comparator;
+        this.overflow = new IndexedIntHeap(comparator, positions);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Modification counter; changes on every structural change. */
+    public int version() {
+        return version;
+    }
+
+    public void add(int handle) {
+        int level = leveler.levelOf(handle);
+        if (inRange(level)) {
+            IndexedIntHeap q = levels[level];
+            if (q == null) {
+                q = new IndexedIntHeap(comparator, positions);
+                levels[level] = q;
+            }
+            q.add(handle);
+            bitmap |= 1L << level;
+        } else {
+            overflow.add(handle);
+        }
+        size++;
+        version++;
+    }
+
+    /**
+     * Highest level with handles (Integer.MIN_VALUE when empty). Without
+     * overflow handles this only reads the bitmap.
+     */
+    public int topLevel() {
+        int top = bitmap == 0 ? Integer.MIN_VALUE : 63 - Long.numberOfLeadingZeros(bitmap);
+        if (!overflow.isEmpty()) top = Math.max(top, leveler.levelOf(overflow.peekFirst()));
+        return top;
+    }
+
+    /** Best handle, or -1 if empty. */
+    public int peekFirst() {
+        IndexedIntHeap q = firstQueue();
+        return q == null ? -1 : q.peekFirst();
+    }
+
+    /** Removes and returns the best handle, or -1 if empty. */
+    public int pollFirst() {
+        IndexedIntHeap q = firstQueue();
+        if (q == null) return -1;
+        int handle = q.pollFirst();
+        if (q != overflow && q.isEmpty()) bitmap &= ~(1L << leveler.levelOf(handle));
+        size--;
+        version++;
+        return handle;
+    }
+
+    /** O(log k) removal inside the handle's level. */
+    public boolean remove(int handle) {
+        int level = leveler.levelOf(handle);
+        IndexedIntHeap q = inRange(level) ? levels[level] : overflow;
+        if (q == null || !q.remove(handle)) return false;
+        if (q != overflow && q.isEmpty()) bitmap &= ~(1L << level);
+        size--;
+        version++;
+        return true;
+    }
+
+    public void clear() {
+        while (bitmap != 0) {
+            int level = Long.numberOfTrailingZeros(bitmap);
+            levels[level].clear();
+            bitmap &= bitmap - 1;
+        }
+        overflow.clear();
+        size = 0;
+        version++;
+    }
+
+    /** Returns a compact copy, overflow first, then level by level from the highest (not sorted inside a level). */
+    public int[] toArray() {
+        int[] out = new int[size];
+        copyInto(out);
+        return out;
+    }
+
+    /** Copies the handles into dest (dest.length >= size) in toArray() order and returns how many were copied. */
+    public int copyInto(int[] dest) {
+        if (dest.length < size) {
+            throw new IllegalArgumentException("dest too small: " + dest.length + " < " + size);
+        }
+        int k = overflow.copyInto(dest, 0);
+        for (long bits = bitmap; bits != 0; ) {
+            int level = 63 - Long.numberOfLeadingZeros(bits);
+            k += levels[level].copyInto(dest, k);
+            bits &= ~(1L << level);
+        }
+        return k;
+    }
+
+    /** Queue holding the first handle: the top bitmap level unless an overflow handle outranks it. */
+    private IndexedIntHeap firstQueue() {
+        if (size == 0) return null;
+        if (bitmap == 0) return overflow;
+        IndexedIntHeap top = levels[63 - Long.numberOfLeadingZeros(bitmap)];
+        if (!overflow.isEmpty() && comparator.compare(overflow.peekFirst(), top.peekFirst()) < 0) {
+            return overflow;
+        }
+        return top;
+    }
+
+    private static boolean inRange(int level) {
+        return level >= 0 && level < LEVELS;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ve.edu.unimet.so.proyecto1.datastructures;
+
+/**
+ * int-specialized RingQueue for handle-based PCBs (see PcbTable).
+ * dequeue/peek return -1 when empty, so handles must be >= 0.
+ *
+ * @author chano
+ */
+public class IntRingQueue {
+
+    private int[] data;
+    private int head;
+    private int size;
+
+    public IntRingQueue() {
+        this(16);
+    }
+
+    public IntRingQueue(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be > 0");
+        }
+        this.data = new int[initialCapacity];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return data.length;
+    }
+
+    public void enqueue(int item) {
+        if (item < 0) {
+            throw new IllegalArgumentException("Item must be >= 0");
+        }
+        if (size == data.length) {
+            grow();
+        }
+        data[index(size)] = item;
+        size++;
+    }
+
+    public int dequeue() {
+        if (size == 0) {
+            return -1;
+        }
+        int value = data[head];
+        head = index(1);
+        size--;
+        return value;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            return -1;
+        }
+        return data[head];
+    }
+
+    public int get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("index=" + i + ", size=" + size);
+        }
+        return data[index(i)];
+    }
+
+    /** Removes the first occurrence, keeping FIFO order. O(n). */
+    public boolean removeFirst(int item) {
+        for (int i = 0; i < size; i++) {
+            if (data[index(i)] == item) {
+                for (int j = i; j < size - 1; j++) {
+                    data[index(j)] = data[index(j + 1)];
+                }
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /** Snapshot in FIFO order (length == size). */
+    public int[] toArray() {
+        int[] out = new int[size];
+        copyInto(out);
+        return out;
+    }
+
+    /** Copies the elements in FIFO order into dest and returns how many were copied. */
+    public int copyInto(int[] dest) {
+        if (dest.length < size) {
+            throw new IllegalArgumentException("dest too small: " + dest.length + " < " + size);
+        }
+        int firstPart = Math.min(size, data.length - head);
+        System.arraycopy(data, head, dest, 0, firstPart);
+        System.arraycopy(data, 0, dest, firstPart, size - firstPart);
+        return size;
+    }
+
+    private int index(int offset) {
+        int i = head + offset;
+        return i < data.length ? i : i - data.length;
+    }
+
+    private void grow() {
+        int[] newData = new int[data.length * 2];
+        copyInto(newData);
+        data = newData;
+        head = 0;
+    }
+}
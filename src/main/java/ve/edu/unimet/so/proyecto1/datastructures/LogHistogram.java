@@ -0,0 +1,99 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ve.edu.unimet.so.proyecto1.datastructures;
+
+/**
+ * Histogram of non-negative longs in fixed power-of-two buckets.
+ * Bucket 0 holds 0 and bucket b (b >= 1) holds [2^(b-1), 2^b - 1], so
+ * record() is a leading-zero count plus an array increment: no allocation
+ * and no resizing. Percentiles are reported as the upper bound of their
+ * bucket (at most 2x the real value), capped at the exact max.
+ *
+ * Single writer; readers on other threads see approximate values.
+ *
+ * @author chano
+ */
+public class LogHistogram {
+
+    public static final int BUCKETS = 64;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    /** Negative values are recorded as 0. */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        buckets[bucketOf(value)]++;
+        count++;
+        sum += value;
+        if (value > max) max = value;
+    }
+
+    public static int bucketOf(long value) {
+        return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    /** Largest value that falls in the bucket. */
+    public static long bucketUpperBound(int bucket) {
+        if (bucket < 0 || bucket >= BUCKETS) {
+            throw new IllegalArgumentException("bucket must be in [0, " + BUCKETS + ")");
+        }
+        return bucket == 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    public long getBucketCount(int bucket) {
+        return buckets[bucket];
+    }
+
+    /**
+     * Value at or below which a fraction p of the records fall.
+     *
+     * @param p in [0, 1]
+     * @return 0 when empty
+     */
+    public long percentile(double p) {
+        if (p < 0 || p > 1) {
+            throw new IllegalArgumentException("p must be in [0, 1]");
+        }
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p * count));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += buckets[b];
+            if (seen >= rank) return Math.min(bucketUpperBound(b), max);
+        }
+        return max;
+    }
+
+    /** Copies the bucket counts into dest (length >= BUCKETS). */
+    public void copyBuckets(long[] dest) {
+        System.arraycopy(buckets, 0, dest, 0, BUCKETS);
+    }
+
+    public void clear() {
+        for (int b = 0; b < BUCKETS; b++) buckets[b] = 0;
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+}
@@ -17,6 +17,7 @@ public class OrderedList<T> {
     private final Compare.Comparator<T> comparator;
     private Object[] data;
     private int size;
+    private int version;
 
     public OrderedList(Compare.Comparator<T> comparator) {
         this(comparator, 10);
@@ -46,6 +47,11 @@ public class OrderedList<T> {
         return data.length;
     }
 
+    /** Modification counter; changes on every structural change. */
+    public int version() {
+        return version;
+    }
+
     public void add(T element) {
         if (element == null) {
             throw new IllegalArgumentException("element cannot be null");
@@ -57,6 +63,55 @@ public class OrderedList<T> {
         }
         data[insertIndex] = element;
         size++;
+        version++;
+    }
+
+    /**
+     * Replaces the contents with the given elements, sorting them once
+     * (stable merge sort, O(n log n)). Equal elements keep the array order.
+     */
+    public void buildFrom(Object[] elements) {
+        checkElements(elements);
+        clear();
+        ensureCapacity(elements.length);
+        System.arraycopy(elements, 0, data, 0, elements.length);
+        size = elements.length;
+        mergeSort(data, 0, size, new Object[size]);
+        version++;
+    }
+
+    /**
+     * Sorts the batch once and merges it into the current contents in
+     * O(n + m log m). Equal elements are placed after the ones already in the
+     * list, exactly as repeated add() calls would do.
+     */
+    public void addAll(Object[] elements) {
+        checkElements(elements);
+        int m = elements.length;
+        if (m == 0) return;
+        if (size == 0) {
+            buildFrom(elements);
+            return;
+        }
+        Object[] batch = new Object[m];
+        System.arraycopy(elements, 0, batch, 0, m);
+        mergeSort(batch, 0, m, new Object[m]);
+
+        Object[] merged = new Object[Math.max(data.length, size + m)];
+        int i = 0, j = 0, k = 0;
+        while (i < size && j < m) {
+            // <= keeps existing elements ahead of equal batch elements
+            if (compare(data[i], batch[j]) <= 0) {
+                merged[k++] = data[i++];
+            } else {
+                merged[k++] = batch[j++];
+            }
+        }
+        while (i < size) merged[k++] = data[i++];
+        while (j < m) merged[k++] = batch[j++];
+        data = merged;
+        size = k;
+        version++;
     }
 
     @SuppressWarnings("unchecked")
@@ -88,6 +143,7 @@ public class OrderedList<T> {
             System.arraycopy(data, index + 1, data, index, numMoved);
         }
         data[--size] = null;
+        version++;
         return removed;
     }
 
@@ -107,6 +163,7 @@ public class OrderedList<T> {
             data[i] = null;
         }
         size = 0;
+        version++;
     }
 
     /** Returns a compact copy of the elements (length == size). */
@@ -128,17 +185,72 @@ public class OrderedList<T> {
         }
     }
 
+    /** Binary search for the first index whose element is greater (keeps insertion stable). */
     private int findInsertIndex(T element) {
-        int i = 0;
-        while (i < size) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
             @SuppressWarnings("unchecked")
-            T current = (T) data[i];
+            T current = (T) data[mid];
             if (comparator.compare(current, element) > 0) {
-                break;
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /** Stable top-down merge sort of a[from, to) using tmp as scratch space. */
+    private void mergeSort(Object[] a, int from, int to, Object[] tmp) {
+        int n = to - from;
+        if (n < 2) return;
+        if (n <= 16) {
+            // insertion sort for small runs (also stable)
+            for (int i = from + 1; i < to; i++) {
+                Object x = a[i];
+                int j = i - 1;
+                while (j >= from && compare(a[j], x) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = x;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, from, mid, tmp);
+        mergeSort(a, mid, to, tmp);
+        if (compare(a[mid - 1], a[mid]) <= 0) return; // already in order
+
+        System.arraycopy(a, from, tmp, from, n);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            if (compare(tmp[i], tmp[j]) <= 0) {
+                a[k++] = tmp[i++];
+            } else {
+                a[k++] = tmp[j++];
+            }
+        }
+        while (i < mid) a[k++] = tmp[i++];
+        while (j < to) a[k++] = tmp[j++];
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        return comparator.compare((T) a, (T) b);
+    }
+
+    private void checkElements(Object[] elements) {
+        if (elements == null) {
+            throw new IllegalArgumentException("elements cannot be null");
+        }
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] == null) {
+                throw new IllegalArgumentException("element cannot be null");
             }
-            i++;
         }
-        return i;
     }
 
     private void ensureCapacity(int minCapacity) {
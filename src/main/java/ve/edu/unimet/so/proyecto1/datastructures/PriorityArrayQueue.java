@@ -0,0 +1,193 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ve.edu.unimet.so.proyecto1.datastructures;
+
+/**
+ * Priority array: one queue per integer level in [0, LEVELS) plus a long
+ * bitmap of the non-empty levels. The highest non-empty level is found with
+ * a leading-zero count, so peek/poll/topLevel do not depend on how many
+ * elements are queued. A higher level is served first.
+ *
+ * Elements of the same level are kept in comparator order (an IndexedHeap
+ * per level): adding in that order is O(1), otherwise O(log k) for the k
+ * elements of that level. Levels outside [0, LEVELS) go to a single overflow
+ * heap, so any int level still works, just without the bitmap.
+ *
+ * The comparator must order by level (higher first) before anything else,
+ * and an element's level must not change while it is queued.
+ *
+ * @author chano
+ */
+public class PriorityArrayQueue<T> {
+
+    public static final int LEVELS = 64;
+
+    public interface Leveler<T> {
+        int levelOf(T item);
+    }
+
+    public interface Visitor<T> {
+        void visit(T item);
+    }
+
+    private final Leveler<T> leveler;
+    private final Compare.Comparator<T> comparator;
+    private final IndexedHeap<T>[] levels;
+    private final IndexedHeap<T> overflow;
+    private long bitmap; // bit l set <=> levels[l] not empty
+    private int size;
+    private int version;
+    // copyInto without a capturing lambda per call
+    private Object[] copyDest;
+    private int copyCount;
+    private final IndexedHeap.Visitor<T> copier = item -> copyDest[copyCount++] = item;
+
+    @SuppressWarnings("unchecked")
+    public PriorityArrayQueue(Leveler<T> leveler, Compare.Comparator<T> comparator) {
+        if (leveler == null || comparator == null) {
+            throw new IllegalArgumentException("leveler and comparator cannot be null");
+        }
+        this.leveler = leveler;
+        this.comparator = comparator;
+        this.levels = (IndexedHeap<T>[]) new IndexedHeap<?>[LEVELS];
+        this.overflow = new IndexedHeap<>(comparator);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Modification counter; changes on every structural change. */
+    public int version() {
+        return version;
+    }
+
+    public Compare.Comparator<T> comparator() {
+        return comparator;
+    }
+
+    public void add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("element cannot be null");
+        }
+        int level = leveler.levelOf(element);
+        if (inRange(level)) {
+            IndexedHeap<T> q = levels[level];
+            if (q == null) {
+                q = new IndexedHeap<>(comparator);
+                levels[level] = q;
+            }
+            q.add(element);
+            bitmap |= 1L << level;
+        } else {
+            overflow.add(element);
+        }
+        size++;
+        version++;
+    }
+
+    /**
+     * Highest level with elements (Integer.MIN_VALUE when empty). Without
+     * overflow elements this only reads the bitmap.
+     */
+    public int topLevel() {
+        int top = bitmap == 0 ? Integer.MIN_VALUE : 63 - Long.numberOfLeadingZeros(bitmap);
+        if (!overflow.isEmpty()) top = Math.max(top, leveler.levelOf(overflow.peekFirst()));
+        return top;
+    }
+
+    public T peekFirst() {
+        IndexedHeap<T> q = firstQueue();
+        return q == null ? null : q.peekFirst();
+    }
+
+    public T pollFirst() {
+        IndexedHeap<T> q = firstQueue();
+        if (q == null) return null;
+        T item = q.pollFirst();
+        if (q != overflow && q.isEmpty()) bitmap &= ~(1L << leveler.levelOf(item));
+        size--;
+        version++;
+        return item;
+    }
+
+    /** Identity search inside the element's level only. */
+    public boolean removeFirst(T target) {
+        if (target == null) return false;
+        int level = leveler.levelOf(target);
+        IndexedHeap<T> q = inRange(level) ? levels[level] : overflow;
+        if (q == null || !q.removeFirst(target)) return false;
+        if (q != overflow && q.isEmpty()) bitmap &= ~(1L << level);
+        size--;
+        version++;
+        return true;
+    }
+
+    public void clear() {
+        while (bitmap != 0) {
+            int level = Long.numberOfTrailingZeros(bitmap);
+            levels[level].clear();
+            bitmap &= bitmap - 1;
+        }
+        overflow.clear();
+        size = 0;
+        version++;
+    }
+
+    /** Returns a compact copy, overflow first, then level by level from the highest (not sorted inside a level). */
+    public Object[] toArray() {
+        Object[] out = new Object[size];
+        copyInto(out);
+        return out;
+    }
+
+    /** Copies the elements into dest (dest.length >= size) and returns how many were copied. */
+    public int copyInto(Object[] dest) {
+        if (dest.length < size) {
+            throw new IllegalArgumentException("dest too small: " + dest.length + " < " + size);
+        }
+        copyDest = dest;
+        copyCount = 0;
+        visitAll(copier);
+        copyDest = null;
+        return copyCount;
+    }
+
+    /** Visits every element, overflow first, then level by level from the highest (not sorted inside a level). */
+    public void forEach(Visitor<T> visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("visitor cannot be null");
+        }
+        visitAll(visitor::visit);
+    }
+
+    private void visitAll(IndexedHeap.Visitor<T> visitor) {
+        overflow.forEach(visitor);
+        for (long bits = bitmap; bits != 0; ) {
+            int level = 63 - Long.numberOfLeadingZeros(bits);
+            levels[level].forEach(visitor);
+            bits &= ~(1L << level);
+        }
+    }
+
+    /** Queue holding the first element: the top bitmap level unless an overflow element outranks it. */
+    private IndexedHeap<T> firstQueue() {
+        if (size == 0) return null;
+        if (bitmap == 0) return overflow;
+        IndexedHeap<T> top = levels[63 - Long.numberOfLeadingZeros(bitmap)];
+        if (!overflow.isEmpty() && comparator.compare(overflow.peekFirst(), top.peekFirst()) < 0) {
+            return overflow;
+        }
+        return top;
+    }
+
+    private static boolean inRange(int level) {
+        return level >= 0 && level < LEVELS;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package ve.edu.unimet.so.proyecto1.datastructures;
+
+/**
+ * FIFO queue over a growable circular array. Same contract as LinkedQueue
+ * (enqueue/dequeue/peek/size) but without a node per enqueue: once the
+ * array is big enough it allocates nothing.
+ *
+ * @author chano
+ */
+public class RingQueue<T> {
+
+    public interface Visitor<T> {
+        void visit(T item);
+    }
+
+    private Object[] data;
+    private int head; // index of the first element
+    private int size;
+    private int version;
+
+    public RingQueue() {
+        this(16);
+    }
+
+    public RingQueue(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be > 0");
+        }
+        this.data = new Object[initialCapacity];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return data.length;
+    }
+
+    /** Modification counter; changes on every structural change. */
+    public int version() {
+        return version;
+    }
+
+    public void enqueue(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        if (size == data.length) {
+            grow();
+        }
+        data[index(size)] = item;
+        size++;
+        version++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T dequeue() {
+        if (size == 0) {
+            return null;
+        }
+        T value = (T) data[head];
+        data[head] = null; // help GC
+        head = index(1);
+        size--;
+        version++;
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        if (size == 0) {
+            return null;
+        }
+        return (T) data[head];
+    }
+
+    /** i-th element from the head (0 = next to dequeue). */
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("index=" + i + ", size=" + size);
+        }
+        return (T) data[index(i)];
+    }
+
+    /** Removes the first occurrence (by identity), keeping FIFO order. O(n). */
+    public boolean removeFirst(T target) {
+        if (target == null) return false;
+        for (int i = 0; i < size; i++) {
+            if (data[index(i)] == target) {
+                for (int j = i; j < size - 1; j++) {
+                    data[index(j)] = data[index(j + 1)];
+                }
+                data[index(size - 1)] = null;
+                size--;
+                version++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            data[index(i)] = null;
+        }
+        head = 0;
+        size = 0;
+        version++;
+    }
+
+    /** Snapshot in FIFO order (length == size), for the GUI. */
+    public Object[] toArray() {
+        Object[] out = new Object[size];
+        copyInto(out);
+        return out;
+    }
+
+    /**
+     * Copies the elements in FIFO order into dest (dest.length >= size) and
+     * returns how many were copied. Lets callers reuse the snapshot array.
+     */
+    public int copyInto(Object[] dest) {
+        if (dest.length < size) {
+            throw new IllegalArgumentException("dest too small: " + dest.length + " < " + size);
+        }
+        int firstPart = Math.min(size, data.length - head);
+        System.arraycopy(data, head, dest, 0, firstPart);
+        System.arraycopy(data, 0, dest, firstPart, size - firstPart);
+        return size;
+    }
+
+    public void forEach(Visitor<T> visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("visitor cannot be null");
+        }
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T) data[index(i)];
+            visitor.visit(item);
+        }
+    }
+
+    private int index(int offset) {
+        int i = head + offset;
+        return i < data.length ? i : i - data.length;
+    }
+
+    private void grow() {
+        Object[] newData = new Object[data.length * 2];
+        copyInto(newData);
+        data = newData;
+        head = 0;
+    }
+}
@@ -16,6 +16,7 @@ public class SimpleList<T> {
 
     private Object[] data;
     private int size;
+    private int version;
 
     public SimpleList() {
         this(10);
@@ -42,12 +43,18 @@ public class SimpleList<T> {
         return data.length;
     }
 
+    /** Modification counter; changes on every structural change. */
+    public int version() {
+        return version;
+    }
+
     public void add(T element) {
         if (element == null) {
             throw new IllegalArgumentException("element cannot be null");
         }
         ensureCapacity(size + 1);
         data[size++] = element;
+        version++;
     }
 
     @SuppressWarnings("unchecked")
@@ -62,6 +69,7 @@ public class SimpleList<T> {
             throw new IllegalArgumentException("element cannot be null");
         }
         data[index] = element;
+        version++;
     }
 
     @SuppressWarnings("unchecked")
@@ -76,6 +84,7 @@ public class SimpleList<T> {
         }
 
         data[--size] = null; // help GC
+        version++;
         return removed;
     }
 
@@ -100,6 +109,7 @@ public class SimpleList<T> {
             data[i] = null;
         }
         size = 0;
+        version++;
     }
 
     /** Returns a compact copy of the elements (length == size). */
@@ -109,6 +119,18 @@ public class SimpleList<T> {
         return out;
     }
 
+    /**
+     * Copies the elements into dest (dest.length >= size) and returns how
+     * many were copied. Lets callers reuse the snapshot array.
+     */
+    public int copyInto(Object[] dest) {
+        if (dest.length < size) {
+            throw new IllegalArgumentException("dest too small: " + dest.length + " < " + size);
+        }
+        System.arraycopy(data, 0, dest, 0, size);
+        return size;
+    }
+
     /** Useful for GUI refresh/debug without exposing internal nodes/arrays. */
     public void forEach(Visitor<T> visitor) {
         if (visitor == null) {
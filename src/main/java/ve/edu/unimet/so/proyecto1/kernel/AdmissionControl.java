@@ -0,0 +1,393 @@
+/*
+ * AdmissionControl.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import ve.edu.unimet.so.proyecto1.datastructures.SimpleList;
+import ve.edu.unimet.so.proyecto1.models.PeriodicTaskTemplate;
+
+/**
+ * Control de admisión de plantillas periódicas: decide con análisis (sin
+ * simular) si una plantilla nueva cabe sin llevar al sistema a sobrecarga.
+ *
+ * Por cada conjunto de tareas (una CPU en modo particionado, todas las CPUs
+ * en modo global) se mantienen las sumas de utilización y densidad, así el
+ * caso común se resuelve en O(1). Si eso no alcanza:
+ *
+ * - EDF, una CPU: prueba de demanda de procesador exacta (QPA) hasta el fin
+ *   del período ocupado síncrono.
+ * - EDF global: cota de densidad GFB, Σδ <= m - (m - 1)·δmax (suficiente).
+ * - PRIORITY, una CPU: análisis de tiempo de respuesta (RTA) de la nueva y de
+ *   las de prioridad menor o igual, que son las únicas afectadas.
+ * - PRIORITY global: RTA de Bertogna-Cirinei con D en lugar de R (suficiente).
+ * - FCFS/RR/SRT: solo Σu <= CPUs (sin garantía de deadlines).
+ *
+ * Cada prueba es O(n) por iteración. Las prioridades iguales cuentan como
+ * interferencia (el desempate del kernel no se modela). Una I/O de la tarea
+ * cuenta como tiempo de CPU (suspensión pesimista). Los procesos no
+ * periódicos no entran en el análisis.
+ *
+ * En modo particionado cada plantilla queda en la primera CPU donde pasa
+ * (first-fit) y todos sus jobs corren ahí. Al degradar se busca el menor
+ * período hasta maxPeriodTicks que pasa (búsqueda binaria: más período es
+ * menos demanda). Cambiar de política no expulsa a las ya admitidas.
+ */
+public class AdmissionControl {
+
+    public enum Mode {
+        OFF,      // todo se admite
+        REJECT,   // se rechaza lo que no pasa
+        DEGRADE   // se estira el período (hasta maxPeriodTicks) y si no alcanza se rechaza
+    }
+
+    public enum Decision {
+        ACCEPTED,
+        DEGRADED,
+        REJECTED
+    }
+
+    private static final double EPSILON = 1e-9;
+    private static final int MAX_ITERATIONS = 1_000_000;
+
+    /** Plantillas admitidas en una CPU (o en todas, en modo global). */
+    private static final class TaskSet {
+        final int cpus;
+        final SimpleList<PeriodicTaskTemplate> tasks = new SimpleList<>();
+        double utilization;
+        double density;
+
+        TaskSet(int cpus) {
+            this.cpus = cpus;
+        }
+    }
+
+    private final TaskSet[] sets;
+    private Mode mode = Mode.REJECT;
+    private long accepted;
+    private long degraded;
+    private long rejected;
+
+    // Tarea candidata + admitidas, en arreglos para las pruebas (se reutilizan)
+    private long[] cost = new long[16];
+    private long[] period = new long[16];
+    private long[] deadline = new long[16];
+    private int[] priority = new int[16];
+    private int count;
+
+    AdmissionControl(int cpuCount, SmpMode smpMode) {
+        if (smpMode == SmpMode.PARTITIONED) {
+            sets = new TaskSet[cpuCount];
+            for (int i = 0; i < cpuCount; i++) sets[i] = new TaskSet(1);
+        } else {
+            sets = new TaskSet[] {new TaskSet(cpuCount)};
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode must not be null");
+        }
+        this.mode = mode;
+    }
+
+    /**
+     * Decide si la plantilla entra bajo la política dada. Si entra queda
+     * registrada (y con su CPU asignada en modo particionado); si se degrada,
+     * el período de la plantilla ya quedó cambiado.
+     */
+    Decision admit(PeriodicTaskTemplate t, SchedulingPolicy policy) {
+        if (mode == Mode.OFF) {
+            add(leastUtilizedSet(), t);
+            accepted++;
+            return Decision.ACCEPTED;
+        }
+        int set = findSet(t, t.getPeriodTicks(), policy);
+        if (set >= 0) {
+            add(set, t);
+            accepted++;
+            return Decision.ACCEPTED;
+        }
+        if (mode == Mode.DEGRADE && t.getMaxPeriodTicks() > t.getPeriodTicks()
+                && findSet(t, t.getMaxPeriodTicks(), policy) >= 0) {
+            long lo = t.getPeriodTicks() + 1;
+            long hi = t.getMaxPeriodTicks();
+            while (lo < hi) {
+                long mid = lo + (hi - lo) / 2;
+                if (findSet(t, mid, policy) >= 0) hi = mid; else lo = mid + 1;
+            }
+            set = findSet(t, lo, policy);
+            t.degradeTo(lo);
+            add(set, t);
+            degraded++;
+            return Decision.DEGRADED;
+        }
+        rejected++;
+        return Decision.REJECTED;
+    }
+
+    /** Deja de contar la plantilla (ya no libera jobs). */
+    void remove(PeriodicTaskTemplate t) {
+        TaskSet s = sets[setOf(t)];
+        if (!s.tasks.removeFirst(t)) return;
+        // Se recalcula en vez de restar: sin deriva de punto flotante
+        s.utilization = 0;
+        s.density = 0;
+        s.tasks.forEach(other -> {
+            s.utilization += (double) costOf(other) / other.getPeriodTicks();
+            s.density += density(other, other.getPeriodTicks());
+        });
+    }
+
+    /** Registra sin probar (al restaurar un checkpoint). */
+    void restore(PeriodicTaskTemplate t) {
+        add(setOf(t), t);
+    }
+
+    void restoreCounters(long accepted, long degraded, long rejected) {
+        this.accepted = accepted;
+        this.degraded = degraded;
+        this.rejected = rejected;
+    }
+
+    public long getAccepted() { return accepted; }
+    public long getDegraded() { return degraded; }
+    public long getRejected() { return rejected; }
+
+    /** Utilización admitida de la CPU (modo particionado) o de todas (global, índice 0). */
+    public double getUtilization(int set) {
+        return sets[set].utilization;
+    }
+
+    public int getTemplateCount() {
+        int n = 0;
+        for (TaskSet s : sets) n += s.tasks.size();
+        return n;
+    }
+
+    // --- Pruebas ---
+
+    /** Primer conjunto donde la plantilla pasa con el período dado, o -1. */
+    private int findSet(PeriodicTaskTemplate t, long periodTicks, SchedulingPolicy policy) {
+        for (int i = 0; i < sets.length; i++) {
+            if (fits(sets[i], t, periodTicks, policy)) return i;
+        }
+        return -1;
+    }
+
+    private boolean fits(TaskSet s, PeriodicTaskTemplate t, long periodTicks, SchedulingPolicy policy) {
+        long c = costOf(t);
+        long d = t.deadlineForPeriod(periodTicks);
+        double u = s.utilization + (double) c / periodTicks;
+        if (u > s.cpus + EPSILON) return false;
+
+        return switch (policy) {
+            case EDF -> {
+                double density = s.density + (double) c / Math.min(d, periodTicks);
+                if (s.cpus == 1) {
+                    if (density <= 1 - EPSILON) yield true; // densidad: suficiente y O(1)
+                    load(s, t, periodTicks);
+                    yield edfDemandTest(u);
+                }
+                load(s, t, periodTicks);
+                yield globalDensityTest(s.cpus, density);
+            }
+            case PRIORITY -> {
+                load(s, t, periodTicks);
+                yield s.cpus == 1 ? responseTimeTest(t.getPriority()) : globalResponseTimeTest(s.cpus, t.getPriority());
+            }
+            default -> true;
+        };
+    }
+
+    /** Copia las admitidas del conjunto + la candidata (en la última posición). */
+    private void load(TaskSet s, PeriodicTaskTemplate candidate, long candidatePeriod) {
+        int n = s.tasks.size() + 1;
+        if (n > cost.length) {
+            int capacity = Math.max(n, cost.length * 2);
+            cost = new long[capacity];
+            period = new long[capacity];
+            deadline = new long[capacity];
+            priority = new int[capacity];
+        }
+        count = 0;
+        s.tasks.forEach(other -> put(other, other.getPeriodTicks()));
+        put(candidate, candidatePeriod);
+    }
+
+    private void put(PeriodicTaskTemplate t, long periodTicks) {
+        cost[count] = costOf(t);
+        period[count] = periodTicks;
+        deadline[count] = t.deadlineForPeriod(periodTicks);
+        priority[count] = t.getPriority();
+        count++;
+    }
+
+    /**
+     * EDF en una CPU: dbf(t) <= t para toda deadline absoluta t del período
+     * ocupado síncrono, recorrido hacia atrás con QPA (pocos saltos en la
+     * práctica en vez de cada deadline).
+     */
+    private boolean edfDemandTest(double utilization) {
+        long dMin = Long.MAX_VALUE;
+        long dMax = 0;
+        for (int i = 0; i < count; i++) {
+            dMin = Math.min(dMin, deadline[i]);
+            dMax = Math.max(dMax, deadline[i]);
+        }
+
+        // Cota La (si U < 1) y período ocupado síncrono Lb: basta revisar hasta min(La, Lb)
+        long limit = Long.MAX_VALUE;
+        if (utilization < 1 - EPSILON) {
+            double la = 0;
+            for (int i = 0; i < count; i++) {
+                la += (double) (period[i] - deadline[i]) * cost[i] / period[i];
+            }
+            limit = Math.max(dMax, (long) Math.ceil(la / (1 - utilization)));
+        }
+        long busy = 0;
+        for (int i = 0; i < count; i++) busy += cost[i];
+        for (int it = 0; busy < limit; it++) {
+            long next = 0;
+            for (int i = 0; i < count; i++) {
+                next += ceilDiv(busy, period[i]) * cost[i];
+            }
+            if (next == busy) break;
+            if (it == MAX_ITERATIONS || next < 0) return false; // no converge en un rango razonable
+            busy = next;
+        }
+        limit = Math.min(limit, busy);
+
+        long t = maxDeadlineBelow(limit + 1);
+        if (t < 0) return true;
+        long h = demand(t);
+        for (int it = 0; h <= t && h > dMin; it++) {
+            if (it == MAX_ITERATIONS) return false;
+            t = h < t ? h : maxDeadlineBelow(t);
+            if (t < 0) return true;
+            h = demand(t);
+        }
+        return h <= dMin;
+    }
+
+    /** Demanda de procesador de los jobs con liberación y deadline en [0, t]. */
+    private long demand(long t) {
+        long h = 0;
+        for (int i = 0; i < count; i++) {
+            if (deadline[i] <= t) {
+                h += ((t - deadline[i]) / period[i] + 1) * cost[i];
+            }
+        }
+        return h;
+    }
+
+    /** Mayor deadline absoluta estrictamente menor que x, o -1. */
+    private long maxDeadlineBelow(long x) {
+        long best = -1;
+        for (int i = 0; i < count; i++) {
+            if (deadline[i] < x) {
+                long k = (x - 1 - deadline[i]) / period[i];
+                best = Math.max(best, k * period[i] + deadline[i]);
+            }
+        }
+        return best;
+    }
+
+    /** EDF global (GFB): Σδ <= m - (m - 1)·δmax. */
+    private boolean globalDensityTest(int cpus, double density) {
+        double maxDensity = 0;
+        for (int i = 0; i < count; i++) {
+            maxDensity = Math.max(maxDensity, (double) cost[i] / Math.min(deadline[i], period[i]));
+        }
+        return maxDensity <= 1 + EPSILON && density <= cpus - (cpus - 1) * maxDensity + EPSILON;
+    }
+
+    /**
+     * Prioridad fija en una CPU: R = C + Σ ceil(R / Ti)·Ci sobre las de
+     * prioridad mayor o igual, para la candidata y las de prioridad <= a ella.
+     * Se exige R <= min(D, T) (con R <= T no se solapan jobs de la misma tarea).
+     */
+    private boolean responseTimeTest(int candidatePriority) {
+        for (int k = 0; k < count; k++) {
+            if (priority[k] > candidatePriority) continue; // no la afecta
+            long bound = Math.min(deadline[k], period[k]);
+            long r = cost[k];
+            for (int it = 0; ; it++) {
+                if (r > bound || it == MAX_ITERATIONS) return false;
+                long next = cost[k];
+                for (int i = 0; i < count; i++) {
+                    if (i != k && priority[i] >= priority[k]) next += ceilDiv(r, period[i]) * cost[i];
+                }
+                if (next == r) break;
+                r = next;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prioridad fija global (Bertogna-Cirinei): R = C + floor(Σ min(Wi(R), R - C + 1) / m),
+     * con la carga Wi acotada usando la deadline de cada tarea interferente.
+     */
+    private boolean globalResponseTimeTest(int cpus, int candidatePriority) {
+        for (int k = 0; k < count; k++) {
+            if (priority[k] > candidatePriority) continue;
+            long bound = Math.min(deadline[k], period[k]);
+            long r = cost[k];
+            for (int it = 0; ; it++) {
+                if (r > bound || it == MAX_ITERATIONS) return false;
+                long interference = 0;
+                for (int i = 0; i < count; i++) {
+                    if (i == k || priority[i] < priority[k]) continue;
+                    long di = Math.min(deadline[i], period[i]);
+                    long jobs = (r + di - cost[i]) / period[i];
+                    long workload = jobs * cost[i] + Math.min(cost[i], r + di - cost[i] - jobs * period[i]);
+                    interference += Math.min(workload, r - cost[k] + 1);
+                }
+                long next = cost[k] + interference / cpus;
+                if (next == r) break;
+                r = next;
+            }
+        }
+        return true;
+    }
+
+    // --- Conjuntos ---
+
+    private void add(int set, PeriodicTaskTemplate t) {
+        TaskSet s = sets[set];
+        s.tasks.add(t);
+        s.utilization += (double) costOf(t) / t.getPeriodTicks();
+        s.density += density(t, t.getPeriodTicks());
+        t.setCpuId(sets.length > 1 ? set : -1);
+    }
+
+    private int setOf(PeriodicTaskTemplate t) {
+        return sets.length > 1 ? t.getCpuId() : 0;
+    }
+
+    private int leastUtilizedSet() {
+        int best = 0;
+        for (int i = 1; i < sets.length; i++) {
+            if (sets[i].utilization < sets[best].utilization) best = i;
+        }
+        return best;
+    }
+
+    /** WCET + I/O a mitad de job (la suspensión se cuenta como CPU). */
+    static long costOf(PeriodicTaskTemplate t) {
+        int io = t.getIoEventCycle();
+        return t.getWcet() + (io > 0 && io < t.getWcet() ? t.getIoServiceDuration() : 0);
+    }
+
+    private static double density(PeriodicTaskTemplate t, long periodTicks) {
+        return (double) costOf(t) / Math.min(t.deadlineForPeriod(periodTicks), periodTicks);
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return (a + b - 1) / b;
+    }
+}
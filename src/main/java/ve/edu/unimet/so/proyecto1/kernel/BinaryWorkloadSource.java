@@ -0,0 +1,137 @@
+/*
+ * BinaryWorkloadSource.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+
+/**
+ * Carga de trabajos en formato binario compacto, leída por bloques.
+ *
+ * Cabecera de HEADER_BYTES (magic + tamaño de registro) y después un
+ * registro de RECORD_BYTES por trabajo, en orden de arrival:
+ *   pid int, instructions int, priority int, arrival long, deadline long,
+ *   ioCycle int, ioDuration int
+ * El nombre es "P" + pid. Como los registros tienen ancho fijo, skip() es un
+ * salto de posición y no lee nada.
+ */
+public class BinaryWorkloadSource implements WorkloadSource, AutoCloseable {
+
+    public static final long MAGIC = 0x534F574B4C443031L; // "SOWKLD01"
+    public static final int HEADER_BYTES = 16;
+    public static final int RECORD_BYTES = 36;
+
+    private static final int BUFFER_RECORDS = 1820; // ~64 KB
+
+    private final FileChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_BYTES);
+    private final long recordCount;
+    private long nextRecord;
+    private long lastArrival = Long.MIN_VALUE;
+
+    public BinaryWorkloadSource(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path cannot be null");
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        int n = 0;
+        while (header.hasRemaining() && n >= 0) {
+            n = channel.read(header);
+        }
+        if (header.hasRemaining() || header.getLong(0) != MAGIC || header.getInt(8) != RECORD_BYTES) {
+            channel.close();
+            throw new IOException("not a binary workload: " + path);
+        }
+        this.recordCount = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+        buf.limit(0);
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public PCB next() {
+        if (nextRecord == recordCount) return null;
+        if (buf.remaining() < RECORD_BYTES) fill();
+        int pid = buf.getInt();
+        int instructions = buf.getInt();
+        int priority = buf.getInt();
+        long arrival = buf.getLong();
+        long deadline = buf.getLong();
+        int ioCycle = buf.getInt();
+        int ioDuration = buf.getInt();
+        if (arrival < lastArrival) {
+            throw new IllegalArgumentException("record " + nextRecord + ": workload not sorted by arrivalTick");
+        }
+        lastArrival = arrival;
+        nextRecord++;
+        return new PCB(pid, "P" + pid, instructions, priority, arrival, deadline, ioCycle, ioDuration);
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.min(Math.max(n, 0), recordCount - nextRecord);
+        nextRecord += skipped;
+        buf.limit(0);
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void fill() {
+        try {
+            buf.clear();
+            long records = Math.min(BUFFER_RECORDS, recordCount - nextRecord);
+            buf.limit((int) records * RECORD_BYTES);
+            long position = HEADER_BYTES + nextRecord * RECORD_BYTES;
+            while (buf.hasRemaining()) {
+                int n = channel.read(buf, position);
+                if (n < 0) {
+                    throw new IOException("unexpected end of workload at record " + nextRecord);
+                }
+                position += n;
+            }
+            buf.flip();
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot read workload", e);
+        }
+    }
+
+    /** Escribe toda la fuente en formato binario. */
+    public static long write(Path path, WorkloadSource source) throws IOException {
+        long count = 0;
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_BYTES);
+            b.putLong(MAGIC).putInt(RECORD_BYTES).putInt(0);
+            for (PCB p = source.next(); p != null; p = source.next()) {
+                if (b.remaining() < RECORD_BYTES) drain(out, b);
+                b.putInt(p.getPid()).putInt(p.getTotalInstructions()).putInt(p.getPriority())
+                        .putLong(p.getArrivalTick()).putLong(p.getDeadlineTick())
+                        .putInt(p.getIoEventCycle()).putInt(p.getIoServiceDuration());
+                count++;
+            }
+            drain(out, b);
+        }
+        return count;
+    }
+
+    private static void drain(FileChannel out, ByteBuffer b) throws IOException {
+        b.flip();
+        while (b.hasRemaining()) {
+            out.write(b);
+        }
+        b.clear();
+    }
+}
@@ -0,0 +1,18 @@
+/*
+ * ClockMode.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+/**
+ * Cómo avanza el reloj del kernel (KernelClockDriver).
+ *
+ * - PACED: un tick por período (cycleDurationMs o un período en ns), sin
+ *   acumular deriva.
+ * - MAX_SPEED: lotes de ticks sin dormir (por eventos, como runUntil).
+ * - STEPPED: solo los ticks pedidos con step().
+ */
+public enum ClockMode {
+    PACED,
+    MAX_SPEED,
+    STEPPED
+}
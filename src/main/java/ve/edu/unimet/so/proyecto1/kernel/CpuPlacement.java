@@ -0,0 +1,45 @@
+/*
+ * CpuPlacement.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import ve.edu.unimet.so.proyecto1.models.PCB;
+
+/**
+ * Heurística de ubicación del modo particionado: elige la CPU de un proceso
+ * la primera vez que es admitido. La asignación no cambia después.
+ */
+public interface CpuPlacement {
+
+    /** Carga actual de cada CPU (solo lectura). */
+    interface Load {
+        int cpuCount();
+
+        /** Procesos asignados a la CPU que aún no terminan. */
+        int assignedCount(int cpu);
+
+        /** Instrucciones pendientes de esos procesos. */
+        long assignedWork(int cpu);
+    }
+
+    /** @return CPU en [0, load.cpuCount()) */
+    int place(PCB process, Load load);
+
+    /** CPU con menos instrucciones pendientes (empate: la de menor índice). */
+    CpuPlacement LEAST_WORK = (process, load) -> {
+        int best = 0;
+        for (int cpu = 1; cpu < load.cpuCount(); cpu++) {
+            if (load.assignedWork(cpu) < load.assignedWork(best)) best = cpu;
+        }
+        return best;
+    };
+
+    /** CPU con menos procesos asignados (empate: la de menor índice). */
+    CpuPlacement FEWEST_PROCESSES = (process, load) -> {
+        int best = 0;
+        for (int cpu = 1; cpu < load.cpuCount(); cpu++) {
+            if (load.assignedCount(cpu) < load.assignedCount(best)) best = cpu;
+        }
+        return best;
+    };
+}
@@ -0,0 +1,154 @@
+/*
+ * CsvWorkloadSource.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+
+/**
+ * Carga de trabajos desde un CSV, leída línea por línea.
+ *
+ * Una línea por trabajo, ordenadas por arrival:
+ *   pid,name,instructions,priority,arrival,deadline,ioCycle,ioDuration
+ * name puede ir vacío (se usa "P" + pid) y no lleva comas (no hay comillas
+ * ni escapes; write() rechaza esos nombres). Los números son enteros
+ * decimales; los campos int fuera de rango o los long que desbordan son un
+ * error, no se truncan. Las líneas vacías o que empiezan con '#' se ignoran.
+ */
+public class CsvWorkloadSource implements WorkloadSource, AutoCloseable {
+
+    private static final int FIELDS = 8;
+    private static final String[] FIELD_NAMES = {
+        "pid", "name", "instructions", "priority", "arrival", "deadline", "ioCycle", "ioDuration"
+    };
+
+    private final BufferedReader reader;
+    private final long[] numbers = new long[FIELDS];
+    private long lineNumber;
+    private long lastArrival = Long.MIN_VALUE;
+
+    public CsvWorkloadSource(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path cannot be null");
+        }
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public PCB next() {
+        String line;
+        try {
+            do {
+                line = reader.readLine();
+                lineNumber++;
+                if (line == null) return null;
+            } while (line.isBlank() || line.charAt(0) == '#');
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot read workload line " + lineNumber, e);
+        }
+        return parse(line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private PCB parse(String line) {
+        // Sin split(): solo números salvo el nombre (campo 1)
+        String name = null;
+        int field = 0;
+        int start = 0;
+        int length = line.length();
+        for (int i = 0; i <= length; i++) {
+            if (i < length && line.charAt(i) != ',') continue;
+            if (field >= FIELDS) {
+                throw new IllegalArgumentException("line " + lineNumber + ": expected " + FIELDS + " fields");
+            }
+            if (field == 1) {
+                name = line.substring(start, i).trim();
+            } else {
+                numbers[field] = parseLong(line, start, i);
+            }
+            field++;
+            start = i + 1;
+        }
+        if (field != FIELDS) {
+            throw new IllegalArgumentException("line " + lineNumber + ": expected " + FIELDS + " fields");
+        }
+        int pid = intField(0);
+        long arrival = numbers[4];
+        if (arrival < lastArrival) {
+            throw new IllegalArgumentException("line " + lineNumber + ": workload not sorted by arrivalTick");
+        }
+        lastArrival = arrival;
+        if (name.isEmpty()) name = "P" + pid;
+        return new PCB(pid, name, intField(2), intField(3), arrival, numbers[5], intField(6), intField(7));
+    }
+
+    private int intField(int field) {
+        long value = numbers[field];
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("line " + lineNumber + ": " + FIELD_NAMES[field] + " out of int range: "
+                    + value);
+        }
+        return (int) value;
+    }
+
+    private long parseLong(String line, int from, int to) {
+        while (from < to && line.charAt(from) == ' ') from++;
+        while (to > from && line.charAt(to - 1) == ' ') to--;
+        if (from == to) {
+            throw new IllegalArgumentException("line " + lineNumber + ": empty number");
+        }
+        int begin = from;
+        boolean negative = line.charAt(from) == '-';
+        if (negative) from++;
+        if (from == to) {
+            throw new IllegalArgumentException("line " + lineNumber + ": bad number '" + line.substring(begin, to) + "'");
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("line " + lineNumber + ": bad number '" + line.substring(begin, to) + "'");
+            }
+            int digit = c - '0';
+            if (value > (Long.MAX_VALUE - digit) / 10) {
+                throw new IllegalArgumentException("line " + lineNumber + ": number out of range '"
+                        + line.substring(begin, to) + "'");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /** Escribe toda la fuente en formato CSV; un nombre con ',' o salto de línea es un error. */
+    public static long write(Path path, WorkloadSource source) throws IOException {
+        long count = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("# pid,name,instructions,priority,arrival,deadline,ioCycle,ioDuration");
+            out.newLine();
+            for (PCB p = source.next(); p != null; p = source.next()) {
+                String name = p.getName();
+                if (name.indexOf(',') >= 0 || name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+                    throw new IllegalArgumentException("name of pid " + p.getPid()
+                            + " cannot contain ',' or line breaks: '" + name + "'");
+                }
+                out.write(p.getPid() + "," + name + "," + p.getTotalInstructions() + "," + p.getPriority()
+                        + "," + p.getArrivalTick() + "," + p.getDeadlineTick() + "," + p.getIoEventCycle()
+                        + "," + p.getIoServiceDuration());
+                out.newLine();
+                count++;
+            }
+        }
+        return count;
+    }
+}
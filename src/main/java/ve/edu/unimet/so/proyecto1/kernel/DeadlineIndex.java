@@ -0,0 +1,101 @@
+/*
+ * DeadlineIndex.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import ve.edu.unimet.so.proyecto1.datastructures.Compare;
+import ve.edu.unimet.so.proyecto1.datastructures.IndexedHeap;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+import ve.edu.unimet.so.proyecto1.models.PcbTable;
+
+/**
+ * Índice de deadlines para la regla fail-soft (§15).
+ *
+ * Min-heap por deadlineTick con los procesos admitidos que aún no terminan.
+ * En cada tick solo se sacan las entradas cuya deadline ya pasó: el costo es
+ * proporcional a los misses reales, no a la población. El handle de cada
+ * proceso en el heap se guarda por su fila de la PcbTable del kernel, así el
+ * que termina sale en O(log n) (antes de que su PCB pueda reciclarse) en vez
+ * de quedarse hasta llegar al tope.
+ */
+public class DeadlineIndex {
+
+    public interface MissHandler {
+        void onDeadlineMiss(PCB process, long tick);
+    }
+
+    private static final Compare.Comparator<PCB> DEADLINE_ORDER = (p1, p2) -> {
+        int c = Long.compare(p1.getDeadlineTick(), p2.getDeadlineTick());
+        if (c != 0) return c;
+        return Integer.compare(p1.getPid(), p2.getPid());
+    };
+
+    private final IndexedHeap<PCB> heap = new IndexedHeap<>(DEADLINE_ORDER);
+    private final PcbTable table;
+    private final RowHandles handles = new RowHandles();
+
+    DeadlineIndex(PcbTable table) {
+        this.table = table;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    public void track(PCB process) {
+        handles.set(table.rowOf(process), heap.add(process));
+    }
+
+    /** Deja de vigilar el proceso (terminó). */
+    public void untrack(PCB process) {
+        int row = table.rowOf(process);
+        int handle = handles.get(row);
+        if (handle < 0) return;
+        heap.remove(handle);
+        handles.set(row, -1);
+    }
+
+    boolean isTracked(PCB process) {
+        return handles.get(table.rowOf(process)) >= 0;
+    }
+
+    /**
+     * Tick en el que ocurrirá el próximo miss posible (deadline + 1), o
+     * Long.MAX_VALUE si no hay procesos vigilados.
+     */
+    public long nextMissTick() {
+        PCB first = heap.peekFirst();
+        return first == null ? Long.MAX_VALUE : first.getDeadlineTick() + 1;
+    }
+
+    /**
+     * Saca los procesos con deadlineTick < tick. Los que no han terminado se
+     * marcan como deadline miss (una sola vez) y se entregan al handler.
+     *
+     * @return cantidad de misses nuevos
+     */
+    public int expire(long tick, MissHandler handler) {
+        int misses = 0;
+        PCB first = heap.peekFirst();
+        while (first != null && first.getDeadlineTick() < tick) {
+            heap.pollFirst();
+            handles.set(table.rowOf(first), -1);
+            if (!first.hasFinished() && first.markDeadlineMissed()) {
+                misses++;
+                handler.onDeadlineMiss(first, tick);
+            }
+            first = heap.peekFirst();
+        }
+        return misses;
+    }
+
+    public void clear() {
+        heap.forEach(p -> handles.set(table.rowOf(p), -1));
+        heap.clear();
+    }
+
+    /** Procesos vigilados en orden de heap (no ordenados), para checkpoints. */
+    public Object[] toArray() {
+        return heap.toArray();
+    }
+}
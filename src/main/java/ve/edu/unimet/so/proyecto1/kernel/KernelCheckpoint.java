@@ -0,0 +1,295 @@
+/*
+ * KernelCheckpoint.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+import ve.edu.unimet.so.proyecto1.models.ProcessState;
+
+/**
+ * Checkpoint binario de un OperatingSystem completo: reloj, política, CPUs,
+ * ISR, el orden exacto de cada cola, la rueda de I/O, el índice de
+ * deadlines, los suspendidos y el límite de memoria, las plantillas
+ * periódicas, las métricas y los contadores de cada PCB.
+ *
+ * Se escribe en streaming sobre un canal NIO con un solo buffer directo, sin
+ * serialización de Java. Cada PCB se escribe completo la primera vez que
+ * aparece y después solo como índice, así un proceso que está en varias
+ * estructuras (CPU + índice de deadlines, BLOCKED + rueda) vuelve a ser un
+ * solo objeto al restaurar.
+ *
+ * Restaurar y seguir produce exactamente la misma corrida que no haberse
+ * detenido. Los eventos pendientes del inbox no se guardan: el checkpoint se
+ * toma entre ticks con el inbox vacío. La traza binaria, el log de eventos
+ * y las vistas publicadas tampoco son parte del estado. De la fuente de
+ * carga solo se guarda cuántos trabajos ya llegaron: al restaurar se
+ * reconecta con OperatingSystem.resumeWorkloadSource(). La heurística de
+ * ubicación del modo particionado y el ProcessExecutor tampoco se guardan.
+ */
+public final class KernelCheckpoint {
+
+    public static final long MAGIC = 0x534F434B50543031L; // "SOCKPT01"
+    public static final int FORMAT_VERSION = 8;
+
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int PCB_NULL = -2;
+    private static final int PCB_NEW = -1;
+
+    private KernelCheckpoint() {
+    }
+
+    public static void write(OperatingSystem os, WritableByteChannel channel) throws IOException {
+        if (os == null || channel == null) {
+            throw new IllegalArgumentException("os and channel cannot be null");
+        }
+        Out out = new Out(channel);
+        out.putLong(MAGIC);
+        out.putInt(FORMAT_VERSION);
+        os.saveTo(out);
+        out.flush();
+    }
+
+    public static OperatingSystem read(ReadableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("channel cannot be null");
+        }
+        In in = new In(channel);
+        if (in.getLong() != MAGIC) {
+            throw new IOException("not a kernel checkpoint");
+        }
+        int version = in.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("unsupported checkpoint version: " + version);
+        }
+        return OperatingSystem.loadFrom(in);
+    }
+
+    /** Lado de escritura: buffer directo + tabla de identidad de PCBs. */
+    static final class Out {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private Object[] keys = new Object[256];
+        private int[] ids = new int[256];
+        private int pcbCount;
+
+        private Out(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void putByte(int v) throws IOException {
+            ensure(1);
+            buf.put((byte) v);
+        }
+
+        void putBoolean(boolean v) throws IOException {
+            putByte(v ? 1 : 0);
+        }
+
+        void putInt(int v) throws IOException {
+            ensure(4);
+            buf.putInt(v);
+        }
+
+        void putLong(long v) throws IOException {
+            ensure(8);
+            buf.putLong(v);
+        }
+
+        void putString(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            int off = 0;
+            while (off < bytes.length) {
+                if (!buf.hasRemaining()) drain();
+                int n = Math.min(buf.remaining(), bytes.length - off);
+                buf.put(bytes, off, n);
+                off += n;
+            }
+        }
+
+        /** Referencia a un PCB (o null); la primera vez se escribe completo. */
+        void putPcb(PCB p) throws IOException {
+            if (p == null) {
+                putInt(PCB_NULL);
+                return;
+            }
+            int slot = find(p);
+            if (keys[slot] == p) {
+                putInt(ids[slot]);
+                return;
+            }
+            keys[slot] = p;
+            ids[slot] = pcbCount++;
+            if (pcbCount * 2 > keys.length) rehash();
+
+            putInt(PCB_NEW);
+            putInt(p.getPid());
+            putString(p.getBaseName()); // el sufijo #N se rearma desde jobNumber
+            putLong(p.getJobNumber());
+            putInt(p.getTotalInstructions());
+            putInt(p.getPriority());
+            putLong(p.getArrivalTick());
+            putLong(p.getDeadlineTick());
+            putInt(p.getIoEventCycle());
+            putInt(p.getIoServiceDuration());
+            putByte(p.getState().ordinal());
+            putInt(p.getProgramCounter());
+            putInt(p.getMar());
+            putInt(p.getIoWaitedTicks());
+            putLong(p.getStartTick());
+            putLong(p.getFinishTick());
+            putLong(p.getWaitingTime());
+            putLong(p.getReadySinceTick());
+            putBoolean(p.isDeadlineMissed());
+            putInt(p.getCpuId());
+        }
+
+        void flush() throws IOException {
+            drain();
+        }
+
+        private void ensure(int n) throws IOException {
+            if (buf.remaining() < n) drain();
+        }
+
+        private void drain() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            buf.clear();
+        }
+
+        // Tabla hash por identidad (sonda lineal)
+        private int find(Object key) {
+            int mask = keys.length - 1;
+            int i = System.identityHashCode(key) & mask;
+            while (keys[i] != null && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void rehash() {
+            Object[] oldKeys = keys;
+            int[] oldIds = ids;
+            keys = new Object[oldKeys.length * 2];
+            ids = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = find(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    ids[slot] = oldIds[i];
+                }
+            }
+        }
+    }
+
+    /** Lado de lectura: rellena el buffer desde el canal según se necesite. */
+    static final class In {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private PCB[] pcbs = new PCB[256];
+        private int pcbCount;
+
+        private In(ReadableByteChannel channel) {
+            this.channel = channel;
+            buf.limit(0);
+        }
+
+        byte getByte() throws IOException {
+            require(1);
+            return buf.get();
+        }
+
+        boolean getBoolean() throws IOException {
+            return getByte() != 0;
+        }
+
+        int getInt() throws IOException {
+            require(4);
+            return buf.getInt();
+        }
+
+        long getLong() throws IOException {
+            require(8);
+            return buf.getLong();
+        }
+
+        String getString() throws IOException {
+            int length = getInt();
+            if (length < 0) {
+                throw new IOException("corrupt checkpoint: string length " + length);
+            }
+            byte[] bytes = new byte[length];
+            int off = 0;
+            while (off < length) {
+                if (!buf.hasRemaining()) require(1);
+                int n = Math.min(buf.remaining(), length - off);
+                buf.get(bytes, off, n);
+                off += n;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        PCB getPcb() throws IOException {
+            int ref = getInt();
+            if (ref == PCB_NULL) return null;
+            if (ref >= 0) {
+                if (ref >= pcbCount) {
+                    throw new IOException("corrupt checkpoint: pcb ref " + ref);
+                }
+                return pcbs[ref];
+            }
+            if (ref != PCB_NEW) {
+                throw new IOException("corrupt checkpoint: pcb tag " + ref);
+            }
+            int pid = getInt();
+            String name = getString();
+            long jobNumber = getLong();
+            int totalInstructions = getInt();
+            int priority = getInt();
+            long arrival = getLong();
+            long deadline = getLong();
+            int ioEventCycle = getInt();
+            int ioServiceDuration = getInt();
+            PCB p = new PCB(pid, name, totalInstructions, priority, arrival, deadline, ioEventCycle, ioServiceDuration,
+                    jobNumber);
+            ProcessState state = ProcessState.values()[getByte()];
+            int programCounter = getInt();
+            int mar = getInt();
+            int ioWaited = getInt();
+            long startTick = getLong();
+            long finishTick = getLong();
+            long waitingTime = getLong();
+            long readySince = getLong();
+            boolean missed = getBoolean();
+            p.restoreCounters(state, programCounter, mar, ioWaited, startTick, finishTick, waitingTime, readySince,
+                    missed, getInt());
+
+            if (pcbCount == pcbs.length) {
+                PCB[] bigger = new PCB[pcbs.length * 2];
+                System.arraycopy(pcbs, 0, bigger, 0, pcbCount);
+                pcbs = bigger;
+            }
+            pcbs[pcbCount++] = p;
+            return p;
+        }
+
+        private void require(int n) throws IOException {
+            if (buf.remaining() >= n) return;
+            buf.compact();
+            while (buf.position() < n) {
+                if (channel.read(buf) < 0) {
+                    throw new IOException("unexpected end of checkpoint");
+                }
+            }
+            buf.flip();
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * KernelClockDriver.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * El KernelClockThread de §4 / §12.1: el único hilo que llama al kernel.
+ *
+ * - PACED: cada tick tiene un instante objetivo en ns (inicio + k * período),
+ *   así un tick atrasado no corre a los siguientes. Se espera con parkNanos
+ *   hasta SPIN_NANOS antes del objetivo y el resto con spin, lo que permite
+ *   períodos por debajo de 1 ms. Si el atraso pasa de MAX_CATCH_UP_NANOS se
+ *   descarta (se cuenta en getLagResets) en vez de correr una ráfaga de
+ *   ticks para alcanzarlo.
+ * - MAX_SPEED: lotes de maxSpeedBatch ticks con runUntil, sin dormir.
+ * - STEPPED: espera a step(n) y ejecuta exactamente n ticks.
+ *
+ * Modo y período se cambian en caliente desde cualquier hilo: el reloj los
+ * lee en cada vuelta y un cambio lo despierta. Publica el snapshot de la
+ * GUI cada publishIntervalNanos. Los demás hilos no tocan el kernel: usan
+ * su KernelEventInbox.
+ */
+public class KernelClockDriver {
+
+    public static final long SPIN_NANOS = 50_000;
+    public static final long MAX_CATCH_UP_NANOS = 100_000_000;
+    public static final long RATE_WINDOW_NANOS = 500_000_000;
+    public static final int DEFAULT_MAX_SPEED_BATCH = 10_000;
+    public static final long DEFAULT_PUBLISH_INTERVAL_NANOS = 16_666_667; // ~60 Hz
+
+    private final OperatingSystem os;
+    private volatile ClockMode mode = ClockMode.PACED;
+    private volatile long periodNanos;
+    private volatile int maxSpeedBatch = DEFAULT_MAX_SPEED_BATCH;
+    private volatile long publishIntervalNanos = DEFAULT_PUBLISH_INTERVAL_NANOS;
+    private final AtomicLong pendingSteps = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Thread thread;
+    private volatile Throwable failure;
+
+    // Estado del hilo del reloj
+    private long pacedPeriod = -1; // período del plan actual (-1 = rearmar)
+    private long nextDeadline;
+    private long nextPublish;
+    private long windowStart;
+    private long windowTicks;
+
+    // Reportes (los escribe el reloj, se leen desde cualquier hilo)
+    private volatile long ticksExecuted;
+    private volatile double achievedTickRate;
+    private volatile long lagNanos;
+    private volatile long maxLagNanos;
+    private volatile long lagResets;
+
+    /** @param cycleDurationMs período inicial del modo PACED */
+    public KernelClockDriver(OperatingSystem os, int cycleDurationMs) {
+        if (os == null) {
+            throw new IllegalArgumentException("os cannot be null");
+        }
+        if (cycleDurationMs <= 0) {
+            throw new IllegalArgumentException("cycleDurationMs must be > 0");
+        }
+        this.os = os;
+        this.periodNanos = cycleDurationMs * 1_000_000L;
+    }
+
+    // --- Ciclo de vida ---
+
+    /** Arranca el hilo del reloj (daemon, "KernelClockThread"). */
+    public synchronized void start() {
+        if (thread != null) {
+            throw new IllegalStateException("clock already started");
+        }
+        running = true;
+        failure = null;
+        pacedPeriod = -1; // un plan PACED de una corrida anterior no sigue vigente
+        Thread t = new Thread(this::loop, "KernelClockThread");
+        t.setDaemon(true);
+        thread = t;
+        t.start();
+    }
+
+    /** Detiene el reloj al terminar el tick o lote en curso y lo espera. */
+    public synchronized void stop() throws InterruptedException {
+        Thread t = thread;
+        if (t == null) return;
+        running = false;
+        LockSupport.unpark(t);
+        t.join();
+        thread = null;
+    }
+
+    public boolean isRunning() {
+        return thread != null && running;
+    }
+
+    /** Excepción que detuvo el reloj, o null. */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    // --- Control en caliente ---
+
+    public void setMode(ClockMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode cannot be null");
+        }
+        if (this.mode == mode) return;
+        pendingSteps.set(0); // pasos pedidos en STEPPED no se arrastran a otro modo
+        this.mode = mode;
+        wake();
+    }
+
+    /** Período de PACED en ms (el cycleDurationMs de §4). */
+    public void setCycleDurationMs(int ms) {
+        if (ms <= 0) {
+            throw new IllegalArgumentException("cycleDurationMs must be > 0");
+        }
+        setPeriodNanos(ms * 1_000_000L);
+    }
+
+    public void setPeriodNanos(long nanos) {
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("periodNanos must be > 0");
+        }
+        this.periodNanos = nanos;
+        wake();
+    }
+
+    /** Período de PACED como ticks por segundo. */
+    public void setTickRate(double ticksPerSecond) {
+        if (!(ticksPerSecond > 0) || ticksPerSecond > 1e9) {
+            throw new IllegalArgumentException("ticksPerSecond must be in (0, 1e9]");
+        }
+        setPeriodNanos(Math.max(1, Math.round(1e9 / ticksPerSecond)));
+    }
+
+    /** Ticks por lote en MAX_SPEED (entre lotes se publica y se revisa el modo). */
+    public void setMaxSpeedBatch(int ticks) {
+        if (ticks <= 0) {
+            throw new IllegalArgumentException("ticks must be > 0");
+        }
+        this.maxSpeedBatch = ticks;
+    }
+
+    public void setPublishIntervalNanos(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("nanos must be >= 0");
+        }
+        this.publishIntervalNanos = nanos;
+    }
+
+    /** En STEPPED: ejecutar ticks ticks más (se acumulan si llegan varios). */
+    public void step(int ticks) {
+        if (ticks <= 0) {
+            throw new IllegalArgumentException("ticks must be > 0");
+        }
+        if (mode != ClockMode.STEPPED) {
+            throw new IllegalStateException("step requires STEPPED mode");
+        }
+        pendingSteps.addAndGet(ticks);
+        wake();
+    }
+
+    // --- Reportes ---
+
+    public ClockMode getMode() { return mode; }
+    public long getPeriodNanos() { return periodNanos; }
+    public int getMaxSpeedBatch() { return maxSpeedBatch; }
+    public long getPendingSteps() { return pendingSteps.get(); }
+    /** Ticks avanzados desde start(). */
+    public long getTicksExecuted() { return ticksExecuted; }
+    /** Ticks por segundo medidos en la última ventana de RATE_WINDOW_NANOS. */
+    public double getAchievedTickRate() { return achievedTickRate; }
+    /** Atraso del último tick PACED respecto de su instante objetivo. */
+    public long getLagNanos() { return lagNanos; }
+    public long getMaxLagNanos() { return maxLagNanos; }
+    /** Veces que un atraso mayor a MAX_CATCH_UP_NANOS se descartó. */
+    public long getLagResets() { return lagResets; }
+
+    /**
+     * Ritmo pedido: 1e9 / período en PACED, infinito en MAX_SPEED y 0 en
+     * STEPPED (no hay ritmo propio).
+     */
+    public double getRequestedTickRate() {
+        return switch (mode) {
+            case PACED -> 1e9 / periodNanos;
+            case MAX_SPEED -> Double.POSITIVE_INFINITY;
+            case STEPPED -> 0.0;
+        };
+    }
+
+    // --- Hilo del reloj ---
+
+    private void wake() {
+        Thread t = thread;
+        if (t != null) LockSupport.unpark(t);
+    }
+
+    private void loop() {
+        long now = System.nanoTime();
+        windowStart = now;
+        windowTicks = ticksExecuted;
+        nextPublish = now;
+        try {
+            while (running) {
+                ClockMode m = mode;
+                if (m != ClockMode.PACED) pacedPeriod = -1; // al volver a PACED el plan arranca de nuevo
+                switch (m) {
+                    case PACED -> pacedTick();
+                    case MAX_SPEED -> advance(maxSpeedBatch);
+                    case STEPPED -> steppedTick();
+                }
+                afterIteration(System.nanoTime());
+            }
+        } catch (Throwable t) {
+            failure = t;
+            running = false;
+        }
+        os.publishSnapshot();
+    }
+
+    private void pacedTick() {
+        long period = periodNanos;
+        if (period != pacedPeriod) {
+            // Cambio de ritmo: el plan nuevo cuenta desde ahora
+            pacedPeriod = period;
+            nextDeadline = System.nanoTime() + period;
+        }
+        if (!waitUntil(nextDeadline, period)) return; // cambió el modo o el ritmo
+
+        long lag = System.nanoTime() - nextDeadline;
+        lagNanos = lag;
+        if (lag > maxLagNanos) maxLagNanos = lag;
+        advance(1);
+        nextDeadline += period;
+
+        long now = System.nanoTime();
+        if (now - nextDeadline > MAX_CATCH_UP_NANOS) {
+            nextDeadline = now; // atraso irrecuperable: no correr una ráfaga
+            lagResets++;
+        }
+    }
+
+    /** @return false si hay que volver al loop antes del objetivo */
+    private boolean waitUntil(long deadline, long period) {
+        while (true) {
+            if (!running || mode != ClockMode.PACED || periodNanos != period) return false;
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return true;
+            if (remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void steppedTick() {
+        long steps = pendingSteps.get();
+        if (steps == 0) {
+            // Dormido hasta step() o un cambio de modo; despierta para cerrar la ventana de ritmo
+            LockSupport.parkNanos(this, RATE_WINDOW_NANOS);
+            return;
+        }
+        int n = (int) Math.min(steps, maxSpeedBatch);
+        if (pendingSteps.compareAndSet(steps, steps - n)) {
+            // Exactamente n ticks, uno por uno (sin saltos por eventos)
+            for (int i = 0; i < n; i++) os.executeOneCycle();
+            ticksExecuted += n;
+        }
+    }
+
+    private void advance(int ticks) {
+        if (ticks == 1) {
+            os.executeOneCycle();
+        } else {
+            os.runUntil(os.getGlobalTick() + ticks);
+        }
+        ticksExecuted += ticks;
+    }
+
+    private void afterIteration(long now) {
+        if (now - nextPublish >= 0) {
+            os.publishSnapshot();
+            nextPublish = now + publishIntervalNanos;
+        }
+        long elapsed = now - windowStart;
+        if (elapsed >= RATE_WINDOW_NANOS) {
+            long t = ticksExecuted;
+            achievedTickRate = (t - windowTicks) * 1e9 / elapsed;
+            windowStart = now;
+            windowTicks = t;
+        }
+    }
+}
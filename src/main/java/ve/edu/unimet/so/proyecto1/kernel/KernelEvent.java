@@ -0,0 +1,37 @@
+/*
+ * KernelEvent.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+/**
+ * Registro de evento preasignado dentro de KernelEventInbox. Los productores
+ * lo llenan en su lugar del anillo; el kernel lo lee durante drain() y luego
+ * el slot se reutiliza, así que no se debe guardar la referencia.
+ *
+ * Uso de campos por tipo:
+ * - IO_REQUEST / IO_COMPLETE: pid
+ * - INTERRUPT: arg1 = detectedTick, arg2 = isrCostTicks
+ * - CREATE_PROCESS: payload = PCB
+ * - POLICY_CHANGE: payload = SchedulingPolicy
+ */
+public final class KernelEvent {
+
+    KernelEventType type;
+    int pid;
+    long arg1;
+    long arg2;
+    Object payload;
+    int producerId;
+    long producerSeq;
+
+    KernelEvent() {
+    }
+
+    public KernelEventType getType() { return type; }
+    public int getPid() { return pid; }
+    public long getArg1() { return arg1; }
+    public long getArg2() { return arg2; }
+    public Object getPayload() { return payload; }
+    public int getProducerId() { return producerId; }
+    public long getProducerSeq() { return producerSeq; }
+}
@@ -0,0 +1,212 @@
+/*
+ * KernelEventInbox.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+
+/**
+ * Bandeja de eventos del kernel: varios productores (I/O, interrupciones,
+ * GUI) y un solo consumidor (el hilo del reloj). Reemplaza al eventLock.
+ *
+ * - Sin locks: un productor reserva un slot con CAS sobre "tail", llena el
+ *   KernelEvent preasignado y lo publica escribiendo su número de secuencia.
+ *   Nunca se bloquea; si el anillo está lleno, publish devuelve false y se
+ *   cuenta como rechazado.
+ * - El kernel drena todo lo publicado de una vez al inicio del tick.
+ * - Orden determinista: dentro de un lote los eventos se entregan por
+ *   productor (id ascendente) y, para cada productor, en el orden en que los
+ *   publicó. El orden no depende de cómo se intercalaron los CAS.
+ */
+public class KernelEventInbox {
+
+    /** Lo implementa el kernel para aplicar cada evento del lote. */
+    public interface Handler {
+        void onEvent(KernelEvent event);
+    }
+
+    /**
+     * Punto de publicación de un hilo productor. Cada hilo debe usar su
+     * propio Producer (la secuencia por productor no es thread-safe).
+     */
+    public final class Producer {
+        private final int id;
+        private long nextSeq;
+
+        private Producer(int id) {
+            this.id = id;
+        }
+
+        public int getId() { return id; }
+
+        public boolean ioRequest(int pid) {
+            return publish(this, KernelEventType.IO_REQUEST, pid, 0, 0, null);
+        }
+
+        public boolean ioComplete(int pid) {
+            return publish(this, KernelEventType.IO_COMPLETE, pid, 0, 0, null);
+        }
+
+        public boolean interrupt(long detectedTick, int isrCostTicks) {
+            if (isrCostTicks <= 0) {
+                throw new IllegalArgumentException("isrCostTicks must be > 0");
+            }
+            return publish(this, KernelEventType.INTERRUPT, -1, detectedTick, isrCostTicks, null);
+        }
+
+        public boolean createProcess(PCB process) {
+            if (process == null) {
+                throw new IllegalArgumentException("process must not be null");
+            }
+            return publish(this, KernelEventType.CREATE_PROCESS, process.getPid(), 0, 0, process);
+        }
+
+        public boolean policyChange(SchedulingPolicy policy) {
+            if (policy == null) {
+                throw new IllegalArgumentException("policy must not be null");
+            }
+            return publish(this, KernelEventType.POLICY_CHANGE, -1, 0, 0, policy);
+        }
+    }
+
+    private final KernelEvent[] slots;
+    private final AtomicLongArray published; // secuencia publicada en cada slot
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();   // próxima secuencia a reservar
+    private final AtomicLong head = new AtomicLong();   // próxima secuencia a consumir
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicInteger nextProducerId = new AtomicInteger();
+
+    // Solo del consumidor
+    private final int[] batch;
+    private final int[] sortTmp;
+
+    public KernelEventInbox() {
+        this(1024);
+    }
+
+    public KernelEventInbox(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        this.slots = new KernelEvent[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new KernelEvent();
+            published.set(i, -1);
+        }
+        this.mask = capacity - 1;
+        this.batch = new int[capacity];
+        this.sortTmp = new int[capacity];
+    }
+
+    public Producer newProducer() {
+        return new Producer(nextProducerId.getAndIncrement());
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /** Eventos rechazados por anillo lleno. */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /** true si el próximo evento a consumir ya está publicado (solo consumidor). */
+    public boolean hasPending() {
+        long h = head.get();
+        return published.get((int) h & mask) == h;
+    }
+
+    private boolean publish(Producer producer, KernelEventType type, int pid, long arg1, long arg2, Object payload) {
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq - head.get() >= slots.length) {
+                rejected.incrementAndGet();
+                return false;
+            }
+        } while (!tail.compareAndSet(seq, seq + 1));
+
+        int slot = (int) seq & mask;
+        KernelEvent e = slots[slot];
+        e.type = type;
+        e.pid = pid;
+        e.arg1 = arg1;
+        e.arg2 = arg2;
+        e.payload = payload;
+        e.producerId = producer.id;
+        e.producerSeq = producer.nextSeq++;
+        published.lazySet(slot, seq); // publicación (release)
+        return true;
+    }
+
+    /**
+     * Entrega al handler todos los eventos publicados de forma contigua, en
+     * orden determinista, y libera sus slots. Solo lo llama el kernel.
+     *
+     * @return cantidad de eventos procesados
+     */
+    public int drain(Handler handler) {
+        long h = head.get();
+        int n = 0;
+        while (n < batch.length) {
+            int slot = (int) (h + n) & mask;
+            if (published.get(slot) != h + n) break;
+            batch[n++] = slot;
+        }
+        if (n == 0) return 0;
+
+        // Por (productor, secuencia del productor): O(n log n) sin asignar memoria
+        sortBatch(0, n);
+
+        for (int i = 0; i < n; i++) {
+            KernelEvent e = slots[batch[i]];
+            handler.onEvent(e);
+            e.payload = null;
+        }
+        head.set(h + n); // libera los slots para los productores
+        return n;
+    }
+
+    /** Merge sort de batch[from, to) como el de OrderedList, sobre los índices de slot. */
+    private void sortBatch(int from, int to) {
+        int n = to - from;
+        if (n < 2) return;
+        if (n <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int x = batch[i];
+                int j = i - 1;
+                while (j >= from && compareSlots(batch[j], x) > 0) {
+                    batch[j + 1] = batch[j];
+                    j--;
+                }
+                batch[j + 1] = x;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortBatch(from, mid);
+        sortBatch(mid, to);
+        if (compareSlots(batch[mid - 1], batch[mid]) <= 0) return; // ya en orden (un solo productor)
+
+        System.arraycopy(batch, from, sortTmp, from, n);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            batch[k++] = compareSlots(sortTmp[i], sortTmp[j]) <= 0 ? sortTmp[i++] : sortTmp[j++];
+        }
+        while (i < mid) batch[k++] = sortTmp[i++];
+        while (j < to) batch[k++] = sortTmp[j++];
+    }
+
+    private int compareSlots(int a, int b) {
+        KernelEvent x = slots[a];
+        KernelEvent y = slots[b];
+        int c = Integer.compare(x.producerId, y.producerId);
+        return c != 0 ? c : Long.compare(x.producerSeq, y.producerSeq);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * KernelEventLog.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import ve.edu.unimet.so.proyecto1.models.ProcessState;
+
+/**
+ * Log de eventos del kernel (§14) como anillo de registros primitivos de
+ * capacidad fija: tick, tipo, pid y dos argumentos numéricos.
+ *
+ * - Escribir un registro son unos pocos stores en arreglos preasignados:
+ *   sin objetos ni Strings en el hilo del reloj.
+ * - El texto se arma solo al leer (format/formatRange), y solo para el rango
+ *   que la GUI o un exportador pidan.
+ * - Al llenarse se sobrescribe el más viejo; getDropped() cuenta los
+ *   registros perdidos así.
+ *
+ * Un solo escritor (el kernel) y lectores en cualquier hilo. Cada slot
+ * guarda la secuencia del registro que contiene, como un seqlock por slot:
+ * el escritor la invalida antes de tocar el slot y la publica al final; el
+ * lector copia el registro y lo descarta si la secuencia cambió mientras
+ * tanto (ese registro ya fue sobrescrito).
+ */
+public class KernelEventLog {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // Tipos de registro
+    public static final int CONTEXT_SWITCH = 1; // a=CPU
+    public static final int IO_REQUEST = 2;     // a=ticks de servicio (-1 si lo decide un evento externo)
+    public static final int IO_COMPLETE = 3;    // a=1 si terminó estando suspendido
+    public static final int INTERRUPT = 4;      // a=costo del ISR en ticks, b=latencia
+    public static final int POLICY_SWITCH = 5;  // a=ordinal de la política nueva, b=quantum
+    public static final int DEADLINE_MISS = 6;  // a=deadline
+    public static final int SWAP_OUT = 7;       // a=ordinal del estado nuevo (READY_/BLOCKED_SUSPENDED)
+    public static final int SWAP_IN = 8;        // a=ordinal del estado al volver
+    public static final int JOB_LIMIT = 9;      // a=límite global de jobs periódicos
+
+    private static final SchedulingPolicy[] POLICIES = SchedulingPolicy.values();
+    private static final ProcessState[] STATES = ProcessState.values();
+
+    /** Copia de un registro para el lector; se reutiliza entre lecturas. */
+    public static final class Record {
+        private long sequence;
+        private long tick;
+        private int type;
+        private int pid;
+        private long a;
+        private long b;
+
+        public long getSequence() { return sequence; }
+        public long getTick() { return tick; }
+        public int getType() { return type; }
+        public int getPid() { return pid; }
+        public long getA() { return a; }
+        public long getB() { return b; }
+
+        /** Texto del registro (arma un String: solo para lectores). */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(64);
+            describe(tick, type, pid, a, b, sb);
+            return sb.toString();
+        }
+    }
+
+    private final int mask;
+    private final long[] ticks;
+    private final byte[] types;
+    private final int[] pids;
+    private final long[] argA;
+    private final long[] argB;
+    private final AtomicLongArray stamps; // secuencia del registro en cada slot (-1 = en escritura)
+    private final AtomicLong written = new AtomicLong(); // registros escritos desde el inicio
+
+    public KernelEventLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /** @param capacity registros guardados (se redondea a potencia de 2) */
+    public KernelEventLog(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be in [1, 2^30]");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        this.mask = size - 1;
+        this.ticks = new long[size];
+        this.types = new byte[size];
+        this.pids = new int[size];
+        this.argA = new long[size];
+        this.argB = new long[size];
+        this.stamps = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) stamps.lazySet(i, -1);
+    }
+
+    // --- Escritura (solo el hilo del kernel) ---
+
+    public void record(long tick, int type, int pid, long a, long b) {
+        long seq = written.getPlain();
+        int i = (int) seq & mask;
+        stamps.lazySet(i, -1);
+        VarHandle.storeStoreFence(); // la invalidación se ve antes que los datos nuevos
+        ticks[i] = tick;
+        types[i] = (byte) type;
+        pids[i] = pid;
+        argA[i] = a;
+        argB[i] = b;
+        stamps.lazySet(i, seq);
+        written.lazySet(seq + 1);
+    }
+
+    // --- Lectura (cualquier hilo) ---
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /** Registros escritos desde el inicio (la secuencia del próximo). */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /** Secuencia del registro más viejo que sigue en el anillo. */
+    public long getOldest() {
+        return Math.max(0, written.get() - (mask + 1));
+    }
+
+    /** Registros perdidos por sobrescritura (los más viejos). */
+    public long getDropped() {
+        return getOldest();
+    }
+
+    /**
+     * Copia el registro seq en out.
+     *
+     * @return false si seq todavía no se escribió o ya fue sobrescrito
+     */
+    public boolean read(long seq, Record out) {
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null");
+        }
+        long w = written.get();
+        if (seq < 0 || seq >= w || seq < w - (mask + 1)) return false;
+        int i = (int) seq & mask;
+        if (stamps.get(i) != seq) return false;
+        out.sequence = seq;
+        out.tick = ticks[i];
+        out.type = types[i];
+        out.pid = pids[i];
+        out.a = argA[i];
+        out.b = argB[i];
+        VarHandle.acquireFence();
+        return stamps.get(i) == seq;
+    }
+
+    /**
+     * Agrega a out una línea por registro desde fromSeq (o desde el más viejo
+     * si ese ya se perdió), hasta maxRecords registros.
+     *
+     * @return secuencia siguiente a la última formateada (para seguir leyendo)
+     */
+    public long formatRange(long fromSeq, int maxRecords, StringBuilder out) {
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null");
+        }
+        Record scratch = new Record();
+        long seq = Math.max(fromSeq, getOldest());
+        long end = Math.min(written.get(), seq + Math.max(0, maxRecords));
+        for (; seq < end; seq++) {
+            if (!read(seq, scratch)) continue; // sobrescrito mientras se leía
+            describe(scratch.tick, scratch.type, scratch.pid, scratch.a, scratch.b, out);
+            out.append('\n');
+        }
+        return seq;
+    }
+
+    /** Agrega a out el texto del registro seq; false si ya no está. */
+    public boolean format(long seq, StringBuilder out) {
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null");
+        }
+        Record scratch = new Record();
+        if (!read(seq, scratch)) return false;
+        describe(scratch.tick, scratch.type, scratch.pid, scratch.a, scratch.b, out);
+        return true;
+    }
+
+    /** Línea de log de un registro (los textos de §9, §10, §11, §14 y §15). */
+    public static void describe(long tick, int type, int pid, long a, long b, StringBuilder out) {
+        out.append("[t=").append(tick).append("] ");
+        switch (type) {
+            case CONTEXT_SWITCH -> out.append("Cambio de contexto: proceso ").append(pid)
+                    .append(" en CPU ").append(a);
+            case IO_REQUEST -> {
+                out.append("Proceso ").append(pid).append(" bloqueado por I/O");
+                if (a >= 0) out.append(" (").append(a).append(" ticks)");
+                else out.append(" (solicitud externa)");
+            }
+            case IO_COMPLETE -> {
+                out.append("I/O completada para proceso ").append(pid);
+                if (a == 1) out.append(" (suspendido)");
+            }
+            case INTERRUPT -> out.append("Interrupción detectada; latencia ").append(b)
+                    .append(" ticks; servicio ").append(a).append(" ticks");
+            case POLICY_SWITCH -> out.append("Cambio de política a ").append(POLICIES[(int) a].name())
+                    .append(" (quantum ").append(b).append("); READY reordenada");
+            case DEADLINE_MISS -> out.append("Deadline miss: proceso ").append(pid)
+                    .append(" (deadline ").append(a).append(')');
+            case SWAP_OUT -> out.append("Proceso ").append(pid).append(" movido a ").append(STATES[(int) a].name());
+            case SWAP_IN -> out.append("Proceso ").append(pid).append(" reanudado desde SUSPENDED (")
+                    .append(STATES[(int) a].name()).append(')');
+            case JOB_LIMIT -> out.append("Límite de jobs periódicos alcanzado (").append(a)
+                    .append("); no se liberan más");
+            default -> out.append("Evento ").append(type).append(" pid=").append(pid)
+                    .append(" a=").append(a).append(" b=").append(b);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+/*
+ * KernelEventType.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+/** Tipos de evento que los hilos externos publican hacia el kernel (§18). */
+public enum KernelEventType {
+    IO_REQUEST,
+    IO_COMPLETE,
+    INTERRUPT,
+    CREATE_PROCESS,
+    POLICY_CHANGE
+}
@@ -0,0 +1,244 @@
+/*
+ * KernelProfiler.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import ve.edu.unimet.so.proyecto1.datastructures.LogHistogram;
+
+/**
+ * Instrumentación opcional del ciclo del kernel: cuánto tarda cada fase de
+ * executeOneCycle() y las operaciones de planificación que llama.
+ *
+ * - Cada fase tiene un LogHistogram (buckets potencia de 2, sin asignar
+ *   memoria al registrar).
+ * - Contadores: cambios de contexto, preempciones por motivo, ticks ociosos
+ *   y el máximo largo visto de cada cola READY.
+ *
+ * Apagado por defecto. Apagado, el kernel solo lee el flag una vez por tick
+ * y no llama a System.nanoTime(). Se prende y apaga en caliente con
+ * setEnabled(), también desde JMX tras register().
+ *
+ * Lo escribe solo el hilo del kernel; los lectores (JMX, GUI) ven valores
+ * aproximados mientras corre, y reset() con el kernel corriendo puede
+ * perder algunos registros de ese tick.
+ */
+public class KernelProfiler implements KernelProfilerMBean {
+
+    public static final String DOMAIN = "ve.edu.unimet.so.proyecto1";
+
+    // Fases
+    public static final int CYCLE = 0;         // executeOneCycle() completo
+    public static final int ADMISSION = 1;     // llegadas, jobs periódicos y admisión
+    public static final int EVENTS = 2;        // lote de eventos externos
+    public static final int TIMERS = 3;        // fines de I/O y deadlines vencidas
+    public static final int DISPATCH = 4;      // carga de CPUs libres y preempciones
+    public static final int PREEMPT_CHECK = 5; // shouldPreempt()
+    public static final int SCHEDULE = 6;      // scheduleNextProcess()
+    public static final int PREEMPT = 7;       // preemptCurrentProcess()
+    public static final int EXECUTE = 8;       // ProcessExecutor.run()
+    public static final int TERMINATE = 9;     // terminateProcess()
+    public static final int POLICY_SWITCH = 10; // setAlgorithm(): reordenar READY
+    public static final int PHASE_COUNT = 11;
+
+    private static final String[] PHASE_NAMES = {
+        "cycle", "admission", "events", "timers", "dispatch", "preemptCheck",
+        "schedule", "preempt", "execute", "terminate", "policySwitch"
+    };
+
+    private volatile boolean enabled;
+    private final LogHistogram[] phases = new LogHistogram[PHASE_COUNT];
+    private final long[] preemptions = new long[TraceWriter.REASON_EARLIER_DEADLINE + 1]; // por REASON_*
+    private final int[] readyHighWater;
+    private int totalReadyHighWater;
+    private long contextSwitches;
+    private long idleTicks;
+    private long lastPolicySwitchNanos;
+    private ObjectName registeredName;
+
+    /** @param readyQueues cantidad de colas READY del kernel */
+    public KernelProfiler(int readyQueues) {
+        if (readyQueues <= 0) {
+            throw new IllegalArgumentException("readyQueues must be > 0");
+        }
+        for (int i = 0; i < PHASE_COUNT; i++) phases[i] = new LogHistogram();
+        this.readyHighWater = new int[readyQueues];
+    }
+
+    // --- Registro (solo el hilo del kernel) ---
+
+    public void record(int phase, long nanos) {
+        phases[phase].record(nanos);
+        if (phase == POLICY_SWITCH) lastPolicySwitchNanos = nanos;
+    }
+
+    public void countContextSwitch() {
+        contextSwitches++;
+    }
+
+    /** @param reason TraceWriter.REASON_QUANTUM / _SHORTER_REMAINING / ... */
+    public void countPreemption(int reason) {
+        preemptions[reason]++;
+    }
+
+    public void countIdle(long ticks) {
+        idleTicks += ticks;
+    }
+
+    public void observeReady(int queue, int length) {
+        if (length > readyHighWater[queue]) readyHighWater[queue] = length;
+    }
+
+    public void observeTotalReady(int length) {
+        if (length > totalReadyHighWater) totalReadyHighWater = length;
+    }
+
+    public LogHistogram getPhase(int phase) {
+        return phases[phase];
+    }
+
+    // --- JMX ---
+
+    /**
+     * Registra el profiler en el MBeanServer de la plataforma como
+     * DOMAIN:type=KernelProfiler,name=name (un nombre por kernel).
+     */
+    public synchronized ObjectName register(String name) throws JMException {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("name cannot be empty");
+        }
+        if (registeredName != null) {
+            throw new IllegalStateException("profiler already registered as " + registeredName);
+        }
+        ObjectName on = new ObjectName(DOMAIN + ":type=KernelProfiler,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+        registeredName = on;
+        return on;
+    }
+
+    public synchronized void unregister() throws JMException {
+        if (registeredName == null) return;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(registeredName)) server.unregisterMBean(registeredName);
+        registeredName = null;
+    }
+
+    public synchronized ObjectName getRegisteredName() {
+        return registeredName;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        for (LogHistogram h : phases) h.clear();
+        for (int i = 0; i < preemptions.length; i++) preemptions[i] = 0;
+        for (int i = 0; i < readyHighWater.length; i++) readyHighWater[i] = 0;
+        totalReadyHighWater = 0;
+        contextSwitches = 0;
+        idleTicks = 0;
+        lastPolicySwitchNanos = 0;
+    }
+
+    @Override public long getCycles() { return phases[CYCLE].getCount(); }
+    @Override public long getContextSwitches() { return contextSwitches; }
+    @Override public long getIdleTicks() { return idleTicks; }
+    @Override public long getPreemptionsByQuantum() { return preemptions[TraceWriter.REASON_QUANTUM]; }
+    @Override public long getPreemptionsByShorterRemaining() { return preemptions[TraceWriter.REASON_SHORTER_REMAINING]; }
+    @Override public long getPreemptionsByHigherPriority() { return preemptions[TraceWriter.REASON_HIGHER_PRIORITY]; }
+    @Override public long getPreemptionsByEarlierDeadline() { return preemptions[TraceWriter.REASON_EARLIER_DEADLINE]; }
+    @Override public int getReadyHighWater() { return totalReadyHighWater; }
+    @Override public int[] getReadyHighWaterByQueue() { return readyHighWater.clone(); }
+    @Override public long getLastPolicySwitchNanos() { return lastPolicySwitchNanos; }
+
+    @Override
+    public String[] getPhaseNames() {
+        return PHASE_NAMES.clone();
+    }
+
+    @Override
+    public long[] getPhaseCounts() {
+        long[] out = new long[PHASE_COUNT];
+        for (int i = 0; i < PHASE_COUNT; i++) out[i] = phases[i].getCount();
+        return out;
+    }
+
+    @Override
+    public double[] getPhaseMeanNanos() {
+        double[] out = new double[PHASE_COUNT];
+        for (int i = 0; i < PHASE_COUNT; i++) out[i] = phases[i].getMean();
+        return out;
+    }
+
+    @Override
+    public long[] getPhaseP50Nanos() {
+        return percentiles(0.50);
+    }
+
+    @Override
+    public long[] getPhaseP99Nanos() {
+        return percentiles(0.99);
+    }
+
+    @Override
+    public long[] getPhaseMaxNanos() {
+        long[] out = new long[PHASE_COUNT];
+        for (int i = 0; i < PHASE_COUNT; i++) out[i] = phases[i].getMax();
+        return out;
+    }
+
+    @Override
+    public long[] getPhaseHistogram(String phase) {
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            if (PHASE_NAMES[i].equals(phase)) {
+                long[] out = new long[LogHistogram.BUCKETS];
+                phases[i].copyBuckets(out);
+                return out;
+            }
+        }
+        throw new IllegalArgumentException("unknown phase: " + phase);
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append(String.format("%-13s %10s %10s %10s %10s %10s%n", "fase", "n", "media ns", "p50 ns", "p99 ns",
+                "max ns"));
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            LogHistogram h = phases[i];
+            sb.append(String.format("%-13s %10d %10.1f %10d %10d %10d%n", PHASE_NAMES[i], h.getCount(), h.getMean(),
+                    h.percentile(0.50), h.percentile(0.99), h.getMax()));
+        }
+        sb.append("cambios de contexto: ").append(contextSwitches)
+                .append("  ticks ociosos: ").append(idleTicks).append('\n');
+        sb.append("preempciones: quantum=").append(getPreemptionsByQuantum())
+                .append(" srt=").append(getPreemptionsByShorterRemaining())
+                .append(" prioridad=").append(getPreemptionsByHigherPriority())
+                .append(" edf=").append(getPreemptionsByEarlierDeadline()).append('\n');
+        sb.append("máximo READY: ").append(totalReadyHighWater);
+        if (readyHighWater.length > 1) {
+            sb.append(" (por cola:");
+            for (int hw : readyHighWater) sb.append(' ').append(hw);
+            sb.append(')');
+        }
+        sb.append('\n');
+        return sb.toString();
+    }
+
+    private long[] percentiles(double p) {
+        long[] out = new long[PHASE_COUNT];
+        for (int i = 0; i < PHASE_COUNT; i++) out[i] = phases[i].percentile(p);
+        return out;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * KernelProfilerMBean.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+/**
+ * Interfaz JMX de KernelProfiler (jconsole / VisualVM: dominio
+ * ve.edu.unimet.so.proyecto1, type=KernelProfiler). Los tiempos son en
+ * nanosegundos; los arreglos por fase siguen el orden de getPhaseNames().
+ */
+public interface KernelProfilerMBean {
+
+    boolean isEnabled();
+    void setEnabled(boolean enabled);
+    /** Pone en cero histogramas y contadores. */
+    void reset();
+
+    long getCycles();
+    long getContextSwitches();
+    long getIdleTicks();
+    long getPreemptionsByQuantum();
+    long getPreemptionsByShorterRemaining();
+    long getPreemptionsByHigherPriority();
+    long getPreemptionsByEarlierDeadline();
+    /** Mayor largo de READY visto (suma de todas las colas). */
+    int getReadyHighWater();
+    /** Mayor largo visto de cada cola READY (una en GLOBAL, una por CPU en PARTITIONED). */
+    int[] getReadyHighWaterByQueue();
+    long getLastPolicySwitchNanos();
+
+    String[] getPhaseNames();
+    long[] getPhaseCounts();
+    double[] getPhaseMeanNanos();
+    long[] getPhaseP50Nanos();
+    long[] getPhaseP99Nanos();
+    long[] getPhaseMaxNanos();
+    /** Conteos por bucket de la fase (bucket b: [2^(b-1), 2^b - 1] ns). */
+    long[] getPhaseHistogram(String phase);
+    /** Tabla de texto con todo lo anterior. */
+    String getReport();
+}
@@ -0,0 +1,258 @@
+/*
+ * KernelSnapshotPublisher.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.lang.invoke.VarHandle;
+import ve.edu.unimet.so.proyecto1.datastructures.RingQueue;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+
+/**
+ * Publica vistas consistentes de las colas del kernel para la GUI y la
+ * telemetría sin kernelLock.
+ *
+ * El hilo del reloj llama publish(); hay dos frames con arreglos PCB[]
+ * reutilizables y se escribe siempre en el que no está publicado. Solo se
+ * vuelve a copiar una cola si su version() cambió desde la última vez que se
+ * copió en ese frame, así un tick que no toca Blocked/Terminated no copia
+ * esas listas. Con varias colas READY (modo particionado) se recopian todas
+ * juntas si cualquiera cambió.
+ *
+ * Los lectores usan read(View) tipo seqlock: copian el frame publicado a su
+ * propia View y reintentan si el escritor lo tocó mientras tanto. Nunca
+ * bloquean al reloj. Los PCB son los objetos vivos: la vista garantiza qué
+ * procesos hay en cada cola, no sus contadores internos. Con el historial
+ * de terminados acotado, un job que ya salió del historial puede verse
+ * reciclado como otro job hasta el próximo publish().
+ */
+public class KernelSnapshotPublisher {
+
+    /** Copia del lector; se reutiliza entre lecturas (solo crece). */
+    public static final class View {
+        private long sequence;
+        private long tick;
+        private PCB[] running = new PCB[1];
+        private int cpuCount;
+        private SchedulingPolicy policy;
+        private PCB[] ready = new PCB[16];
+        private int readyCount;
+        private PCB[] blocked = new PCB[16];
+        private int blockedCount;
+        private PCB[] terminated = new PCB[16];
+        private int terminatedCount;
+
+        /** Número de publicación leída (0 = nada publicado todavía). */
+        public long getSequence() { return sequence; }
+        public long getTick() { return tick; }
+        /** Proceso en la CPU 0. */
+        public PCB getRunning() { return cpuCount == 0 ? null : running[0]; }
+        public PCB getRunning(int cpu) { return at(running, cpuCount, cpu); }
+        public int getCpuCount() { return cpuCount; }
+        public SchedulingPolicy getPolicy() { return policy; }
+        public int getReadyCount() { return readyCount; }
+        public int getBlockedCount() { return blockedCount; }
+        public int getTerminatedCount() { return terminatedCount; }
+
+        /**
+         * i-ésimo listo, cola por cola (en modo particionado, la de la CPU 0
+         * primero): FIFO para FCFS/RR; para las otras políticas el orden
+         * dentro de cada cola es el del heap.
+         */
+        public PCB getReady(int i) { return at(ready, readyCount, i); }
+        public PCB getBlocked(int i) { return at(blocked, blockedCount, i); }
+        public PCB getTerminated(int i) { return at(terminated, terminatedCount, i); }
+
+        private static PCB at(PCB[] array, int count, int i) {
+            if (i < 0 || i >= count) {
+                throw new IndexOutOfBoundsException("index=" + i + ", size=" + count);
+            }
+            return array[i];
+        }
+    }
+
+    /** Buffer del lado del escritor. */
+    private static final class Frame {
+        volatile long seq; // impar = escritura en curso
+
+        long sequence;
+        long tick;
+        PCB[] running = new PCB[1];
+        int cpuCount;
+        SchedulingPolicy policy;
+
+        PCB[] ready = new PCB[16];
+        int readyCount;
+        Object[] readySources = new Object[0]; // cada cola READY
+        int[] readyVersions = new int[0];
+
+        PCB[] blocked = new PCB[16];
+        int blockedCount;
+        Object blockedSource;
+        int blockedVersion;
+
+        PCB[] terminated = new PCB[16];
+        int terminatedCount;
+        Object terminatedSource;
+        int terminatedVersion;
+    }
+
+    private final Frame[] frames = { new Frame(), new Frame() };
+    private volatile Frame published; // null hasta el primer publish()
+    private long publishCount;
+    private long queueCopies;
+    private PCB[] scratch = new PCB[16]; // solo del escritor
+
+    /**
+     * Publica el estado actual. Solo desde el hilo del kernel.
+     * Cada estructura se identifica por referencia + version().
+     */
+    void publish(long tick, PCB[] running, SchedulingPolicy policy, ReadyQueue[] readyQueues,
+            RowQueue blocked, RingQueue<PCB> terminated) {
+        Frame f = frames[published == frames[0] ? 1 : 0];
+        f.seq++;
+        VarHandle.storeStoreFence();
+
+        f.sequence = ++publishCount;
+        f.tick = tick;
+        if (f.running.length < running.length) f.running = new PCB[running.length];
+        System.arraycopy(running, 0, f.running, 0, running.length);
+        f.cpuCount = running.length;
+        f.policy = policy;
+
+        if (readyChanged(f, readyQueues)) {
+            int n = 0;
+            for (ReadyQueue q : readyQueues) n += q.size();
+            if (f.ready.length < n) f.ready = new PCB[grow(f.ready.length, n)];
+            int k = 0;
+            for (ReadyQueue q : readyQueues) {
+                k = append(f.ready, k, q);
+            }
+            clearTail(f.ready, k, f.readyCount);
+            f.readyCount = k;
+            if (f.readySources.length != readyQueues.length) {
+                f.readySources = new Object[readyQueues.length];
+                f.readyVersions = new int[readyQueues.length];
+            }
+            for (int i = 0; i < readyQueues.length; i++) {
+                f.readySources[i] = readyQueues[i];
+                f.readyVersions[i] = readyQueues[i].version();
+            }
+            queueCopies++;
+        }
+
+        if (f.blockedSource != blocked || f.blockedVersion != blocked.version()) {
+            if (f.blocked.length < blocked.size()) f.blocked = new PCB[grow(f.blocked.length, blocked.size())];
+            int k = blocked.copyInto(f.blocked);
+            clearTail(f.blocked, k, f.blockedCount);
+            f.blockedCount = k;
+            f.blockedSource = blocked;
+            f.blockedVersion = blocked.version();
+            queueCopies++;
+        }
+
+        if (f.terminatedSource != terminated || f.terminatedVersion != terminated.version()) {
+            if (f.terminated.length < terminated.size()) {
+                f.terminated = new PCB[grow(f.terminated.length, terminated.size())];
+            }
+            int k = terminated.copyInto(f.terminated);
+            clearTail(f.terminated, k, f.terminatedCount);
+            f.terminatedCount = k;
+            f.terminatedSource = terminated;
+            f.terminatedVersion = terminated.version();
+            queueCopies++;
+        }
+
+        f.seq++; // escritura volátil: publica todo lo anterior
+        published = f;
+    }
+
+    /**
+     * Copia la última publicación en view. Nunca bloquea al escritor: si el
+     * frame cambió durante la copia, reintenta.
+     *
+     * @return false si todavía no se ha publicado nada
+     */
+    public boolean read(View view) {
+        if (view == null) {
+            throw new IllegalArgumentException("view cannot be null");
+        }
+        while (true) {
+            Frame f = published;
+            if (f == null) return false;
+            long s = f.seq;
+            if ((s & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            view.sequence = f.sequence;
+            view.tick = f.tick;
+            int cpus = Math.min(f.cpuCount, f.running.length);
+            view.running = copy(f.running, cpus, view.running);
+            view.cpuCount = cpus;
+            view.policy = f.policy;
+            PCB[] src = f.ready;
+            int n = Math.min(f.readyCount, src.length);
+            view.ready = copy(src, n, view.ready);
+            view.readyCount = n;
+            src = f.blocked;
+            n = Math.min(f.blockedCount, src.length);
+            view.blocked = copy(src, n, view.blocked);
+            view.blockedCount = n;
+            src = f.terminated;
+            n = Math.min(f.terminatedCount, src.length);
+            view.terminated = copy(src, n, view.terminated);
+            view.terminatedCount = n;
+            VarHandle.acquireFence();
+            if (f.seq == s) return true;
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Publicaciones hechas hasta ahora. */
+    public long getPublishCount() {
+        return publishCount;
+    }
+
+    /** Colas realmente copiadas (las que no cambiaron no cuentan). */
+    public long getQueueCopies() {
+        return queueCopies;
+    }
+
+    /** Copia la cola en dest[k..] y devuelve el nuevo k. */
+    private int append(PCB[] dest, int k, ReadyQueue q) {
+        if (q.isEmpty()) return k;
+        if (k == 0) return q.copyInto(dest);
+        if (scratch.length < q.size()) scratch = new PCB[grow(scratch.length, q.size())];
+        int m = q.copyInto(scratch);
+        System.arraycopy(scratch, 0, dest, k, m);
+        return k + m;
+    }
+
+    private static boolean readyChanged(Frame f, ReadyQueue[] readyQueues) {
+        if (f.readySources.length != readyQueues.length) return true;
+        for (int i = 0; i < readyQueues.length; i++) {
+            ReadyQueue q = readyQueues[i];
+            if (f.readySources[i] != q || f.readyVersions[i] != q.version()) return true;
+        }
+        return false;
+    }
+
+    // La lectura es optimista: si hubo carrera el seq no cuadra y read() reintenta
+    private static PCB[] copy(PCB[] src, int n, PCB[] dest) {
+        if (dest.length < n) dest = new PCB[grow(dest.length, n)];
+        System.arraycopy(src, 0, dest, 0, n);
+        return dest;
+    }
+
+    private static void clearTail(PCB[] array, int from, int oldCount) {
+        for (int i = from; i < oldCount && i < array.length; i++) {
+            array[i] = null;
+        }
+    }
+
+    private static int grow(int current, int needed) {
+        int n = Math.max(current, 16);
+        while (n < needed) n *= 2;
+        return n;
+    }
+}
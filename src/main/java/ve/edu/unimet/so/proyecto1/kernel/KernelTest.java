@@ -0,0 +1,393 @@
+/*
+ * KernelTest.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+import ve.edu.unimet.so.proyecto1.models.PeriodicTaskTemplate;
+import ve.edu.unimet.so.proyecto1.models.ProcessState;
+
+/**
+ * Pruebas del kernel con el mismo arnés que DataStructuresTest (se corren
+ * desde Project1OS.main): escenarios chicos con resultado conocido.
+ */
+public class KernelTest {
+
+    // Variantes de la prueba diferencial (todas deben dar lo mismo que TICK)
+    private static final int TICK = 0;        // executeOneCycle() uno por uno
+    private static final int RUN_UNTIL = 1;   // saltos por eventos
+    private static final int CHECKPOINT = 2;  // tick a tick, guardar y restaurar a mitad
+    private static final int THREADS = 3;     // tick a tick con VirtualThreadExecutor
+    private static final String[] VARIANT_NAMES = {"tick", "runUntil", "checkpoint", "threads"};
+    private static final long DIFF_END = 1500;
+    private static final long DIFF_SPLIT = 400;
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    public static void runAll() {
+        testsRun = 0;
+        testsPassed = 0;
+        testExternalIoCompleteCancelsWheelEntry();
+        testRecycledJobIgnoresOldWheelEntry();
+        testExecutorAcceptsDuplicateAndNegativePids();
+        testDifferentialRuns();
+        testTraceReplayWithDuplicateAndNegativePids();
+        testCsvWorkloadRejectsBadInput();
+        testInboxDrainOrder();
+        testCheckpointRestoreKeepsJobNamesAndLog();
+        testSwapOutAndWakeKeepBlockedOrder();
+        System.out.println("OK: " + testsPassed + "/" + testsRun + " kernel tests passed.");
+    }
+
+    private static void testExternalIoCompleteCancelsWheelEntry() {
+        OperatingSystem os = new OperatingSystem(5);
+        PCB p = new PCB(0, "P", 50, 1, 0, 1000, 2, 20);
+        os.addProcess(p);
+        KernelEventInbox.Producer producer = os.getEventInbox().newProducer();
+
+        runTo(os, 2);
+        expect(p.getState() == ProcessState.BLOCKED, "process blocks on its own I/O at tick 2");
+        producer.ioComplete(0);
+        runTo(os, 4);
+        expect(p.getState() == ProcessState.RUNNING, "external IO_COMPLETE wakes it early");
+        producer.ioRequest(0);
+        runTo(os, 6);
+        expect(p.getState() == ProcessState.BLOCKED, "external IO_REQUEST blocks it again");
+        runTo(os, 40);
+        expect(p.getState() == ProcessState.BLOCKED, "old wheel entry (tick 22) does not wake it");
+        producer.ioComplete(0);
+        runTo(os, 41);
+        expect(p.getState() == ProcessState.RUNNING, "next IO_COMPLETE wakes it");
+    }
+
+    private static void testRecycledJobIgnoresOldWheelEntry() {
+        OperatingSystem os = new OperatingSystem(5);
+        os.setTerminatedHistoryLimit(0); // cada job terminado vuelve al pool enseguida
+        PeriodicTaskTemplate a = new PeriodicTaskTemplate("A", 5, 100, 100, 1, 1);
+        a.setIoPattern(2, 20);
+        PeriodicTaskTemplate b = new PeriodicTaskTemplate("B", 5, 100, 100, 1, 10);
+        b.setIoPattern(2, 30);
+        expect(os.addPeriodicTask(a) == AdmissionControl.Decision.ACCEPTED, "template A admitted");
+        expect(os.addPeriodicTask(b) == AdmissionControl.Decision.ACCEPTED, "template B admitted");
+        KernelEventInbox.Producer producer = os.getEventInbox().newProducer();
+
+        runTo(os, 1);
+        PCB jobA = os.getRunning(0);
+        expect(jobA != null && jobA.getName().startsWith("A"), "A#0 runs at tick 1");
+        runTo(os, 2);
+        expect(jobA.getState() == ProcessState.BLOCKED, "A#0 blocks on I/O at tick 2 (entry at 22)");
+        producer.ioComplete(jobA.getPid());
+        runTo(os, 9);
+        expect(jobA.getState() == ProcessState.TERMINATED, "A#0 wakes early and terminates");
+        runTo(os, 11);
+        expect(os.getPcbPool().getReused() == 1, "B#0 reuses A#0's PCB");
+        expect(jobA.getName().startsWith("B") && jobA.getState() == ProcessState.BLOCKED, "B#0 blocks at tick 11");
+        runTo(os, 40);
+        expect(jobA.getState() == ProcessState.BLOCKED, "A#0's old entry (tick 22) does not wake B#0");
+        runTo(os, 41);
+        expect(jobA.getState() == ProcessState.RUNNING, "B#0 wakes at its own completion (tick 41)");
+    }
+
+    private static void testExecutorAcceptsDuplicateAndNegativePids() {
+        long[] inline = runPidClash(ProcessExecutor.INLINE);
+        VirtualThreadExecutor executor = new VirtualThreadExecutor();
+        long[] threaded = runPidClash(executor);
+        expect(executor.getLiveThreads() == 0, "every process thread is retired");
+        executor.close();
+        boolean same = true;
+        for (int i = 0; i < inline.length; i++) same &= inline[i] == threaded[i];
+        expect(same, "duplicate and negative pids finish at the same ticks with either executor");
+    }
+
+    /** Dos CPUs, dos PCBs con el mismo pid y uno con pid negativo; devuelve los ticks de fin. */
+    private static long[] runPidClash(ProcessExecutor executor) {
+        OperatingSystem os = new OperatingSystem(5, 2, SmpMode.GLOBAL);
+        os.setProcessExecutor(executor);
+        PCB[] ps = {
+            new PCB(7, "A", 12, 1, 0, 1000, -1, 0),
+            new PCB(7, "B", 9, 1, 0, 1000, -1, 0),
+            new PCB(-3, "C", 6, 1, 0, 1000, -1, 0)
+        };
+        for (PCB p : ps) os.addProcess(p);
+        runTo(os, 60);
+        long[] finish = new long[ps.length];
+        for (int i = 0; i < ps.length; i++) finish[i] = ps[i].getFinishTick();
+        return finish;
+    }
+
+    /**
+     * La misma carga (generada con semilla, con I/O, más una plantilla
+     * periódica con I/O) por cada política, con 1 CPU, 2 CPUs globales y 3
+     * particionadas: saltar con runUntil, restaurar un checkpoint o correr en
+     * hilos virtuales no debe cambiar las métricas ni los terminados.
+     */
+    private static void testDifferentialRuns() {
+        int[] mismatches = new int[VARIANT_NAMES.length];
+        int cases = 0;
+        for (SchedulingPolicy policy : SchedulingPolicy.values()) {
+            for (int cpus = 1; cpus <= 3; cpus++) {
+                SmpMode mode = cpus == 3 ? SmpMode.PARTITIONED : SmpMode.GLOBAL;
+                for (long seed = 1; seed <= 2; seed++) {
+                    cases++;
+                    String reference = runDifferential(seed, cpus, mode, policy, TICK);
+                    for (int v = RUN_UNTIL; v <= THREADS; v++) {
+                        String result = runDifferential(seed, cpus, mode, policy, v);
+                        if (!result.equals(reference)) {
+                            mismatches[v]++;
+                            System.out.println("mismatch: " + VARIANT_NAMES[v] + " " + policy + " cpus=" + cpus
+                                    + " seed=" + seed);
+                        }
+                    }
+                }
+            }
+        }
+        for (int v = RUN_UNTIL; v <= THREADS; v++) {
+            expect(mismatches[v] == 0, VARIANT_NAMES[v] + " matches tick-by-tick in " + cases + " runs");
+        }
+    }
+
+    private static String runDifferential(long seed, int cpus, SmpMode mode, SchedulingPolicy policy, int variant) {
+        OperatingSystem os = new OperatingSystem(3, cpus, mode);
+        os.setAlgorithm(policy);
+        WorkloadGenerator generator = new WorkloadGenerator(seed, 120, 12, 16, 9, 80, 40, 20);
+        os.setWorkloadSource(generator.stream());
+        PeriodicTaskTemplate periodic = new PeriodicTaskTemplate("T", 3, 40, 40, 5, 2);
+        periodic.setIoPattern(2, 6);
+        os.addPeriodicTask(periodic);
+        VirtualThreadExecutor executor = null;
+        if (variant == THREADS) {
+            executor = new VirtualThreadExecutor();
+            os.setProcessExecutor(executor);
+        }
+
+        if (variant == RUN_UNTIL) {
+            os.runUntil(DIFF_SPLIT);
+            os.runUntil(DIFF_END);
+        } else {
+            while (os.getGlobalTick() < DIFF_END) {
+                if (variant == CHECKPOINT && os.getGlobalTick() == DIFF_SPLIT) {
+                    os = checkpointAndRestore(os);
+                    os.resumeWorkloadSource(generator.stream());
+                }
+                os.executeOneCycle();
+            }
+        }
+        if (executor != null) executor.close();
+        return fingerprint(os);
+    }
+
+    private static void testCheckpointRestoreKeepsJobNamesAndLog() {
+        OperatingSystem os = new OperatingSystem(3, 1, SmpMode.GLOBAL);
+        os.setAlgorithm(SchedulingPolicy.EDF);
+        os.addPeriodicTask(new PeriodicTaskTemplate("T", 3, 20, 20, 5, 3));
+        os.runUntil(50);
+        String before = terminatedNames(os);
+
+        OperatingSystem restored = checkpointAndRestore(os);
+        expect(restored.getPolicy() == SchedulingPolicy.EDF, "restore keeps the policy");
+        expect(restored.getEventLog().getWritten() == 0, "restore logs no policy switch");
+        expect(!before.isEmpty() && before.equals(terminatedNames(restored)), "restore keeps job names: " + before);
+    }
+
+    private static String terminatedNames(OperatingSystem os) {
+        StringBuilder sb = new StringBuilder();
+        for (Object o : os.getTerminatedSnapshot()) {
+            PCB p = (PCB) o;
+            sb.append(p.getName()).append('/').append(p.getBaseName()).append('/').append(p.getJobNumber())
+                    .append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static OperatingSystem checkpointAndRestore(OperatingSystem os) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            KernelCheckpoint.write(os, Channels.newChannel(bytes));
+            return KernelCheckpoint.read(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+        } catch (IOException e) {
+            throw new IllegalStateException("in-memory checkpoint failed", e);
+        }
+    }
+
+    /** Métricas finales, CPUs, largos de cola y datos de cada PCB terminado. */
+    private static String fingerprint(OperatingSystem os) {
+        MetricsEngine.Snapshot m = os.getMetrics().snapshot();
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append(os.getGlobalTick()).append(' ').append(m.userBusyTicks).append(' ').append(m.osBusyTicks)
+                .append(' ').append(m.idleTicks).append(' ').append(m.terminatedCount).append(' ')
+                .append(m.successCount).append(' ').append(m.deadlineMisses).append(' ').append(m.contextSwitches)
+                .append(' ').append(m.migrations).append(' ').append(m.meanWaitingTime).append(' ')
+                .append(m.meanReleaseJitter).append(' ').append(m.maxReleaseJitter).append(';');
+        for (double u : m.perCpuUtilization) sb.append(u).append(',');
+        for (int c = 0; c < os.getCpuCount(); c++) {
+            PCB p = os.getRunning(c);
+            sb.append(p == null ? "-" : p.getPid() + "/" + p.getProgramCounter()).append(' ');
+        }
+        sb.append("r").append(os.getReadyCount()).append(" b").append(os.getBlockedCount()).append(" s")
+                .append(os.getSuspendedCount()).append(';');
+        for (Object o : os.getTerminatedSnapshot()) {
+            PCB p = (PCB) o;
+            sb.append(p.getPid()).append(':').append(p.getFinishTick()).append(':').append(p.getWaitingTime())
+                    .append(':').append(p.isDeadlineMissed()).append(':').append(p.getCpuId()).append(',');
+        }
+        return sb.toString();
+    }
+
+    private static void testTraceReplayWithDuplicateAndNegativePids() {
+        Path file = null;
+        try {
+            file = Files.createTempFile("kernel-test", ".trace");
+            OperatingSystem os = new OperatingSystem(5);
+            PCB a = new PCB(7, "A", 10, 1, 0, 1000, -1, 0);
+            PCB b = new PCB(7, "B", 12, 1, 0, 1000, -1, 0);
+            PCB c = new PCB(-3, "C", 4, 1, 0, 1000, -1, 0);
+            // FCFS: A corre 1..10, B desde 11; la traza tiene keyframes cada 8 registros
+            try (TraceWriter writer = new TraceWriter(file, 8)) {
+                os.startTrace(writer);
+                os.addProcess(a);
+                os.addProcess(b);
+                os.addProcess(c);
+                runTo(os, 15);
+                os.stopTrace();
+            }
+            try (TraceReplay replay = new TraceReplay(file)) {
+                TraceReplay.State early = replay.stateAt(5);
+                expect(early.getRunning() != null && early.getRunning().getPid() == 7
+                        && early.getRunning().getTotalInstructions() == 10, "replay at tick 5 runs the first pid 7 (A)");
+                PCB[] ready = early.getReady();
+                expect(ready.length == 2 && ready[0].getTotalInstructions() == 12 && ready[1].getPid() == -3,
+                        "replay at tick 5 keeps the second pid 7 and pid -3 in READY");
+                TraceReplay.State late = replay.stateAt(15);
+                expect(late.getRunning() != null && late.getRunning().getPid() == 7
+                        && late.getRunning().getTotalInstructions() == 12, "replay at tick 15 runs B");
+                expect(late.getTerminatedCount() == 1 && a.getState() == ProcessState.TERMINATED,
+                        "replay at tick 15 counts A as terminated");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("trace test failed", e);
+        } finally {
+            if (file != null) file.toFile().delete();
+        }
+    }
+
+    private static void testCsvWorkloadRejectsBadInput() {
+        Path file = null;
+        try {
+            file = Files.createTempFile("kernel-test", ".csv");
+            PCB[] one = {new PCB(1, "a,b", 5, 1, 0, 100, -1, 0)};
+            int[] next = {0};
+            WorkloadSource commaName = () -> next[0] < one.length ? one[next[0]++] : null;
+            expect(throwsIllegalArgument(file, commaName), "write rejects a name with ','");
+
+            expect(parses(file, "1,ok,5,1,0,100,-1,0"), "a valid line parses");
+            expect(!parses(file, "-,ok,5,1,0,100,-1,0"), "a bare '-' is not a number");
+            expect(!parses(file, "1,ok,4294967301,1,0,100,-1,0"), "instructions beyond int range are rejected");
+            expect(!parses(file, "1,ok,5,1,0,99999999999999999999,-1,0"), "an overflowing long is rejected");
+            expect(!parses(file, "1,ok,5,1,,100,-1,0"), "an empty number is rejected");
+        } catch (IOException e) {
+            throw new IllegalStateException("csv test failed", e);
+        } finally {
+            if (file != null) file.toFile().delete();
+        }
+    }
+
+    private static boolean throwsIllegalArgument(Path file, WorkloadSource source) throws IOException {
+        try {
+            CsvWorkloadSource.write(file, source);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    /** true si la línea se lee como un trabajo, false si parse la rechaza. */
+    private static boolean parses(Path file, String line) throws IOException {
+        Files.writeString(file, line + "\n");
+        try (CsvWorkloadSource source = new CsvWorkloadSource(file)) {
+            return source.next() != null;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void testInboxDrainOrder() {
+        KernelEventInbox inbox = new KernelEventInbox(1024);
+        KernelEventInbox.Producer[] producers = new KernelEventInbox.Producer[3];
+        for (int i = 0; i < producers.length; i++) producers[i] = inbox.newProducer();
+        // Intercalados al revés del orden de entrega: último productor primero
+        for (int round = 0; round < 300; round++) {
+            for (int i = producers.length - 1; i >= 0; i--) producers[i].ioRequest(round);
+        }
+        int[] lastProducer = {-1};
+        long[] lastSeq = {-1};
+        boolean[] ordered = {true};
+        int drained = inbox.drain(e -> {
+            if (e.getProducerId() < lastProducer[0]
+                    || (e.getProducerId() == lastProducer[0] && e.getProducerSeq() != lastSeq[0] + 1)
+                    || (e.getProducerId() != lastProducer[0] && e.getProducerSeq() != 0)) {
+                ordered[0] = false;
+            }
+            lastProducer[0] = e.getProducerId();
+            lastSeq[0] = e.getProducerSeq();
+        });
+        expect(drained == 900, "inbox drains the whole batch");
+        expect(ordered[0], "inbox delivers by producer, then in publish order");
+    }
+
+    private static void testSwapOutAndWakeKeepBlockedOrder() {
+        // Cuatro procesos se bloquean en su primer ciclo; P4 llega con la memoria llena
+        PCB[] jobs = {
+            new PCB(0, "P0", 50, 1, 0, 1000, 1, 500),
+            new PCB(1, "P1", 50, 1, 0, 4000, 1, 500),
+            new PCB(2, "P2", 50, 1, 0, 2000, 1, 500),
+            new PCB(3, "P3", 50, 1, 0, 3000, 1, 500),
+            new PCB(4, "P4", 50, 1, 20, 500, -1, 0),
+        };
+        int[] next = {0};
+        OperatingSystem os = new OperatingSystem(5);
+        os.setMaxProcessesInMemory(4);
+        os.setWorkloadSource(() -> next[0] < jobs.length ? jobs[next[0]++] : null);
+
+        runTo(os, 10);
+        expect(os.getBlockedCount() == 4, "four processes blocked before P4 arrives");
+        runTo(os, 22);
+        expect(jobs[1].getState() == ProcessState.BLOCKED_SUSPENDED, "least critical blocked process is swapped out");
+        expect(blockedPids(os).equals("0,2,3"), "swap-out keeps the order of the other blocked processes");
+
+        os.getEventInbox().newProducer().ioComplete(2);
+        runTo(os, 23);
+        expect(jobs[2].getState() != ProcessState.BLOCKED, "IO_COMPLETE wakes P2 from the middle of the list");
+        expect(blockedPids(os).equals("0,3"), "wake-up keeps the order of the other blocked processes");
+    }
+
+    private static String blockedPids(OperatingSystem os) {
+        os.publishSnapshot();
+        KernelSnapshotPublisher.View view = new KernelSnapshotPublisher.View();
+        os.getSnapshotPublisher().read(view);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < view.getBlockedCount(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(view.getBlocked(i).getPid());
+        }
+        return sb.toString();
+    }
+
+    private static void runTo(OperatingSystem os, long tick) {
+        while (os.getGlobalTick() < tick) os.executeOneCycle();
+    }
+
+    private static void expect(boolean condition, String message) {
+        testsRun++;
+        if (!condition) {
+            throw new RuntimeException("FAIL: " + message);
+        }
+        testsPassed++;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * MediumTermScheduler.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import ve.edu.unimet.so.proyecto1.datastructures.Compare;
+import ve.edu.unimet.so.proyecto1.datastructures.IndexedMinMaxHeap;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+import ve.edu.unimet.so.proyecto1.models.PcbTable;
+import ve.edu.unimet.so.proyecto1.models.ProcessState;
+
+/**
+ * Planificador de mediano plazo (§9): límite de procesos en memoria y
+ * selección de víctima / candidato para swap.
+ *
+ * Hay un min-max heap por estado (READY, BLOCKED, READY_SUSPENDED,
+ * BLOCKED_SUSPENDED) con el orden de criticidad de §9.4: el mínimo es el más
+ * crítico (candidato a swap-in) y el máximo el menos crítico (víctima de
+ * swap-out). Ambos se leen en O(1); entrar o salir de un estado es O(log n)
+ * usando el handle guardado por la fila del proceso en la PcbTable.
+ *
+ * Las colas reales siguen siendo del OperatingSystem; aquí solo están los
+ * índices. RUNNING nunca se indexa (nunca es víctima) y la clave de un
+ * proceso no cambia mientras está indexado: solo el que está en CPU avanza.
+ * Sin límite (UNLIMITED) los residentes no se indexan y no cuesta nada.
+ */
+public class MediumTermScheduler {
+
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /** §9.4 al revés: más crítico primero. */
+    static final Compare.Comparator<PCB> CRITICALITY_ORDER = (p1, p2) -> {
+        int c = Long.compare(p1.getDeadlineTick(), p2.getDeadlineTick());
+        if (c != 0) return c;
+        c = Integer.compare(p2.getPriority(), p1.getPriority());
+        if (c != 0) return c;
+        c = Integer.compare(p1.getRemainingInstructions(), p2.getRemainingInstructions());
+        if (c != 0) return c;
+        c = Long.compare(p1.getArrivalTick(), p2.getArrivalTick());
+        if (c != 0) return c;
+        return Integer.compare(p1.getPid(), p2.getPid());
+    };
+
+    private final IndexedMinMaxHeap<PCB> ready = new IndexedMinMaxHeap<>(CRITICALITY_ORDER);
+    private final IndexedMinMaxHeap<PCB> blocked = new IndexedMinMaxHeap<>(CRITICALITY_ORDER);
+    private final IndexedMinMaxHeap<PCB> readySuspended = new IndexedMinMaxHeap<>(CRITICALITY_ORDER);
+    private final IndexedMinMaxHeap<PCB> blockedSuspended = new IndexedMinMaxHeap<>(CRITICALITY_ORDER);
+
+    private final PcbTable table;
+    private final RowHandles handles = new RowHandles();
+
+    private int maxProcessesInMemory = UNLIMITED;
+    private long swapOuts;
+    private long swapIns;
+
+    MediumTermScheduler(PcbTable table) {
+        this.table = table;
+    }
+
+    public int getMaxProcessesInMemory() {
+        return maxProcessesInMemory;
+    }
+
+    /**
+     * Cambia el límite. Bajarlo no expulsa a nadie de inmediato: el exceso se
+     * resuelve cuando haga falta memoria para admitir.
+     *
+     * @param indexReady    procesos en READY al momento del cambio
+     * @param indexBlocked  procesos en BLOCKED al momento del cambio
+     */
+    void setMaxProcessesInMemory(int max, Object[] indexReady, Object[] indexBlocked) {
+        if (max <= 0) {
+            throw new IllegalArgumentException("maxProcessesInMemory must be > 0");
+        }
+        boolean wasIndexing = isIndexing();
+        maxProcessesInMemory = max;
+        if (isIndexing() && !wasIndexing) {
+            for (Object p : indexReady) track((PCB) p);
+            for (Object p : indexBlocked) track((PCB) p);
+        } else if (!isIndexing() && wasIndexing) {
+            clearIndex(ready);
+            clearIndex(blocked);
+        }
+    }
+
+    /** true si hay límite y por lo tanto los residentes están indexados. */
+    public boolean isIndexing() {
+        return maxProcessesInMemory != UNLIMITED;
+    }
+
+    /** Registra el proceso en el índice de su estado actual. */
+    void track(PCB p) {
+        IndexedMinMaxHeap<PCB> heap = heapFor(p.getState());
+        if (heap != null) handles.set(table.rowOf(p), heap.add(p));
+    }
+
+    /** Lo saca del índice de su estado actual (llamar antes de cambiarle el estado). */
+    void untrack(PCB p) {
+        int row = table.rowOf(p);
+        int handle = handles.get(row);
+        if (handle < 0) return;
+        heapFor(p.getState()).remove(handle);
+        handles.set(row, -1);
+    }
+
+    boolean isTracked(PCB p) {
+        return handles.get(table.rowOf(p)) >= 0;
+    }
+
+    /** Víctima de swap-out: el menos crítico de READY, si no hay, de BLOCKED. */
+    PCB victim() {
+        PCB p = ready.peekMax();
+        return p != null ? p : blocked.peekMax();
+    }
+
+    /** Candidato a swap-in: el más crítico de READY_SUSPENDED, si no hay, de BLOCKED_SUSPENDED. */
+    PCB swapInCandidate() {
+        PCB p = readySuspended.peekMin();
+        return p != null ? p : blockedSuspended.peekMin();
+    }
+
+    /** READY -> READY_SUSPENDED o BLOCKED -> BLOCKED_SUSPENDED (solo índices y estado). */
+    void suspend(PCB p) {
+        untrack(p);
+        p.setState(p.getState() == ProcessState.READY ? ProcessState.READY_SUSPENDED : ProcessState.BLOCKED_SUSPENDED);
+        track(p);
+        swapOuts++;
+    }
+
+    /** Sale de *_SUSPENDED; el kernel lo devuelve a READY o BLOCKED. */
+    void resume(PCB p) {
+        untrack(p);
+        swapIns++;
+    }
+
+    /** La I/O terminó estando fuera de memoria: BLOCKED_SUSPENDED -> READY_SUSPENDED. */
+    void ioCompletedWhileSuspended(PCB p) {
+        untrack(p);
+        p.setState(ProcessState.READY_SUSPENDED);
+        track(p);
+    }
+
+    /** Búsqueda lineal por pid en BLOCKED_SUSPENDED (para IO_COMPLETE externo). */
+    PCB findBlockedSuspended(int pid) {
+        PCB[] found = new PCB[1];
+        blockedSuspended.forEach(p -> {
+            if (p.getPid() == pid) found[0] = p;
+        });
+        return found[0];
+    }
+
+    public int getReadySuspendedCount() {
+        return readySuspended.size();
+    }
+
+    public int getBlockedSuspendedCount() {
+        return blockedSuspended.size();
+    }
+
+    public int getSuspendedCount() {
+        return readySuspended.size() + blockedSuspended.size();
+    }
+
+    public long getSwapOuts() {
+        return swapOuts;
+    }
+
+    public long getSwapIns() {
+        return swapIns;
+    }
+
+    /** Suspendidos en orden de heap (no ordenados), para checkpoints y la traza. */
+    Object[] suspendedToArray() {
+        Object[] rs = readySuspended.toArray();
+        Object[] bs = blockedSuspended.toArray();
+        Object[] out = new Object[rs.length + bs.length];
+        System.arraycopy(rs, 0, out, 0, rs.length);
+        System.arraycopy(bs, 0, out, rs.length, bs.length);
+        return out;
+    }
+
+    void restoreCounters(long swapOuts, long swapIns) {
+        this.swapOuts = swapOuts;
+        this.swapIns = swapIns;
+    }
+
+    private IndexedMinMaxHeap<PCB> heapFor(ProcessState state) {
+        return switch (state) {
+            case READY -> isIndexing() ? ready : null;
+            case BLOCKED -> isIndexing() ? blocked : null;
+            case READY_SUSPENDED -> readySuspended;
+            case BLOCKED_SUSPENDED -> blockedSuspended;
+            default -> null;
+        };
+    }
+
+    private void clearIndex(IndexedMinMaxHeap<PCB> heap) {
+        heap.forEach(p -> handles.set(table.rowOf(p), -1));
+        heap.clear();
+    }
+}
@@ -0,0 +1,377 @@
+/*
+ * MetricsEngine.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.io.IOException;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+
+/**
+ * Métricas del kernel (§16) calculadas de forma incremental.
+ *
+ * El kernel avisa cada transición (tick de usuario / ISR / ocioso, cambio de
+ * contexto, terminación) y aquí solo se actualizan contadores. Además se
+ * guarda una ventana circular de los últimos N ticks para throughput y
+ * utilización "recientes" (gráfica de utilización vs tiempo).
+ *
+ * Con varias CPUs los totales por tick (user / os / ocioso) son de la
+ * máquina: un tick es "user" si al menos una CPU ejecutó código de usuario.
+ * La utilización de cada CPU y las migraciones se llevan aparte.
+ *
+ * Leer cualquier métrica o tomar un snapshot es O(1), sin importar cuántos
+ * procesos hayan existido (O(CPUs) para el snapshot). Lo escribe solo el
+ * hilo del kernel.
+ */
+public class MetricsEngine {
+
+    public static final int TICK_IDLE = 0;
+    public static final int TICK_USER = 1;
+    public static final int TICK_OS = 2;
+
+    /** Valores de un instante; inmutable. */
+    public static final class Snapshot {
+        public final long totalTicks;
+        public final long userBusyTicks;
+        public final long osBusyTicks;
+        public final long idleTicks;
+        public final long terminatedCount;
+        public final long successCount;
+        public final long deadlineMisses;
+        public final long contextSwitches;
+        public final long interrupts;
+        public final long migrations;
+        public final double cpuUtilization;
+        public final double userUtilization;
+        public final double successRate;
+        public final double throughput;
+        public final double meanWaitingTime;
+        public final double meanInterruptLatency;
+        public final long periodicJobsReady;
+        public final double meanReleaseJitter;
+        public final long maxReleaseJitter;
+        public final int windowTicks;
+        public final double windowUtilization;
+        public final double windowThroughput;
+        /** Utilización de cada CPU (ticks ejecutando usuario / ticks totales). */
+        public final double[] perCpuUtilization;
+        public final double meanCpuUtilization;
+
+        private Snapshot(MetricsEngine m) {
+            this.totalTicks = m.totalTicks();
+            this.userBusyTicks = m.userBusyTicks;
+            this.osBusyTicks = m.osBusyTicks;
+            this.idleTicks = m.idleTicks;
+            this.terminatedCount = m.terminatedCount;
+            this.successCount = m.successCount;
+            this.deadlineMisses = m.deadlineMisses;
+            this.contextSwitches = m.contextSwitches;
+            this.interrupts = m.interrupts;
+            this.migrations = m.migrations;
+            this.cpuUtilization = m.getCpuUtilization();
+            this.userUtilization = m.getUserUtilization();
+            this.successRate = m.getSuccessRate();
+            this.throughput = m.getThroughput();
+            this.meanWaitingTime = m.getMeanWaitingTime();
+            this.meanInterruptLatency = m.getMeanInterruptLatency();
+            this.periodicJobsReady = m.periodicJobsReady;
+            this.meanReleaseJitter = m.getMeanReleaseJitter();
+            this.maxReleaseJitter = m.maxReleaseJitter;
+            this.windowTicks = m.windowFill;
+            this.windowUtilization = m.getWindowUtilization();
+            this.windowThroughput = m.getWindowThroughput();
+            this.perCpuUtilization = new double[m.cpuBusyTicks.length];
+            for (int cpu = 0; cpu < perCpuUtilization.length; cpu++) {
+                perCpuUtilization[cpu] = m.getCpuUtilization(cpu);
+            }
+            this.meanCpuUtilization = m.getMeanCpuUtilization();
+        }
+    }
+
+    // --- Totales ---
+    private long userBusyTicks;
+    private long osBusyTicks;
+    private long idleTicks;
+    private long terminatedCount;
+    private long successCount;
+    private long deadlineMisses;
+    private long totalWaitingTime;
+    private long contextSwitches;
+    private long interrupts;
+    private long totalInterruptLatency;
+
+    // --- Jitter de liberación de jobs periódicos ---
+    private long periodicJobsReady;
+    private long totalReleaseJitter;
+    private long maxReleaseJitter;
+
+    // --- Por CPU ---
+    private final long[] cpuBusyTicks;
+    private long cpuBusyTotal;
+    private long migrations;
+
+    // --- Ventana circular de los últimos N ticks ---
+    private final byte[] windowKind;        // TICK_* de cada tick
+    private final int[] windowCompletions;  // terminaciones en ese tick
+    private int windowPos;                  // slot del último tick registrado
+    private int windowFill;                 // ticks válidos en la ventana (<= N)
+    private long windowBusy;                // ticks user + os en la ventana
+    private long windowCompleted;           // terminaciones en la ventana
+
+    public MetricsEngine() {
+        this(1000);
+    }
+
+    public MetricsEngine(int windowSize) {
+        this(windowSize, 1);
+    }
+
+    public MetricsEngine(int windowSize, int cpuCount) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be > 0");
+        }
+        if (cpuCount <= 0) {
+            throw new IllegalArgumentException("cpuCount must be > 0");
+        }
+        this.cpuBusyTicks = new long[cpuCount];
+        this.windowKind = new byte[windowSize];
+        this.windowCompletions = new int[windowSize];
+        this.windowPos = windowSize - 1;
+        this.windowFill = 0;
+    }
+
+    // --- Registro (kernel) ---
+
+    /** count ticks seguidos del mismo tipo (TICK_USER, TICK_OS o TICK_IDLE). */
+    public void recordTicks(int kind, long count) {
+        if (count <= 0) return;
+        switch (kind) {
+            case TICK_USER -> userBusyTicks += count;
+            case TICK_OS -> osBusyTicks += count;
+            case TICK_IDLE -> idleTicks += count;
+            default -> throw new IllegalArgumentException("unknown tick kind: " + kind);
+        }
+
+        int n = windowKind.length;
+        if (count >= n) {
+            // La ventana completa queda con este tipo de tick
+            for (int i = 0; i < n; i++) {
+                windowKind[i] = (byte) kind;
+                windowCompletions[i] = 0;
+            }
+            windowPos = n - 1;
+            windowFill = n;
+            windowBusy = kind == TICK_IDLE ? 0 : n;
+            windowCompleted = 0;
+            return;
+        }
+        for (long i = 0; i < count; i++) {
+            windowPos = windowPos + 1 == n ? 0 : windowPos + 1;
+            if (windowFill == n) {
+                if (windowKind[windowPos] != TICK_IDLE) windowBusy--;
+                windowCompleted -= windowCompletions[windowPos];
+            } else {
+                windowFill++;
+            }
+            windowKind[windowPos] = (byte) kind;
+            windowCompletions[windowPos] = 0;
+            if (kind != TICK_IDLE) windowBusy++;
+        }
+    }
+
+    /** count ticks de usuario ejecutados en la CPU indicada. */
+    public void recordCpuBusy(int cpu, long count) {
+        cpuBusyTicks[cpu] += count;
+        cpuBusyTotal += count;
+    }
+
+    /** Un proceso se despachó en una CPU distinta a la última en la que corrió. */
+    public void recordMigration() {
+        migrations++;
+    }
+
+    public void recordDeadlineMiss() {
+        deadlineMisses++;
+    }
+
+    public void recordContextSwitch() {
+        contextSwitches++;
+    }
+
+    public void recordInterrupt(long latency) {
+        interrupts++;
+        totalInterruptLatency += latency;
+    }
+
+    /** Un job periódico entró a READY jitter ticks después de su release nominal. */
+    public void recordReleaseJitter(long jitter) {
+        periodicJobsReady++;
+        totalReleaseJitter += jitter;
+        if (jitter > maxReleaseJitter) maxReleaseJitter = jitter;
+    }
+
+    /** Terminación en el último tick registrado. */
+    public void recordTermination(PCB process) {
+        terminatedCount++;
+        totalWaitingTime += process.getWaitingTime();
+        if (process.getFinishTick() <= process.getDeadlineTick()) {
+            successCount++;
+        }
+        if (windowFill > 0) {
+            windowCompletions[windowPos]++;
+            windowCompleted++;
+        }
+    }
+
+    // --- Checkpoint ---
+
+    void saveTo(KernelCheckpoint.Out out) throws IOException {
+        out.putLong(userBusyTicks);
+        out.putLong(osBusyTicks);
+        out.putLong(idleTicks);
+        out.putLong(terminatedCount);
+        out.putLong(successCount);
+        out.putLong(deadlineMisses);
+        out.putLong(totalWaitingTime);
+        out.putLong(contextSwitches);
+        out.putLong(interrupts);
+        out.putLong(totalInterruptLatency);
+        out.putLong(periodicJobsReady);
+        out.putLong(totalReleaseJitter);
+        out.putLong(maxReleaseJitter);
+        out.putInt(cpuBusyTicks.length);
+        for (long busy : cpuBusyTicks) out.putLong(busy);
+        out.putLong(migrations);
+        out.putInt(windowKind.length);
+        out.putInt(windowPos);
+        out.putInt(windowFill);
+        out.putLong(windowBusy);
+        out.putLong(windowCompleted);
+        for (int i = 0; i < windowKind.length; i++) {
+            out.putByte(windowKind[i]);
+            out.putInt(windowCompletions[i]);
+        }
+    }
+
+    void loadFrom(KernelCheckpoint.In in) throws IOException {
+        userBusyTicks = in.getLong();
+        osBusyTicks = in.getLong();
+        idleTicks = in.getLong();
+        terminatedCount = in.getLong();
+        successCount = in.getLong();
+        deadlineMisses = in.getLong();
+        totalWaitingTime = in.getLong();
+        contextSwitches = in.getLong();
+        interrupts = in.getLong();
+        totalInterruptLatency = in.getLong();
+        periodicJobsReady = in.getLong();
+        totalReleaseJitter = in.getLong();
+        maxReleaseJitter = in.getLong();
+        int cpus = in.getInt();
+        if (cpus != cpuBusyTicks.length) {
+            throw new IOException("metrics cpu count mismatch: " + cpus + " != " + cpuBusyTicks.length);
+        }
+        cpuBusyTotal = 0;
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            cpuBusyTicks[cpu] = in.getLong();
+            cpuBusyTotal += cpuBusyTicks[cpu];
+        }
+        migrations = in.getLong();
+        int size = in.getInt();
+        if (size != windowKind.length) {
+            throw new IOException("metrics window mismatch: " + size + " != " + windowKind.length);
+        }
+        windowPos = in.getInt();
+        windowFill = in.getInt();
+        windowBusy = in.getLong();
+        windowCompleted = in.getLong();
+        for (int i = 0; i < size; i++) {
+            windowKind[i] = in.getByte();
+            windowCompletions[i] = in.getInt();
+        }
+    }
+
+    // --- Lectura O(1) ---
+
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    public long totalTicks() {
+        return userBusyTicks + osBusyTicks + idleTicks;
+    }
+
+    public long getUserBusyTicks() { return userBusyTicks; }
+    public long getOsBusyTicks() { return osBusyTicks; }
+    public long getIdleTicks() { return idleTicks; }
+    public long getTerminatedCount() { return terminatedCount; }
+    public long getSuccessCount() { return successCount; }
+    public long getDeadlineMisses() { return deadlineMisses; }
+    public long getContextSwitches() { return contextSwitches; }
+    public long getInterrupts() { return interrupts; }
+    public long getMigrations() { return migrations; }
+    public long getPeriodicJobsReady() { return periodicJobsReady; }
+    public long getMaxReleaseJitter() { return maxReleaseJitter; }
+    public int getCpuCount() { return cpuBusyTicks.length; }
+    public long getCpuBusyTicks(int cpu) { return cpuBusyTicks[cpu]; }
+
+    /** Ticks de usuario de la CPU / ticks totales. */
+    public double getCpuUtilization(int cpu) {
+        long total = totalTicks();
+        return total == 0 ? 0.0 : (double) cpuBusyTicks[cpu] / total;
+    }
+
+    /** Promedio de la utilización de todas las CPUs. */
+    public double getMeanCpuUtilization() {
+        long total = totalTicks();
+        return total == 0 ? 0.0 : (double) cpuBusyTotal / ((double) total * cpuBusyTicks.length);
+    }
+
+    /** (user + os) / total. */
+    public double getCpuUtilization() {
+        long total = totalTicks();
+        return total == 0 ? 0.0 : (double) (userBusyTicks + osBusyTicks) / total;
+    }
+
+    public double getUserUtilization() {
+        long total = totalTicks();
+        return total == 0 ? 0.0 : (double) userBusyTicks / total;
+    }
+
+    /** success / terminated (0 si aún no termina nadie). */
+    public double getSuccessRate() {
+        return terminatedCount == 0 ? 0.0 : (double) successCount / terminatedCount;
+    }
+
+    /** Terminados por tick desde el inicio. */
+    public double getThroughput() {
+        long total = totalTicks();
+        return total == 0 ? 0.0 : (double) terminatedCount / total;
+    }
+
+    public double getMeanWaitingTime() {
+        return terminatedCount == 0 ? 0.0 : (double) totalWaitingTime / terminatedCount;
+    }
+
+    public double getMeanInterruptLatency() {
+        return interrupts == 0 ? 0.0 : (double) totalInterruptLatency / interrupts;
+    }
+
+    /** Ticks promedio entre el release nominal de un job periódico y su entrada a READY. */
+    public double getMeanReleaseJitter() {
+        return periodicJobsReady == 0 ? 0.0 : (double) totalReleaseJitter / periodicJobsReady;
+    }
+
+    public int getWindowSize() {
+        return windowKind.length;
+    }
+
+    /** Utilización (user + os) en los últimos N ticks. */
+    public double getWindowUtilization() {
+        return windowFill == 0 ? 0.0 : (double) windowBusy / windowFill;
+    }
+
+    /** Terminados por tick en los últimos N ticks. */
+    public double getWindowThroughput() {
+        return windowFill == 0 ? 0.0 : (double) windowCompleted / windowFill;
+    }
+}
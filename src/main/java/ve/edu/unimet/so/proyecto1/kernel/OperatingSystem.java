@@ -3,31 +3,106 @@
  */
 package ve.edu.unimet.so.proyecto1.kernel;
 
+import java.io.IOException;
 import ve.edu.unimet.so.proyecto1.datastructures.Compare;
-import ve.edu.unimet.so.proyecto1.datastructures.LinkedQueue;
-import ve.edu.unimet.so.proyecto1.datastructures.OrderedList;
+import ve.edu.unimet.so.proyecto1.datastructures.IndexedIntHeap;
+import ve.edu.unimet.so.proyecto1.datastructures.RingQueue;
 import ve.edu.unimet.so.proyecto1.datastructures.SimpleList;
 import ve.edu.unimet.so.proyecto1.models.PCB;
+import ve.edu.unimet.so.proyecto1.models.PcbPool;
+import ve.edu.unimet.so.proyecto1.models.PcbTable;
+import ve.edu.unimet.so.proyecto1.models.PeriodicTaskTemplate;
 import ve.edu.unimet.so.proyecto1.models.ProcessState;
 
 public class OperatingSystem {
 
+    /** Primer pid de los jobs periódicos (los procesos de la carga usan pids menores). */
+    public static final int PERIODIC_PID_BASE = 1_000_000;
+
+    /** Historial de terminados sin límite (por defecto: nunca se recicla un PCB). */
+    public static final int UNLIMITED_HISTORY = Integer.MAX_VALUE;
+
     private long globalTick;
     private int quantum;
     private SchedulingPolicy currentPolicy;
-    
-    // Control de ejecución
-    private PCB cpu;
-    private int cpuQuantumTicks; // Contador de uso de quantum actual
-    
+
+    // Control de ejecución: una entrada por CPU (SMP)
+    private final int cpuCount;
+    private final SmpMode smpMode;
+    private final PCB[] running;
+    private final int[] cpuQuantumTicks; // Contador de uso de quantum actual de cada CPU
+    private int busyCpus;
+    private final MetricsEngine metrics;
+
+    // Quién ejecuta las instrucciones (en línea o SimProcessThreads con concesiones de K ticks)
+    private ProcessExecutor executor = ProcessExecutor.INLINE;
+
+    // GLOBAL con varias CPUs: CPU con el proceso de menor rango arriba (víctima de preempción)
+    private final IndexedIntHeap worstRunning;
+
+    // PARTITIONED: carga de cada CPU para la heurística de ubicación
+    private CpuPlacement placement = CpuPlacement.LEAST_WORK;
+    private final int[] assignedCount;
+    private final long[] assignedWork;
+    private final CpuPlacement.Load placementLoad;
+
+    // Deadlines (fail-soft): solo procesos admitidos que no han terminado
+    private final DeadlineIndex deadlineIndex;
+    private final DeadlineIndex.MissHandler missHandler = this::onDeadlineMiss;
+
+    // Eventos externos e ISR
+    private final KernelEventInbox eventInbox;
+    private final KernelEventInbox.Handler eventHandler = this::handleEvent;
+    private int isrTicksRemaining; // > 0: CPUs en modo KERNEL, no se ejecuta código de usuario
+    private long interruptsHandled;
+    private long lastInterruptLatency;
+
+    // I/O: cada proceso bloqueado se agenda una vez para su tick de fin
+    private final TimingWheel<PCB> ioWheel;
+    private final TimingWheel.ExpiryHandler<PCB> ioCompletionHandler = this::completeIo;
+
+    // Carga por streaming: solo un trabajo de adelanto, el resto sigue en la fuente
+    private WorkloadSource workload;
+    private PCB nextArrival;
+    private long workloadPulled; // trabajos ya pasados a newQueue (para reanudar tras un checkpoint)
+    private long admittedCount;
+
+    // Procesos vivos: una fila por proceso admitido y no terminado; los handles
+    // del kernel (rueda de I/O, traza, índices) se guardan por fila, no en el PCB
+    private final PcbTable pcbTable = new PcbTable(64);
+    private final RowHandles ioHandles = new RowHandles();
+    private final RowHandles traceIds = new RowHandles();
+
+    // Tareas periódicas (§8): plantillas admitidas en un calendario de liberaciones
+    private final AdmissionControl admission;
+    private final PcbPool pcbPool = new PcbPool();
+    private final PeriodicReleaseEngine periodic = new PeriodicReleaseEngine(pcbPool);
+    private final PeriodicReleaseEngine.JobSink jobSink = this::acceptJob;
+
+    // Memoria: límite de residentes y swap (planificador de mediano plazo)
+    private final MediumTermScheduler memory = new MediumTermScheduler(pcbTable);
+
     // Estructuras
-    private final LinkedQueue<PCB> newQueue; //Por ahora no la usamos mucho, directo a Ready
-    private final LinkedQueue<PCB> readyQueueFIFO;
-    private OrderedList<PCB> readyListSorted; 
-    private final SimpleList<PCB> blockedList;
-    private final SimpleList<PCB> terminatedList;
+    private final RingQueue<PCB> newQueue; // NEW: llegadas de la carga que esperan admisión
+    private final ReadyQueue[] readyQueues; // GLOBAL: una compartida; PARTITIONED: una por CPU
+    private final RowQueue blockedList; // en orden de bloqueo; se sale por fila (fin de I/O, swap-out)
+    private final RingQueue<PCB> terminatedList; // los últimos terminatedHistoryLimit (el resto va a las métricas)
+    private int terminatedHistoryLimit = UNLIMITED_HISTORY;
+
+    // Vistas para GUI/telemetría: se leen sin kernelLock
+    private final KernelSnapshotPublisher snapshotPublisher = new KernelSnapshotPublisher();
+
+    // Traza binaria opcional (null = apagada)
+    private TraceWriter trace;
+
+    // Log de eventos (§14): registros primitivos, el texto se arma al leer
+    private KernelEventLog eventLog = new KernelEventLog();
+
+    // Instrumentación opcional por fase (JMX); profiling es el flag leído al inicio del tick
+    private final KernelProfiler profiler;
+    private boolean profiling;
 
-    private final Compare.Comparator<PCB> srtComparator = (p1, p2) -> {
+    private static final Compare.Comparator<PCB> srtComparator = (p1, p2) -> {
         int c = Integer.compare(p1.getRemainingInstructions(), p2.getRemainingInstructions());
         if (c != 0) return c;
         c = Long.compare(p1.getDeadlineTick(), p2.getDeadlineTick());
@@ -37,7 +112,7 @@ public class OperatingSystem {
         return Integer.compare(p1.getPid(), p2.getPid());
     };
 
-    private final Compare.Comparator<PCB> priorityComparator = (p1, p2) -> {
+    private static final Compare.Comparator<PCB> priorityComparator = (p1, p2) -> {
         int c = Integer.compare(p2.getPriority(), p1.getPriority());
         if (c != 0) return c;
         c = Long.compare(p1.getDeadlineTick(), p2.getDeadlineTick());
@@ -47,7 +122,7 @@ public class OperatingSystem {
         return Integer.compare(p1.getPid(), p2.getPid());
     };
 
-    private final Compare.Comparator<PCB> edfComparator = (p1, p2) -> {
+    private static final Compare.Comparator<PCB> edfComparator = (p1, p2) -> {
         int c = Long.compare(p1.getDeadlineTick(), p2.getDeadlineTick());
         if (c != 0) return c;
         c = Integer.compare(p2.getPriority(), p1.getPriority());
@@ -57,107 +132,875 @@ public class OperatingSystem {
         return Integer.compare(p1.getPid(), p2.getPid());
     };
 
-    private final Compare.Comparator<PCB> fifoComparator = (p1, p2) -> {
+    private static final Compare.Comparator<PCB> fifoComparator = (p1, p2) -> {
         int c = Long.compare(p1.getArrivalTick(), p2.getArrivalTick());
         if (c != 0) return c;
         return Integer.compare(p1.getPid(), p2.getPid());
     };
 
     public OperatingSystem(int initialQuantum) {
+        this(initialQuantum, 1, SmpMode.GLOBAL);
+    }
+
+    /**
+     * @param cpuCount CPUs simuladas (fijo durante la corrida)
+     * @param smpMode  GLOBAL (una cola READY) o PARTITIONED (una cola por CPU)
+     */
+    public OperatingSystem(int initialQuantum, int cpuCount, SmpMode smpMode) {
+        if (cpuCount <= 0) {
+            throw new IllegalArgumentException("cpuCount must be > 0");
+        }
+        if (smpMode == null) {
+            throw new IllegalArgumentException("smpMode must not be null");
+        }
         this.globalTick = 0;
         this.quantum = initialQuantum;
         this.currentPolicy = SchedulingPolicy.FCFS;
-        this.cpu = null;
-        this.cpuQuantumTicks = 0;
+        this.cpuCount = cpuCount;
+        this.smpMode = smpMode;
+        this.running = new PCB[cpuCount];
+        this.cpuQuantumTicks = new int[cpuCount];
+        this.worstRunning = smpMode == SmpMode.GLOBAL && cpuCount > 1
+                ? new IndexedIntHeap((a, b) -> getComparator().compare(running[b], running[a]), cpuCount)
+                : null;
+        this.assignedCount = new int[cpuCount];
+        this.assignedWork = new long[cpuCount];
+        this.placementLoad = new CpuPlacement.Load() {
+            @Override public int cpuCount() { return OperatingSystem.this.cpuCount; }
+            @Override public int assignedCount(int cpu) { return assignedCount[cpu]; }
+            @Override public long assignedWork(int cpu) { return assignedWork[cpu]; }
+        };
 
-        this.newQueue = new LinkedQueue<>();
-        this.readyQueueFIFO = new LinkedQueue<>();
-        this.readyListSorted = new OrderedList<>(srtComparator);
-        this.blockedList = new SimpleList<>();
-        this.terminatedList = new SimpleList<>();
+        this.newQueue = new RingQueue<>();
+        this.readyQueues = new ReadyQueue[smpMode == SmpMode.GLOBAL ? 1 : cpuCount];
+        for (int i = 0; i < readyQueues.length; i++) {
+            readyQueues[i] = new ReadyQueue(pcbTable, currentPolicy);
+        }
+        this.blockedList = new RowQueue(pcbTable);
+        this.terminatedList = new RingQueue<>();
+        this.eventInbox = new KernelEventInbox();
+        this.ioWheel = new TimingWheel<>();
+        this.metrics = new MetricsEngine(1000, cpuCount);
+        this.deadlineIndex = new DeadlineIndex(pcbTable);
+        this.admission = new AdmissionControl(cpuCount, smpMode);
+        this.profiler = new KernelProfiler(readyQueues.length);
     }
 
     // --- Lógica Principal del Ciclo ---
-    
+
     public void executeOneCycle() {
+        profiling = profiler.isEnabled();
+        if (!profiling) {
+            runCycle();
+            return;
+        }
+        long start = System.nanoTime();
+        runCycle();
+        profiler.record(KernelProfiler.CYCLE, System.nanoTime() - start);
+    }
+
+    private void runCycle() {
+        if (trace != null && trace.isKeyframeDue()) {
+            writeKeyframe(); // estado al cierre del tick anterior
+        }
         globalTick++;
-        
-        // 1. Intentar cargar proceso si CPU está libre
-        if (cpu == null) {
-            scheduleNextProcess();
-        } else if (isPreemptivePolicy()) {
-            PCB bestReady = readyListSorted.peekFirst();
-            if (bestReady != null && shouldPreempt(bestReady, cpu)) {
-                preemptCurrentProcess();
-                scheduleNextProcess();
+        long t = profiling ? System.nanoTime() : 0;
+
+        // 0. Llegadas de la carga (arrivalTick < globalTick, igual que addProcess al cierre de ese tick)
+        if (nextArrival != null && nextArrival.getArrivalTick() < globalTick) {
+            pullArrivals();
+        }
+        periodic.release(globalTick, jobSink);
+        admitNewProcesses();
+        if (profiling) t = lap(KernelProfiler.ADMISSION, t);
+
+        // 0.1 Consumir eventos pendientes (un solo lote por tick)
+        eventInbox.drain(eventHandler);
+        if (profiling) t = lap(KernelProfiler.EVENTS, t);
+
+        // 0.2 I/O completadas en este tick: BLOCKED -> READY
+        ioWheel.advanceTo(globalTick, ioCompletionHandler);
+
+        // 0.3 Deadlines vencidas de procesos sin terminar (ya no pueden cumplirse)
+        deadlineIndex.expire(globalTick, missHandler);
+        if (profiling) {
+            t = lap(KernelProfiler.TIMERS, t);
+            observeReady();
+        }
+
+        // 0.4 Servicio de interrupción: el tick se consume en modo KERNEL (todas las CPUs)
+        if (isrTicksRemaining > 0) {
+            isrTicksRemaining--;
+            metrics.recordTicks(MetricsEngine.TICK_OS, 1);
+            return;
+        }
+
+        // 1. Cargar procesos en CPUs libres y aplicar preempciones
+        if (smpMode == SmpMode.GLOBAL) {
+            dispatchGlobal();
+        } else {
+            for (int c = 0; c < cpuCount; c++) {
+                dispatchPartition(c);
             }
         }
+        if (profiling) t = lap(KernelProfiler.DISPATCH, t);
 
-        // 2. Ejecutar instrucción
-        if (cpu != null) {
-            cpu.executeCycle();
-            cpuQuantumTicks++;
+        // 2. Ejecutar una instrucción en cada CPU ocupada
+        metrics.recordTicks(busyCpus == 0 ? MetricsEngine.TICK_IDLE : MetricsEngine.TICK_USER, 1);
+        if (busyCpus > 0) {
+            executor.run(running, 1);
+            if (profiling) lap(KernelProfiler.EXECUTE, t);
+        } else if (profiling) {
+            profiler.countIdle(1);
+        }
+        for (int c = 0; c < cpuCount; c++) {
+            PCB p = running[c];
+            if (p == null) continue;
+            cpuQuantumTicks[c]++;
+            metrics.recordCpuBusy(c, 1);
+            if (smpMode == SmpMode.PARTITIONED) assignedWork[c]--;
 
             // 3. Verificar terminación
-            if (cpu.hasFinished()) {
-                terminateProcess(cpu);
-                scheduleNextProcess(); // Intentar cargar otro inmediatamente
-            } 
+            if (p.hasFinished()) {
+                terminateProcess(p);
+                scheduleNextProcess(c, globalTick + 1); // Intentar cargar otro inmediatamente
+            }
+            // 3.1 Verificar I/O (después de ejecutar la instrucción)
+            else if (p.shouldTriggerIO() && p.getIoServiceDuration() > 0) {
+                blockForIo(c);
+                scheduleNextProcess(c, globalTick + 1);
+            }
             // 4. Verificar Quantum (Solo RR)
-            else if (currentPolicy == SchedulingPolicy.RR && cpuQuantumTicks >= quantum) {
-                preemptCurrentProcess();
-                scheduleNextProcess();
+            else if (currentPolicy == SchedulingPolicy.RR && cpuQuantumTicks[c] >= quantum) {
+                if (trace != null) {
+                    trace.record(globalTick, TraceWriter.REC_PREEMPT, TraceWriter.REASON_QUANTUM, c, traceIdOf(p),
+                            -1, p.getProgramCounter(), 0);
+                }
+                if (profiling) profiler.countPreemption(TraceWriter.REASON_QUANTUM);
+                preemptCurrentProcess(c, globalTick + 1);
+                scheduleNextProcess(c, globalTick + 1);
+            }
+        }
+    }
+
+    /**
+     * GLOBAL: las CPUs libres toman los mejores de READY (en orden de CPU) y,
+     * con política expropiativa, mientras el mejor de READY le gane al peor
+     * en ejecución, lo reemplaza (top-N).
+     */
+    private void dispatchGlobal() {
+        ReadyQueue ready = readyQueues[0];
+        for (int c = 0; c < cpuCount && !ready.isEmpty(); c++) {
+            if (running[c] == null) scheduleNextProcess(c, globalTick);
+        }
+        if (!isPreemptivePolicy()) return;
+        while (!ready.isEmpty()) {
+            int c = worstRunningCpu();
+            if (c < 0 || !checkPreempt(ready, running[c])) return;
+            tracePreempt(c, ready.peek());
+            if (profiling) profiler.countPreemption(preemptReason());
+            preemptCurrentProcess(c, globalTick);
+            scheduleNextProcess(c, globalTick);
+        }
+    }
+
+    /** PARTITIONED: cada CPU con su propia cola, como una máquina de una CPU. */
+    private void dispatchPartition(int c) {
+        if (running[c] == null) {
+            scheduleNextProcess(c, globalTick);
+        } else if (isPreemptivePolicy()) {
+            ReadyQueue ready = readyQueues[c];
+            if (!ready.isEmpty() && checkPreempt(ready, running[c])) {
+                tracePreempt(c, ready.peek());
+                if (profiling) profiler.countPreemption(preemptReason());
+                preemptCurrentProcess(c, globalTick);
+                scheduleNextProcess(c, globalTick);
+            }
+        }
+    }
+
+    /** shouldPreempt() del despacho, medido con el profiler prendido. */
+    private boolean checkPreempt(ReadyQueue ready, PCB current) {
+        if (!profiling) return shouldPreempt(ready, current);
+        long start = System.nanoTime();
+        boolean preempt = shouldPreempt(ready, current);
+        lap(KernelProfiler.PREEMPT_CHECK, start);
+        return preempt;
+    }
+
+    /** Registra el tiempo desde start en la fase y devuelve el instante actual. */
+    private long lap(int phase, long start) {
+        long now = System.nanoTime();
+        profiler.record(phase, now - start);
+        return now;
+    }
+
+    private void observeReady() {
+        int total = 0;
+        for (int i = 0; i < readyQueues.length; i++) {
+            int n = readyQueues[i].size();
+            profiler.observeReady(i, n);
+            total += n;
+        }
+        profiler.observeTotalReady(total);
+    }
+
+    /** CPU con el proceso de menor rango según la política (-1 si todas libres). */
+    private int worstRunningCpu() {
+        if (worstRunning != null) return worstRunning.peekFirst();
+        return running[0] != null ? 0 : -1;
+    }
+
+    // --- Modo por eventos (fast-forward) ---
+
+    /**
+     * Avanza el reloj hasta el próximo punto donde la planificación puede
+     * cambiar (fin de quantum, terminación, disparo de I/O, preempción) y
+     * ejecuta ese tick. Los ticks intermedios se aplican de un solo salto.
+     * El resultado es idéntico a llamar executeOneCycle() tick por tick.
+     *
+     * @return ticks avanzados, 0 si no hay nada que ejecutar (CPUs y READY vacíos)
+     */
+    public long advanceToNextEvent() {
+        return advance(Long.MAX_VALUE);
+    }
+
+    /** Igual que advanceToNextEvent() pero sin pasar de limitTick. */
+    public long advanceToNextEvent(long limitTick) {
+        return advance(limitTick);
+    }
+
+    /**
+     * Ejecuta la simulación hasta que globalTick == targetTick usando saltos
+     * por eventos. Los tramos ociosos (sin procesos) se saltan directamente.
+     * Procesos nuevos deben agregarse entre llamadas (p.ej. runUntil(arrival)).
+     */
+    public void runUntil(long targetTick) {
+        while (globalTick < targetTick) {
+            if (advance(targetTick) == 0) {
+                // Nada que ejecutar: un tick ocioso no cambia ningún estado
+                metrics.recordTicks(MetricsEngine.TICK_IDLE, targetTick - globalTick);
+                if (profiler.isEnabled()) profiler.countIdle(targetTick - globalTick);
+                globalTick = targetTick;
             }
         }
     }
 
-    private void scheduleNextProcess() {
-        PCB next = getNextProcess();
+    private long advance(long limitTick) {
+        if (globalTick >= limitTick) return 0;
+        if (eventInbox.hasPending()) {
+            executeOneCycle(); // el próximo tick drena eventos: no se puede saltar
+            return 1;
+        }
+        if (isrTicksRemaining > 0) {
+            // Ticks de ISR: solo avanza el reloj (sin pasar por encima de un fin de I/O)
+            long isrTicks = Math.min(isrTicksRemaining, limitTick - globalTick);
+            isrTicks = Math.min(isrTicks, nextTimedEventTick() - globalTick - 1);
+            if (isrTicks <= 0) {
+                executeOneCycle();
+                return 1;
+            }
+            globalTick += isrTicks;
+            isrTicksRemaining -= (int) isrTicks;
+            metrics.recordTicks(MetricsEngine.TICK_OS, isrTicks);
+            return isrTicks;
+        }
+        if (busyCpus == 0 && isReadyEmpty()) {
+            // CPUs ociosas: solo un evento agendado puede cambiar algo
+            long wakeTick = nextTimedEventTick();
+            if (wakeTick == Long.MAX_VALUE) return 0;
+            long target = Math.min(wakeTick, limitTick);
+            long startTick = globalTick;
+            metrics.recordTicks(MetricsEngine.TICK_IDLE, target - 1 - globalTick);
+            if (profiler.isEnabled()) profiler.countIdle(target - 1 - globalTick);
+            globalTick = target - 1;
+            executeOneCycle();
+            return globalTick - startTick;
+        }
+
+        long startTick = globalTick;
+        long plain = Math.min(ticksUntilNextEvent(), limitTick - globalTick - 1);
+        if (plain > 0) {
+            // Ticks sin cambios de planificación: solo avanzan los procesos en CPU
+            // (una sola concesión de plain ticks a cada uno)
+            globalTick += plain;
+            executor.run(running, (int) plain);
+            for (int c = 0; c < cpuCount; c++) {
+                if (running[c] == null) continue;
+                cpuQuantumTicks[c] += (int) plain;
+                metrics.recordCpuBusy(c, plain);
+                if (smpMode == SmpMode.PARTITIONED) assignedWork[c] -= plain;
+            }
+            metrics.recordTicks(MetricsEngine.TICK_USER, plain);
+        }
+        executeOneCycle();
+        return globalTick - startTick;
+    }
+
+    /**
+     * Cantidad de ticks a partir del siguiente en los que executeOneCycle()
+     * solo ejecutaría una instrucción en cada CPU ocupada. El tick siguiente
+     * a ese tramo es el "evento" y se ejecuta normalmente.
+     */
+    private long ticksUntilNextEvent() {
+        // Una CPU libre con procesos listos para ella despacha en el próximo tick.
+        // Si no hay preempción ahora, no la habrá mientras READY no cambie:
+        // en SRT el restante de los procesos en CPU solo disminuye.
+        if (smpMode == SmpMode.GLOBAL) {
+            ReadyQueue ready = readyQueues[0];
+            if (!ready.isEmpty()) {
+                if (busyCpus < cpuCount) return 0;
+                if (isPreemptivePolicy() && shouldPreempt(ready, running[worstRunningCpu()])) return 0;
+            }
+        } else {
+            for (int c = 0; c < cpuCount; c++) {
+                ReadyQueue ready = readyQueues[c];
+                if (ready.isEmpty()) continue;
+                if (running[c] == null) return 0;
+                if (isPreemptivePolicy() && shouldPreempt(ready, running[c])) return 0;
+            }
+        }
+
+        long ticks = nextTimedEventTick() - globalTick - 1;
+        for (int c = 0; c < cpuCount; c++) {
+            PCB p = running[c];
+            if (p == null) continue;
+            ticks = Math.min(ticks, p.getRemainingInstructions() - 1L); // el último tick termina
+            if (currentPolicy == SchedulingPolicy.RR) {
+                ticks = Math.min(ticks, (long) quantum - cpuQuantumTicks[c] - 1);
+            }
+            int ioCycle = p.getIoEventCycle();
+            if (ioCycle != -1 && ioCycle > p.getProgramCounter()) {
+                ticks = Math.min(ticks, (long) ioCycle - p.getProgramCounter() - 1);
+            }
+        }
+        return Math.max(0, ticks);
+    }
+
+    /**
+     * Primer tick futuro en el que algo agendado (fin de I/O, ...) debe
+     * procesarse, o Long.MAX_VALUE si no hay nada agendado.
+     */
+    private long nextTimedEventTick() {
+        if (memoryActionPending()) return globalTick + 1;
+        long next = Math.min(ioWheel.nextEventTick(), deadlineIndex.nextMissTick());
+        if (nextArrival != null) {
+            next = Math.min(next, nextArrival.getArrivalTick() + 1);
+        }
+        return Math.min(next, periodic.nextReleaseTick(globalTick));
+    }
+
+    /**
+     * Carga el siguiente proceso en la CPU c.
+     * @param runFromTick tick en el que ejecutará su primera instrucción
+     */
+    private void scheduleNextProcess(int c, long runFromTick) {
+        long start = profiling ? System.nanoTime() : 0;
+        PCB next = pollReady(readyFor(c));
         if (next != null) {
-            cpu = next;
-            cpu.setState(ProcessState.RUNNING);
-            cpu.setStartTick(globalTick);
-            cpuQuantumTicks = 0; // Reset quantum
+            running[c] = next;
+            busyCpus++;
+            next.setState(ProcessState.RUNNING);
+            next.setStartTick(globalTick);
+            next.markDispatched(runFromTick);
+            cpuQuantumTicks[c] = 0; // Reset quantum
+            metrics.recordContextSwitch();
+            eventLog.record(globalTick, KernelEventLog.CONTEXT_SWITCH, next.getPid(), c, 0);
+            if (smpMode == SmpMode.GLOBAL) {
+                if (next.getCpuId() >= 0 && next.getCpuId() != c) metrics.recordMigration();
+                pcbTable.setCpuId(pcbTable.rowOf(next), c);
+                if (worstRunning != null) worstRunning.add(c);
+            }
+            if (trace != null) {
+                trace.record(globalTick, TraceWriter.REC_DISPATCH, 0, c, traceIdOf(next), next.getProgramCounter(),
+                        0, 0);
+            }
+            if (profiling) profiler.countContextSwitch();
         }
+        if (profiling) lap(KernelProfiler.SCHEDULE, start);
+    }
+
+    /** Deja libre la CPU c (su proceso ya fue movido a otra estructura). */
+    private void releaseCpu(int c) {
+        if (worstRunning != null) worstRunning.remove(c);
+        running[c] = null;
+        cpuQuantumTicks[c] = 0;
+        busyCpus--;
     }
 
-    private void preemptCurrentProcess() {
-        if (cpu == null) return;
-        
+    /**
+     * @param readyFromTick primer tick en el que el proceso compite por CPU
+     */
+    private void preemptCurrentProcess(int c, long readyFromTick) {
+        PCB p = running[c];
+        if (p == null) return;
+        long start = profiling ? System.nanoTime() : 0;
+
         // Cambio de contexto: Running -> Ready
-        cpu.setState(ProcessState.READY);
-        addProcess(cpu); // Devuelve a la cola correspondiente
-        cpu = null;
-        cpuQuantumTicks = 0;
+        releaseCpu(c);
+        enqueueReady(p, readyFromTick); // Devuelve a la cola correspondiente
+        if (profiling) lap(KernelProfiler.PREEMPT, start);
+    }
+
+    // --- Eventos externos ---
+
+    private void handleEvent(KernelEvent event) {
+        switch (event.getType()) {
+            case CREATE_PROCESS -> admit((PCB) event.getPayload(), globalTick);
+            case POLICY_CHANGE -> setAlgorithm((SchedulingPolicy) event.getPayload());
+            case IO_REQUEST -> blockRunning(event.getPid());
+            case IO_COMPLETE -> unblock(event.getPid());
+            case INTERRUPT -> {
+                interruptsHandled++;
+                lastInterruptLatency = globalTick - event.getArg1();
+                metrics.recordInterrupt(lastInterruptLatency);
+                isrTicksRemaining += (int) event.getArg2();
+                eventLog.record(globalTick, KernelEventLog.INTERRUPT, -1, event.getArg2(), lastInterruptLatency);
+                if (trace != null) {
+                    trace.record(globalTick, TraceWriter.REC_INTERRUPT, 0, 0, -1,
+                            event.getArg2(), lastInterruptLatency, 0);
+                }
+            }
+        }
+    }
+
+    /** RUNNING -> BLOCKED si el pid está en alguna CPU. */
+    private void blockRunning(int pid) {
+        for (int c = 0; c < cpuCount; c++) {
+            PCB p = running[c];
+            if (p == null || p.getPid() != pid) continue;
+            if (trace != null) {
+                trace.record(globalTick, TraceWriter.REC_BLOCK, TraceWriter.REASON_IO_REQUEST, 0, traceIdOf(p),
+                        p.getProgramCounter(), -1, 0);
+            }
+            releaseCpu(c);
+            cancelIo(p); // espera el IO_COMPLETE externo, no un fin de I/O viejo
+            p.setState(ProcessState.BLOCKED);
+            p.resetIoWait();
+            blockedList.add(p);
+            memory.track(p);
+            eventLog.record(globalTick, KernelEventLog.IO_REQUEST, pid, -1, 0);
+            return;
+        }
+    }
+
+    /** RUNNING -> BLOCKED por I/O propia; se agenda una vez para su tick de fin. */
+    private void blockForIo(int c) {
+        PCB p = running[c];
+        releaseCpu(c);
+        p.setState(ProcessState.BLOCKED);
+        p.resetIoWait();
+        blockedList.add(p);
+        memory.track(p);
+        ioHandles.set(pcbTable.rowOf(p), ioWheel.schedule(p, globalTick + p.getIoServiceDuration()));
+        eventLog.record(globalTick, KernelEventLog.IO_REQUEST, p.getPid(), p.getIoServiceDuration(), 0);
+        if (trace != null) {
+            trace.record(globalTick, TraceWriter.REC_BLOCK, TraceWriter.REASON_IO_CYCLE, 0, traceIdOf(p),
+                    p.getProgramCounter(), globalTick + p.getIoServiceDuration(), 0);
+        }
+    }
+
+    /** Fin de I/O agendada en la rueda. */
+    private void completeIo(PCB p, long tick) {
+        int row = pcbTable.rowOf(p);
+        if (ioWheel.getFiringHandle() != ioHandles.get(row)) return; // entrada de una I/O anterior
+        ioHandles.set(row, -1);
+        if (p.getState() == ProcessState.BLOCKED_SUSPENDED) {
+            p.addIoWaitTicks(p.getIoServiceDuration());
+            resumeIoSuspended(p);
+            return;
+        }
+        if (p.getState() != ProcessState.BLOCKED || !blockedList.remove(p)) {
+            return; // ya fue liberado por un IO_COMPLETE externo
+        }
+        p.addIoWaitTicks(p.getIoServiceDuration());
+        memory.untrack(p);
+        eventLog.record(globalTick, KernelEventLog.IO_COMPLETE, p.getPid(), 0, 0);
+        enqueueReady(p, globalTick);
+    }
+
+    /** Fin de I/O fuera de memoria: BLOCKED_SUSPENDED -> READY_SUSPENDED. */
+    private void resumeIoSuspended(PCB p) {
+        memory.ioCompletedWhileSuspended(p);
+        p.markReady(globalTick);
+        eventLog.record(globalTick, KernelEventLog.IO_COMPLETE, p.getPid(), 1, 0);
+        if (trace != null) traceSuspend(p);
+    }
+
+    /** BLOCKED -> READY; compite por CPU en este mismo tick. */
+    private void unblock(int pid) {
+        PCB p = blockedList.findPid(pid);
+        if (p != null) {
+            blockedList.remove(p);
+            cancelIo(p);
+            memory.untrack(p);
+            eventLog.record(globalTick, KernelEventLog.IO_COMPLETE, pid, 0, 0);
+            enqueueReady(p, globalTick);
+            return;
+        }
+        PCB suspended = memory.findBlockedSuspended(pid);
+        if (suspended != null) {
+            cancelIo(suspended);
+            resumeIoSuspended(suspended);
+        }
+    }
+
+    /** Saca de la rueda el fin de I/O agendado del proceso, si tiene uno. */
+    private void cancelIo(PCB p) {
+        int row = pcbTable.rowOf(p);
+        int handle = ioHandles.get(row);
+        if (handle < 0) return;
+        ioWheel.cancel(handle);
+        ioHandles.set(row, -1);
+    }
+
+    // --- Filas de la PcbTable ---
+
+    /** Le da fila al proceso; sus handles del kernel empiezan vacíos. */
+    private void attach(PCB p) {
+        int row = pcbTable.attach(p);
+        ioHandles.set(row, -1);
+        traceIds.set(row, -1);
+    }
+
+    /**
+     * Suelta la fila de un proceso que ya salió de la rueda y de los índices:
+     * una entrada vieja tocaría al proceso que reciba esa fila o su PCB.
+     */
+    private void detach(PCB p) {
+        if (ioHandles.get(pcbTable.rowOf(p)) >= 0 || deadlineIndex.isTracked(p) || memory.isTracked(p)) {
+            throw new IllegalStateException("pcb " + p.getPid() + " still has a live kernel handle");
+        }
+        pcbTable.detach(p);
+    }
+
+    private int traceIdOf(PCB p) {
+        return traceIds.get(pcbTable.rowOf(p));
     }
 
     // --- Gestión de Procesos ---
 
+    /** Admite un proceso; compite por CPU desde el próximo tick. */
     public void addProcess(PCB process) {
-        process.setState(ProcessState.READY);
-        
-        if (isFifoAlgorithm()) {
-            readyQueueFIFO.enqueue(process);
+        admit(process, globalTick + 1);
+    }
+
+    /**
+     * Conecta una fuente de trabajos: cada trabajo entra a newQueue en el tick
+     * siguiente a su arrivalTick (como addProcess al cierre de ese tick). Solo
+     * se lee un trabajo por adelantado.
+     */
+    public void setWorkloadSource(WorkloadSource source) {
+        this.workload = source;
+        this.workloadPulled = 0;
+        this.nextArrival = source == null ? null : source.next();
+    }
+
+    /**
+     * Tras restaurar un checkpoint: reconecta la misma carga (desde el
+     * principio) y descarta los trabajos que ya habían llegado.
+     */
+    public void resumeWorkloadSource(WorkloadSource source) {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        long pulled = workloadPulled;
+        if (source.skip(pulled) != pulled) {
+            throw new IllegalArgumentException("workload has fewer than " + pulled + " jobs");
+        }
+        this.workload = source;
+        this.workloadPulled = pulled;
+        this.nextArrival = source.next();
+    }
+
+    /**
+     * Límite de procesos en memoria (READY + RUNNING + BLOCKED). Por defecto
+     * MediumTermScheduler.UNLIMITED: todo lo que llega se admite de inmediato.
+     */
+    public void setMaxProcessesInMemory(int max) {
+        SimpleList<PCB> ready = new SimpleList<>(Math.max(10, getReadyCount()));
+        for (ReadyQueue q : readyQueues) q.forEach(ready::add);
+        memory.setMaxProcessesInMemory(max, ready.toArray(), blockedList.toArray());
+    }
+
+    /**
+     * Cambia quién ejecuta las instrucciones de los procesos (por defecto
+     * ProcessExecutor.INLINE). El resultado de la simulación no depende del
+     * executor. No se guarda en el checkpoint; el llamador cierra el anterior.
+     */
+    public void setProcessExecutor(ProcessExecutor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Reemplaza el log de eventos (p. ej. por uno de otra capacidad). Como la
+     * traza, no es parte del estado: no se guarda en el checkpoint.
+     */
+    public void setEventLog(KernelEventLog log) {
+        if (log == null) {
+            throw new IllegalArgumentException("log must not be null");
+        }
+        this.eventLog = log;
+    }
+
+    /**
+     * Heurística de ubicación del modo particionado para los procesos que se
+     * admitan desde ahora (los ya ubicados no se mueven). No se guarda en el
+     * checkpoint: tras restaurar vuelve a ser LEAST_WORK.
+     */
+    public void setCpuPlacement(CpuPlacement placement) {
+        if (placement == null) {
+            throw new IllegalArgumentException("placement must not be null");
+        }
+        this.placement = placement;
+    }
+
+    // --- Tareas periódicas ---
+
+    /**
+     * Registra una plantilla periódica si pasa el control de admisión de la
+     * política actual (ver AdmissionControl). Su primer job sale en
+     * nextReleaseTick, o en el próximo tick si ese ya pasó.
+     *
+     * @return REJECTED si no se registró; DEGRADED si se registró con un período mayor
+     */
+    public AdmissionControl.Decision addPeriodicTask(PeriodicTaskTemplate template) {
+        if (template == null) {
+            throw new IllegalArgumentException("template cannot be null");
+        }
+        AdmissionControl.Decision decision = admission.admit(template, currentPolicy);
+        if (decision != AdmissionControl.Decision.REJECTED) {
+            if (template.getNextReleaseTick() <= globalTick) {
+                template.setNextReleaseTick(globalTick + 1);
+            }
+            periodic.add(template);
+        }
+        return decision;
+    }
+
+    /** Deja de liberar jobs de la plantilla (los ya liberados siguen). */
+    public boolean removePeriodicTask(PeriodicTaskTemplate template) {
+        if (!periodic.remove(template)) return false;
+        admission.remove(template);
+        return true;
+    }
+
+    /** Límite de jobs periódicos en total (además del límite de cada plantilla). */
+    public void setMaxPeriodicJobs(long max) {
+        periodic.setMaxJobs(max);
+    }
+
+    /** pid del próximo job periódico; por defecto PERIODIC_PID_BASE. */
+    public void setNextJobPid(int pid) {
+        periodic.setNextJobPid(pid);
+    }
+
+    /**
+     * §8: los jobs que libera el calendario en este tick van directo a READY
+     * (compiten por CPU desde ahora). Si hay trabajos esperando en newQueue o
+     * la memoria está llena, esperan su turno ahí como cualquier llegada.
+     */
+    private void acceptJob(PCB job) {
+        if (periodic.getJobsReleased() == periodic.getMaxJobs()) {
+            eventLog.record(globalTick, KernelEventLog.JOB_LIMIT, -1, periodic.getMaxJobs(), 0);
+        }
+        if (newQueue.isEmpty() && residentCount() < memory.getMaxProcessesInMemory()) {
+            admit(job, globalTick);
         } else {
-            readyListSorted.add(process);
+            newQueue.enqueue(job);
         }
     }
 
-    public PCB getNextProcess() {
-        if (isFifoAlgorithm()) {
-            return readyQueueFIFO.dequeue();
+    private void pullArrivals() {
+        while (nextArrival != null && nextArrival.getArrivalTick() < globalTick) {
+            newQueue.enqueue(nextArrival);
+            workloadPulled++;
+            nextArrival = workload.next();
+        }
+    }
+
+    /**
+     * Planificador de mediano plazo (§9.3 y §9.5), al inicio de cada tick:
+     * NEW -> READY mientras haya memoria; con memoria llena, un swap-out para
+     * admitir uno más; con espacio libre, swap-in de los suspendidos.
+     */
+    private void admitNewProcesses() {
+        int max = memory.getMaxProcessesInMemory();
+        while (!newQueue.isEmpty() && residentCount() < max) {
+            admit(newQueue.dequeue(), globalTick);
+        }
+        if (!newQueue.isEmpty() && swapOut() && residentCount() < max) {
+            admit(newQueue.dequeue(), globalTick); // si el límite bajó, el swap-out solo reduce el exceso
+        }
+        while (memory.getSuspendedCount() > 0 && residentCount() < max) {
+            swapIn(); // del más crítico al menos crítico
+        }
+    }
+
+    /** Procesos en memoria: READY + RUNNING + BLOCKED. */
+    private int residentCount() {
+        return getReadyCount() + blockedList.size() + busyCpus;
+    }
+
+    /** Suspende al menos crítico de READY (o de BLOCKED). Nunca a uno en CPU. */
+    private boolean swapOut() {
+        PCB victim = memory.victim();
+        if (victim == null) return false;
+        // Sale por su fila de la PcbTable, sin recorrer la cola
+        if (victim.getState() == ProcessState.READY) {
+            readyFor(victim).remove(victim);
+        } else {
+            blockedList.remove(victim);
+        }
+        memory.suspend(victim);
+        eventLog.record(globalTick, KernelEventLog.SWAP_OUT, victim.getPid(), victim.getState().ordinal(), 0);
+        if (trace != null) traceSuspend(victim);
+        return true;
+    }
+
+    /** Trae a memoria al suspendido más crítico (READY_SUSPENDED primero). */
+    private void swapIn() {
+        PCB p = memory.swapInCandidate();
+        memory.resume(p);
+        boolean ready = p.getState() == ProcessState.READY_SUSPENDED;
+        eventLog.record(globalTick, KernelEventLog.SWAP_IN, p.getPid(),
+                (ready ? ProcessState.READY : ProcessState.BLOCKED).ordinal(), 0);
+        if (ready) {
+            // El tiempo suspendido listo cuenta como espera
+            enqueueReady(p, p.getReadySinceTick());
         } else {
-            return readyListSorted.pollFirst();
+            // Vuelve a BLOCKED; su fin de I/O sigue agendado en la rueda
+            p.setState(ProcessState.BLOCKED);
+            blockedList.add(p);
+            memory.track(p);
+            if (trace != null) {
+                trace.record(globalTick, TraceWriter.REC_BLOCK, TraceWriter.REASON_NONE, 0, traceIdOf(p),
+                        p.getProgramCounter(), -1, 0);
+            }
+        }
+    }
+
+    /**
+     * true si el próximo tick el planificador de mediano plazo haría algo
+     * (admitir, swap-out o swap-in): ese tick no se puede saltar.
+     */
+    private boolean memoryActionPending() {
+        if (newQueue.isEmpty() && memory.getSuspendedCount() == 0) return false;
+        if (residentCount() < memory.getMaxProcessesInMemory()) return true;
+        return !newQueue.isEmpty() && memory.victim() != null;
+    }
+
+    /** Primera entrada del proceso al kernel. */
+    private void admit(PCB process, long readyFromTick) {
+        admittedCount++;
+        attach(process);
+        deadlineIndex.track(process);
+        if (process.isPeriodicJob()) {
+            metrics.recordReleaseJitter(readyFromTick - process.getArrivalTick());
+        }
+        if (smpMode == SmpMode.PARTITIONED) {
+            // Un proceso que ya trae CPU (jobs periódicos) queda en ella
+            int c = process.getCpuId() >= 0 ? process.getCpuId() : placement.place(process, placementLoad);
+            if (c < 0 || c >= cpuCount) {
+                throw new IllegalStateException("placement returned cpu " + c + " of " + cpuCount);
+            }
+            pcbTable.setCpuId(pcbTable.rowOf(process), c);
+            assignedCount[c]++;
+            assignedWork[c] += process.getRemainingInstructions();
         }
+        if (trace != null) traceAdmit(process);
+        enqueueReady(process, readyFromTick);
+    }
+
+    private void onDeadlineMiss(PCB process, long tick) {
+        metrics.recordDeadlineMiss();
+        eventLog.record(tick, KernelEventLog.DEADLINE_MISS, process.getPid(), process.getDeadlineTick(), 0);
+        if (trace != null) {
+            trace.record(tick, TraceWriter.REC_DEADLINE_MISS, 0, 0, traceIdOf(process), process.getDeadlineTick(), 0, 0);
+        }
+    }
+
+    private void enqueueReady(PCB process, long readyFromTick) {
+        process.setState(ProcessState.READY);
+        process.markReady(readyFromTick);
+        if (trace != null) {
+            trace.record(globalTick, TraceWriter.REC_READY, 0, partitionOf(process), traceIdOf(process),
+                    process.getProgramCounter(), 0, 0);
+        }
+        readyFor(process).add(process);
+        memory.track(process);
+    }
+
+    /** Saca el próximo a despachar de la cola de la CPU 0 (o la global). */
+    public PCB getNextProcess() {
+        return pollReady(readyQueues[0]);
+    }
+
+    private PCB pollReady(ReadyQueue queue) {
+        PCB next = queue.poll();
+        if (next != null) memory.untrack(next);
+        return next;
+    }
+
+    private ReadyQueue readyFor(int c) {
+        return smpMode == SmpMode.GLOBAL ? readyQueues[0] : readyQueues[c];
+    }
+
+    private ReadyQueue readyFor(PCB p) {
+        return readyQueues[partitionOf(p)];
+    }
+
+    private int partitionOf(PCB p) {
+        return smpMode == SmpMode.GLOBAL ? 0 : p.getCpuId();
     }
 
     public void terminateProcess(PCB process) {
+        long start = profiling ? System.nanoTime() : 0;
         process.setState(ProcessState.TERMINATED);
         process.setFinishTick(globalTick);
-        terminatedList.add(process);
-        if (cpu == process) {
-            cpu = null;
-            cpuQuantumTicks = 0;
+        deadlineIndex.untrack(process);
+        cancelIo(process);
+        metrics.recordTermination(process);
+        if (trace != null) {
+            trace.record(globalTick, TraceWriter.REC_TERMINATE, 0, 0, traceIdOf(process), process.getProgramCounter(), 0, 0);
+        }
+        executor.retire(process);
+        detach(process);
+        int c = process.getCpuId();
+        if (c >= 0 && running[c] == process) {
+            releaseCpu(c);
+        }
+        if (smpMode == SmpMode.PARTITIONED && c >= 0) {
+            assignedCount[c]--;
+            assignedWork[c] -= process.getRemainingInstructions();
+        }
+        terminatedList.enqueue(process);
+        trimTerminatedHistory();
+        if (profiling) lap(KernelProfiler.TERMINATE, start);
+    }
+
+    /**
+     * Cuántos terminados se guardan (getTerminatedSnapshot y la GUI); los más
+     * viejos salen y solo quedan en las métricas. Los PCBs de jobs periódicos
+     * que salen vuelven al PcbPool y se reutilizan para jobs nuevos, así que
+     * con un límite la liberación de jobs en régimen estable no crea objetos.
+     * Por defecto UNLIMITED_HISTORY.
+     */
+    public void setTerminatedHistoryLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be >= 0");
+        }
+        this.terminatedHistoryLimit = limit;
+        trimTerminatedHistory();
+    }
+
+    private void trimTerminatedHistory() {
+        while (terminatedList.size() > terminatedHistoryLimit) {
+            PCB old = terminatedList.dequeue();
+            if (old.isPeriodicJob()) pcbPool.release(old); // solo los que creó el kernel
         }
     }
 
@@ -166,39 +1009,40 @@ public class OperatingSystem {
             throw new IllegalArgumentException("policy must not be null");
         }
         if (this.currentPolicy == newPolicy) return;
+        boolean timed = profiler.isEnabled(); // puede llegar fuera de un tick
+        long start = timed ? System.nanoTime() : 0;
 
-        this.currentPolicy = newPolicy;
-        
-        SimpleList<PCB> tempBuffer = new SimpleList<>();
-        
-        while (!readyQueueFIFO.isEmpty()) {
-            tempBuffer.add(readyQueueFIFO.dequeue());
-        }
-        
-        while (!readyListSorted.isEmpty()) {
-            tempBuffer.add(readyListSorted.pollFirst());
+        applyPolicy(newPolicy);
+        eventLog.record(globalTick, KernelEventLog.POLICY_SWITCH, -1, newPolicy.ordinal(), quantum);
+        if (timed) profiler.record(KernelProfiler.POLICY_SWITCH, System.nanoTime() - start);
+
+        if (trace != null) {
+            // El replay no reordena: parte del keyframe con el orden nuevo
+            trace.record(globalTick, TraceWriter.REC_POLICY, 0, newPolicy.ordinal(), -1, quantum, 0, 0);
+            writeKeyframe();
         }
+    }
 
-        if (newPolicy == SchedulingPolicy.FCFS || newPolicy == SchedulingPolicy.RR) {
-            this.readyListSorted = new OrderedList<>(srtComparator);
-            OrderedList<PCB> fifoOrdered = new OrderedList<>(fifoComparator);
-            tempBuffer.forEach(fifoOrdered::add);
-            while (!fifoOrdered.isEmpty()) {
-                readyQueueFIFO.enqueue(fifoOrdered.pollFirst());
+    /** Reordena las colas y el índice de CPUs; sin log ni traza (lo usa también la restauración). */
+    private void applyPolicy(SchedulingPolicy newPolicy) {
+        this.currentPolicy = newPolicy;
+        for (ReadyQueue q : readyQueues) {
+            q.setPolicy(newPolicy);
+        }
+        if (worstRunning != null) {
+            // El orden entre procesos en CPU cambió con la política
+            worstRunning.clear();
+            for (int c = 0; c < cpuCount; c++) {
+                if (running[c] != null) worstRunning.add(c);
             }
-        } else {
-            Compare.Comparator<PCB> targetComparator = switch (newPolicy) {
-                case PRIORITY -> priorityComparator;
-                case EDF -> edfComparator;
-                default -> srtComparator;
-            };
-            this.readyListSorted = new OrderedList<>(targetComparator);
-            tempBuffer.forEach(p -> addProcess(p));
         }
     }
 
-    private boolean isFifoAlgorithm() {
-        return currentPolicy == SchedulingPolicy.FCFS || currentPolicy == SchedulingPolicy.RR;
+    private boolean isReadyEmpty() {
+        for (ReadyQueue q : readyQueues) {
+            if (!q.isEmpty()) return false;
+        }
+        return true;
     }
 
     private boolean isPreemptivePolicy() {
@@ -208,25 +1052,325 @@ public class OperatingSystem {
     }
 
     private Compare.Comparator<PCB> getComparator() {
-        return switch (currentPolicy) {
+        return comparatorFor(currentPolicy);
+    }
+
+    /** Orden de READY de cada política (FCFS/RR: llegada, usado al reordenar). */
+    static Compare.Comparator<PCB> comparatorFor(SchedulingPolicy policy) {
+        return switch (policy) {
+            case FCFS, RR -> fifoComparator;
             case PRIORITY -> priorityComparator;
             case EDF -> edfComparator;
             default -> srtComparator;
         };
     }
 
-    private boolean shouldPreempt(PCB candidate, PCB running) {
+    private int preemptReason() {
         return switch (currentPolicy) {
-            case SRT -> candidate.getRemainingInstructions() < running.getRemainingInstructions();
-            case PRIORITY -> candidate.getPriority() > running.getPriority();
-            case EDF -> candidate.getDeadlineTick() < running.getDeadlineTick();
+            case SRT -> TraceWriter.REASON_SHORTER_REMAINING;
+            case PRIORITY -> TraceWriter.REASON_HIGHER_PRIORITY;
+            case EDF -> TraceWriter.REASON_EARLIER_DEADLINE;
+            default -> TraceWriter.REASON_NONE;
+        };
+    }
+
+    /** ¿El mejor de ready (no vacía) le gana a running? */
+    private boolean shouldPreempt(ReadyQueue ready, PCB running) {
+        return switch (currentPolicy) {
+            case SRT -> ready.peek().getRemainingInstructions() < running.getRemainingInstructions();
+            case PRIORITY -> ready.topPriority() > running.getPriority(); // solo el bitmap de niveles
+            case EDF -> ready.peek().getDeadlineTick() < running.getDeadlineTick();
             default -> false;
         };
     }
 
+    /**
+     * Publica el estado de las colas para los lectores de getSnapshotPublisher().
+     * Llamar desde el hilo del reloj (p. ej. al ritmo de refresco de la GUI);
+     * solo se copian las colas que cambiaron.
+     */
+    public void publishSnapshot() {
+        snapshotPublisher.publish(globalTick, running, currentPolicy, readyQueues, blockedList, terminatedList);
+    }
+
+    // --- Checkpoint (ver KernelCheckpoint) ---
+
+    void saveTo(KernelCheckpoint.Out out) throws IOException {
+        if (eventInbox.hasPending()) {
+            throw new IllegalStateException("event inbox must be drained before a checkpoint");
+        }
+        out.putLong(globalTick);
+        out.putInt(quantum);
+        out.putInt(cpuCount);
+        out.putByte(smpMode.ordinal());
+        out.putByte(currentPolicy.ordinal());
+        for (int c = 0; c < cpuCount; c++) {
+            out.putPcb(running[c]);
+            out.putInt(cpuQuantumTicks[c]);
+            out.putInt(assignedCount[c]);
+            out.putLong(assignedWork[c]);
+        }
+        out.putInt(isrTicksRemaining);
+        out.putLong(interruptsHandled);
+        out.putLong(lastInterruptLatency);
+
+        out.putInt(newQueue.size());
+        for (int i = 0; i < newQueue.size(); i++) out.putPcb(newQueue.get(i));
+        for (ReadyQueue q : readyQueues) {
+            Object[] ready = q.toArray(); // FIFO en orden; heap con orden total: su orden interno no importa
+            out.putInt(ready.length);
+            for (Object p : ready) out.putPcb((PCB) p);
+        }
+        Object[] blocked = blockedList.toArray();
+        out.putInt(blocked.length);
+        for (Object p : blocked) out.putPcb((PCB) p);
+        out.putInt(terminatedHistoryLimit);
+        out.putInt(terminatedList.size());
+        for (int i = 0; i < terminatedList.size(); i++) out.putPcb(terminatedList.get(i));
+
+        Object[] tracked = deadlineIndex.toArray();
+        out.putInt(tracked.length);
+        for (Object p : tracked) out.putPcb((PCB) p);
+
+        // Rueda: mismo tick actual y mismo orden entre entradas del mismo tick
+        int wheelSize = ioWheel.size();
+        PCB[] wheelItems = new PCB[wheelSize];
+        long[] wheelExpiry = new long[wheelSize];
+        int[] count = new int[1];
+        ioWheel.forEachScheduled((p, tick) -> {
+            wheelItems[count[0]] = p;
+            wheelExpiry[count[0]++] = tick;
+        });
+        out.putLong(ioWheel.getCurrentTick());
+        out.putInt(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            out.putPcb(wheelItems[i]);
+            out.putLong(wheelExpiry[i]);
+        }
+
+        out.putLong(workloadPulled);
+        out.putLong(admittedCount);
+
+        out.putByte(admission.getMode().ordinal());
+        out.putLong(admission.getAccepted());
+        out.putLong(admission.getDegraded());
+        out.putLong(admission.getRejected());
+        out.putInt(periodic.getNextJobPid());
+        out.putLong(periodic.getJobsReleased());
+        out.putLong(periodic.getMaxJobs());
+        out.putInt(periodic.getTemplateCount());
+        for (int i = 0; i < periodic.getTemplateCount(); i++) {
+            PeriodicTaskTemplate t = periodic.getTemplate(i);
+            out.putString(t.getName());
+            out.putInt(t.getWcet());
+            out.putLong(t.getPeriodTicks());
+            out.putLong(t.getRelativeDeadlineTicks());
+            out.putInt(t.getPriority());
+            out.putLong(t.getNextReleaseTick());
+            out.putInt(t.getIoEventCycle());
+            out.putInt(t.getIoServiceDuration());
+            out.putLong(t.getMaxPeriodTicks());
+            out.putLong(t.getMaxJobs());
+            out.putLong(t.getJobsReleased());
+            out.putInt(t.getCpuId());
+        }
+
+        out.putInt(memory.getMaxProcessesInMemory());
+        out.putLong(memory.getSwapOuts());
+        out.putLong(memory.getSwapIns());
+        Object[] suspended = memory.suspendedToArray(); // el índice reordena al cargar
+        out.putInt(suspended.length);
+        for (Object p : suspended) out.putPcb((PCB) p);
+
+        metrics.saveTo(out);
+    }
+
+    static OperatingSystem loadFrom(KernelCheckpoint.In in) throws IOException {
+        long tick = in.getLong();
+        int quantum = in.getInt();
+        int cpus = in.getInt();
+        OperatingSystem os = new OperatingSystem(quantum, cpus, SmpMode.values()[in.getByte()]);
+        os.globalTick = tick;
+        os.applyPolicy(SchedulingPolicy.values()[in.getByte()]); // restaurar no es un cambio de política
+        for (int c = 0; c < cpus; c++) {
+            PCB p = in.getPcb();
+            os.cpuQuantumTicks[c] = in.getInt();
+            os.assignedCount[c] = in.getInt();
+            os.assignedWork[c] = in.getLong();
+            if (p != null) {
+                os.attach(p);
+                os.running[c] = p;
+                os.busyCpus++;
+                if (os.worstRunning != null) os.worstRunning.add(c);
+            }
+        }
+        os.isrTicksRemaining = in.getInt();
+        os.interruptsHandled = in.getLong();
+        os.lastInterruptLatency = in.getLong();
+
+        for (int n = in.getInt(); n > 0; n--) os.newQueue.enqueue(in.getPcb());
+        for (ReadyQueue q : os.readyQueues) {
+            for (int n = in.getInt(); n > 0; n--) q.add(os.attachRestored(in.getPcb()));
+        }
+        for (int n = in.getInt(); n > 0; n--) os.blockedList.add(os.attachRestored(in.getPcb()));
+        os.terminatedHistoryLimit = in.getInt();
+        for (int n = in.getInt(); n > 0; n--) os.terminatedList.enqueue(in.getPcb());
+        for (int n = in.getInt(); n > 0; n--) os.deadlineIndex.track(os.attachRestored(in.getPcb()));
+
+        os.ioWheel.reset(in.getLong());
+        for (int n = in.getInt(); n > 0; n--) {
+            PCB p = os.attachRestored(in.getPcb());
+            os.ioHandles.set(os.pcbTable.rowOf(p), os.ioWheel.schedule(p, in.getLong()));
+        }
+
+        os.workloadPulled = in.getLong();
+        os.admittedCount = in.getLong();
+
+        os.admission.setMode(AdmissionControl.Mode.values()[in.getByte()]);
+        os.admission.restoreCounters(in.getLong(), in.getLong(), in.getLong());
+        // El calendario se rearma desde nextReleaseTick en orden de registro
+        os.periodic.restore(tick, in.getInt(), in.getLong(), in.getLong());
+        for (int n = in.getInt(); n > 0; n--) {
+            PeriodicTaskTemplate t = new PeriodicTaskTemplate(in.getString(), in.getInt(), in.getLong(), in.getLong(),
+                    in.getInt(), in.getLong());
+            t.setIoPattern(in.getInt(), in.getInt());
+            t.setMaxPeriodTicks(in.getLong());
+            t.setMaxJobs(in.getLong());
+            t.restoreCounters(in.getLong(), in.getInt());
+            os.admission.restore(t);
+            os.periodic.add(t);
+        }
+
+        os.setMaxProcessesInMemory(in.getInt());
+        os.memory.restoreCounters(in.getLong(), in.getLong());
+        for (int n = in.getInt(); n > 0; n--) os.memory.track(os.attachRestored(in.getPcb()));
+
+        os.metrics.loadFrom(in);
+        return os;
+    }
+
+    /** loadFrom: cada proceso vivo vuelve a tener fila la primera vez que aparece. */
+    private PCB attachRestored(PCB p) {
+        if (!pcbTable.contains(p)) attach(p);
+        return p;
+    }
+
+    // --- Traza binaria ---
+
+    /**
+     * Empieza a trazar en writer (escribe un keyframe con el estado actual).
+     * El llamador cierra el writer después de stopTrace().
+     */
+    public void startTrace(TraceWriter writer) {
+        if (writer == null) {
+            throw new IllegalArgumentException("writer cannot be null");
+        }
+        this.trace = writer;
+        writeKeyframe();
+    }
+
+    /** Deja de trazar y devuelve el writer que estaba en uso (o null). */
+    public TraceWriter stopTrace() {
+        TraceWriter writer = trace;
+        trace = null;
+        return writer;
+    }
+
+    /** Estado completo como registros ADMIT + READY/BLOCK/DISPATCH/SUSPEND. */
+    private void writeKeyframe() {
+        long begin = trace.getRecordCount();
+        trace.record(globalTick, TraceWriter.REC_KEYFRAME_BEGIN, smpMode.ordinal(), currentPolicy.ordinal(),
+                trace.getNextTraceId(), metrics.getTerminatedCount(), quantum, cpuCount);
+        for (ReadyQueue q : readyQueues) {
+            q.forEach(this::traceKeyframeReady);
+        }
+        blockedList.forEach(p -> {
+            traceAdmit(p);
+            trace.record(globalTick, TraceWriter.REC_BLOCK, TraceWriter.REASON_NONE, 0, traceIdOf(p),
+                    p.getProgramCounter(), -1, 0);
+        });
+        for (int c = 0; c < cpuCount; c++) {
+            PCB p = running[c];
+            if (p == null) continue;
+            traceAdmit(p);
+            trace.record(globalTick, TraceWriter.REC_DISPATCH, 0, c, traceIdOf(p), p.getProgramCounter(),
+                    cpuQuantumTicks[c], 0);
+        }
+        for (Object p : memory.suspendedToArray()) {
+            traceAdmit((PCB) p);
+            traceSuspend((PCB) p);
+        }
+        trace.record(globalTick, TraceWriter.REC_KEYFRAME_END, 0, 0, -1, begin, 0, 0);
+        trace.keyframeWritten(begin);
+    }
+
+    private void traceKeyframeReady(PCB p) {
+        traceAdmit(p);
+        trace.record(globalTick, TraceWriter.REC_READY, 0, partitionOf(p), traceIdOf(p), p.getProgramCounter(), 0, 0);
+    }
+
+    private void tracePreempt(int c, PCB candidate) {
+        if (trace != null) {
+            trace.record(globalTick, TraceWriter.REC_PREEMPT, preemptReason(), c, traceIdOf(running[c]),
+                    traceIdOf(candidate), running[c].getProgramCounter(), 0);
+        }
+    }
+
+    private void traceSuspend(PCB p) {
+        trace.record(globalTick, TraceWriter.REC_SUSPEND, 0, p.getState().ordinal(), traceIdOf(p),
+                p.getProgramCounter(), 0, 0);
+    }
+
+    /** ADMIT: el pid real va en el registro; el proceso recibe el id de traza que usan los demás. */
+    private void traceAdmit(PCB p) {
+        traceIds.set(pcbTable.rowOf(p), trace.takeTraceId());
+        trace.record(globalTick, TraceWriter.REC_ADMIT, 0, partitionOf(p), p.getPid(), p.getArrivalTick(),
+                p.getDeadlineTick(), ((long) p.getTotalInstructions() << 32) | (p.getPriority() & 0xFFFFFFFFL));
+    }
+
     // Getters / Setters
     public long getGlobalTick() { return globalTick; }
-    public PCB getCpu() { return cpu; }
+    /** Proceso en la CPU 0. */
+    public PCB getCpu() { return running[0]; }
+    public PCB getRunning(int cpu) { return running[cpu]; }
+    public int getCpuCount() { return cpuCount; }
+    public SmpMode getSmpMode() { return smpMode; }
+    public int getBusyCpus() { return busyCpus; }
     public int getQuantum() { return quantum; }
+    public SchedulingPolicy getPolicy() { return currentPolicy; }
+    public KernelEventInbox getEventInbox() { return eventInbox; }
+    public KernelEventLog getEventLog() { return eventLog; }
+    /** Instrumentación por fase; apagada hasta profiler.setEnabled(true). */
+    public KernelProfiler getProfiler() { return profiler; }
+    public boolean isKernelMode() { return isrTicksRemaining > 0; }
+    public long getInterruptsHandled() { return interruptsHandled; }
+    public long getLastInterruptLatency() { return lastInterruptLatency; }
+    public int getBlockedCount() { return blockedList.size(); }
+    public long getContextSwitches() { return metrics.getContextSwitches(); }
+    public long getDeadlineMisses() { return metrics.getDeadlineMisses(); }
+    public long getMigrations() { return metrics.getMigrations(); }
+    public MetricsEngine getMetrics() { return metrics; }
+    public ProcessExecutor getProcessExecutor() { return executor; }
+    public KernelSnapshotPublisher getSnapshotPublisher() { return snapshotPublisher; }
+    public int getNewCount() { return newQueue.size(); }
+    public long getAdmittedCount() { return admittedCount; }
+    public MediumTermScheduler getMediumTermScheduler() { return memory; }
+    public int getMaxProcessesInMemory() { return memory.getMaxProcessesInMemory(); }
+    public AdmissionControl getAdmissionControl() { return admission; }
+    public int getPeriodicTaskCount() { return periodic.getTemplateCount(); }
+    public long getPeriodicJobsReleased() { return periodic.getJobsReleased(); }
+    public long getMaxPeriodicJobs() { return periodic.getMaxJobs(); }
+    public int getSuspendedCount() { return memory.getSuspendedCount(); }
+    public int getReadyCount() {
+        int n = 0;
+        for (ReadyQueue q : readyQueues) n += q.size();
+        return n;
+    }
+    /** Terminados desde el inicio (también los que ya salieron del historial). */
+    public int getTerminatedCount() { return (int) metrics.getTerminatedCount(); }
+    /** Los terminados que siguen en el historial, del más viejo al más nuevo. */
+    public Object[] getTerminatedSnapshot() { return terminatedList.toArray(); }
+    public int getTerminatedHistoryLimit() { return terminatedHistoryLimit; }
+    public PcbPool getPcbPool() { return pcbPool; }
     public void setQuantum(int quantum) { this.quantum = quantum; }
 }
@@ -0,0 +1,196 @@
+/*
+ * PeriodicReleaseEngine.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import ve.edu.unimet.so.proyecto1.datastructures.SimpleList;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+import ve.edu.unimet.so.proyecto1.models.PcbPool;
+import ve.edu.unimet.so.proyecto1.models.PeriodicTaskTemplate;
+
+/**
+ * Calendario de liberaciones de las tareas periódicas (§8).
+ *
+ * Cada plantilla con jobs por liberar está agendada una sola vez en una
+ * TimingWheel para su nextReleaseTick. En cada tick solo se sacan las que
+ * vencen: el costo es proporcional a los jobs liberados, no a la cantidad
+ * de plantillas. Las que vencen en el mismo tick salen en un lote, en el
+ * orden en que se registraron (no depende del orden interno de la rueda).
+ *
+ * Los PCBs de los jobs salen de un PcbPool (reciclados cuando hay libres).
+ *
+ * Límites: una plantilla que llega a su maxJobs sale del calendario; con el
+ * límite global alcanzado el calendario se congela (no avanza) y las
+ * plantillas que ya vencieron esperan ahí hasta que se suba el límite.
+ */
+public class PeriodicReleaseEngine {
+
+    /** Recibe cada job liberado (arrivalTick = release nominal). */
+    public interface JobSink {
+        void onRelease(PCB job);
+    }
+
+    /** Plantilla registrada: su orden de registro y su handle en la rueda. */
+    private static final class Entry {
+        final PeriodicTaskTemplate template;
+        final long seq;
+        int handle = -1;
+
+        Entry(PeriodicTaskTemplate template, long seq) {
+            this.template = template;
+            this.seq = seq;
+        }
+    }
+
+    private final PcbPool pool;
+    private final TimingWheel<Entry> calendar = new TimingWheel<>();
+    private final TimingWheel.ExpiryHandler<Entry> collector = this::collect;
+    private final SimpleList<Entry> entries = new SimpleList<>(); // orden de registro
+    private Entry[] batch = new Entry[16];
+    private int batchSize;
+    private long nextSeq;
+
+    private int nextJobPid = OperatingSystem.PERIODIC_PID_BASE;
+    private long jobsReleased;
+    private long maxJobs = PeriodicTaskTemplate.UNLIMITED_JOBS;
+
+    public PeriodicReleaseEngine() {
+        this(new PcbPool());
+    }
+
+    public PeriodicReleaseEngine(PcbPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null");
+        }
+        this.pool = pool;
+    }
+
+    /** Registra la plantilla; su primer job sale en su nextReleaseTick. */
+    public void add(PeriodicTaskTemplate template) {
+        if (template == null) {
+            throw new IllegalArgumentException("template cannot be null");
+        }
+        Entry e = new Entry(template, nextSeq++);
+        entries.add(e);
+        arm(e);
+    }
+
+    /** Saca la plantilla del calendario (los jobs ya liberados siguen). */
+    public boolean remove(PeriodicTaskTemplate template) {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry e = entries.get(i);
+            if (e.template != template) continue;
+            if (e.handle >= 0) calendar.cancel(e.handle);
+            entries.removeAt(i);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Libera un job de cada plantilla vencida (nextReleaseTick <= tick) y se
+     * lo entrega a sink. Una plantilla atrasada libera uno por tick.
+     *
+     * @return jobs liberados
+     */
+    public int release(long tick, JobSink sink) {
+        if (jobsReleased >= maxJobs) return 0;
+        batchSize = 0;
+        calendar.advanceTo(tick, collector);
+        if (batchSize == 0) return 0;
+        sortBatch();
+
+        int released = 0;
+        for (int i = 0; i < batchSize; i++) {
+            Entry e = batch[i];
+            batch[i] = null;
+            e.handle = -1;
+            if (jobsReleased < maxJobs) {
+                sink.onRelease(newJob(e.template));
+                released++;
+            }
+            arm(e); // sin cupo global queda vencida y espera
+        }
+        return released;
+    }
+
+    /**
+     * Primer tick posterior a now en el que release() puede liberar algo, o
+     * Long.MAX_VALUE si no hay plantillas con jobs o se llegó al límite global.
+     */
+    public long nextReleaseTick(long now) {
+        if (jobsReleased >= maxJobs) return Long.MAX_VALUE;
+        long next = calendar.nextEventTick();
+        return next == Long.MAX_VALUE ? next : Math.max(next, now + 1);
+    }
+
+    /** Límite de jobs en total (además del límite de cada plantilla). */
+    public void setMaxJobs(long max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("max must be >= 0");
+        }
+        this.maxJobs = max;
+    }
+
+    /** pid del próximo job; por defecto OperatingSystem.PERIODIC_PID_BASE. */
+    public void setNextJobPid(int pid) {
+        if (pid < 0) {
+            throw new IllegalArgumentException("pid must be >= 0");
+        }
+        this.nextJobPid = pid;
+    }
+
+    /** Para restaurar un checkpoint: el calendario queda vacío en el tick indicado. */
+    void restore(long tick, int nextJobPid, long jobsReleased, long maxJobs) {
+        calendar.reset(tick);
+        entries.clear();
+        this.nextJobPid = nextJobPid;
+        this.jobsReleased = jobsReleased;
+        this.maxJobs = maxJobs;
+    }
+
+    public int getTemplateCount() { return entries.size(); }
+    public PeriodicTaskTemplate getTemplate(int index) { return entries.get(index).template; }
+    public int getNextJobPid() { return nextJobPid; }
+    public long getJobsReleased() { return jobsReleased; }
+    public long getMaxJobs() { return maxJobs; }
+
+    private PCB newJob(PeriodicTaskTemplate t) {
+        long nominal = t.getNextReleaseTick();
+        // Nombre name#k sin armar el String; particionado: la CPU de la plantilla
+        PCB job = pool.acquire(nextJobPid++, t.getName(), t.getWcet(), t.getPriority(), nominal,
+                nominal + t.getRelativeDeadlineTicks(), t.getIoEventCycle(), t.getIoServiceDuration(),
+                t.getJobsReleased(), t.getCpuId());
+        t.markReleased();
+        jobsReleased++;
+        return job;
+    }
+
+    private void arm(Entry e) {
+        if (e.template.hasJobsLeft()) {
+            e.handle = calendar.schedule(e, e.template.getNextReleaseTick());
+        }
+    }
+
+    private void collect(Entry e, long tick) {
+        if (batchSize == batch.length) {
+            Entry[] bigger = new Entry[batch.length * 2];
+            System.arraycopy(batch, 0, bigger, 0, batchSize);
+            batch = bigger;
+        }
+        batch[batchSize++] = e;
+    }
+
+    /** Inserción por orden de registro: el lote casi siempre ya viene ordenado. */
+    private void sortBatch() {
+        for (int i = 1; i < batchSize; i++) {
+            Entry e = batch[i];
+            int j = i - 1;
+            while (j >= 0 && batch[j].seq > e.seq) {
+                batch[j + 1] = batch[j];
+                j--;
+            }
+            batch[j + 1] = e;
+        }
+    }
+}
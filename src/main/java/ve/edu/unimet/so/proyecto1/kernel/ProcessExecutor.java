@@ -0,0 +1,48 @@
+/*
+ * ProcessExecutor.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import ve.edu.unimet.so.proyecto1.models.PCB;
+
+/**
+ * Quién ejecuta las instrucciones de los procesos en CPU (§12.3).
+ *
+ * El kernel entrega una concesión de K ticks a todas las CPUs ocupadas a la
+ * vez y no sigue hasta que terminan. K nunca pasa del próximo punto donde la
+ * planificación puede cambiar (fin de quantum, disparo de I/O, terminación,
+ * evento agendado), así que el resultado es el mismo que con K = 1.
+ */
+public interface ProcessExecutor extends AutoCloseable {
+
+    /**
+     * Ejecuta ticks instrucciones de cada proceso no nulo de running y vuelve
+     * cuando todos terminaron.
+     */
+    void run(PCB[] running, int ticks);
+
+    /** El proceso terminó: no recibirá más concesiones. */
+    void retire(PCB process);
+
+    /** Libera los recursos de los procesos que no terminaron. */
+    @Override
+    void close();
+
+    /** En el hilo del kernel, sin handshake (por defecto). */
+    ProcessExecutor INLINE = new ProcessExecutor() {
+        @Override
+        public void run(PCB[] running, int ticks) {
+            for (PCB p : running) {
+                if (p != null) p.executeCycles(ticks);
+            }
+        }
+
+        @Override
+        public void retire(PCB process) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+}
@@ -0,0 +1,185 @@
+/*
+ * ReadyQueue.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import ve.edu.unimet.so.proyecto1.datastructures.Compare;
+import ve.edu.unimet.so.proyecto1.datastructures.IndexedIntHeap;
+import ve.edu.unimet.so.proyecto1.datastructures.IndexedIntRingQueue;
+import ve.edu.unimet.so.proyecto1.datastructures.IntPriorityArrayQueue;
+import ve.edu.unimet.so.proyecto1.datastructures.OrderedList;
+import ve.edu.unimet.so.proyecto1.datastructures.RingQueue;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+import ve.edu.unimet.so.proyecto1.models.PcbTable;
+
+/**
+ * Cola READY de una política: arreglo circular para FCFS/RR (RR re-encola
+ * sin crear nodos), arreglo de prioridades con bitmap para PRIORITY (el
+ * mejor nivel sale de un leading-zero count) o heap O(log n) para SRT/EDF.
+ * En modo global hay una sola para todas las CPUs; en modo particionado,
+ * una por CPU.
+ *
+ * Guarda filas de la PcbTable del kernel, no PCBs: los comparadores leen
+ * columnas contiguas en vez de saltar por el heap de objetos, y la fila es
+ * el handle para sacar a un proceso sin buscarlo: O(1) en FCFS/RR, O(log n)
+ * en heap y niveles. Cada add() copia a la fila los contadores del PCB
+ * (mientras está en READY no cambian).
+ */
+final class ReadyQueue {
+
+    private final PcbTable table;
+    private final IndexedIntRingQueue fifo = new IndexedIntRingQueue();
+    private final IntPriorityArrayQueue levels;
+    private IndexedIntHeap sorted;
+    private SchedulingPolicy policy;
+    private int version;
+    private int[] scratch = new int[16];
+
+    ReadyQueue(PcbTable table, SchedulingPolicy policy) {
+        this.table = table;
+        this.policy = policy;
+        this.levels = new IntPriorityArrayQueue(table::getPriority, table.priorityComparator());
+        this.sorted = new IndexedIntHeap(heapComparator(isHeap() ? policy : SchedulingPolicy.SRT));
+    }
+
+    void add(PCB p) {
+        int row = table.rowOf(p);
+        table.sync(row);
+        if (isFifo()) {
+            fifo.enqueue(row);
+        } else if (policy == SchedulingPolicy.PRIORITY) {
+            levels.add(row);
+        } else {
+            sorted.add(row);
+        }
+        version++;
+    }
+
+    /** Próximo a despachar (lo saca), o null. */
+    PCB poll() {
+        int row = isFifo() ? fifo.dequeue()
+                : policy == SchedulingPolicy.PRIORITY ? levels.pollFirst() : sorted.pollFirst();
+        if (row < 0) return null;
+        version++;
+        return table.pcbAt(row);
+    }
+
+    /** Próximo a despachar sin sacarlo, o null. */
+    PCB peek() {
+        int row = isFifo() ? fifo.peek() : policy == SchedulingPolicy.PRIORITY ? levels.peekFirst() : sorted.peekFirst();
+        return row < 0 ? null : table.pcbAt(row);
+    }
+
+    /**
+     * PRIORITY: prioridad más alta en la cola, leída del bitmap sin tocar
+     * los procesos (Integer.MIN_VALUE si está vacía).
+     */
+    int topPriority() {
+        return levels.topLevel();
+    }
+
+    /** Saca p por su fila (swap-out, replay) sin recorrer la cola. */
+    boolean remove(PCB p) {
+        if (!table.contains(p)) return false;
+        int row = table.rowOf(p);
+        boolean removed = isFifo() ? fifo.remove(row)
+                : policy == SchedulingPolicy.PRIORITY ? levels.remove(row) : sorted.remove(row);
+        if (removed) version++;
+        return removed;
+    }
+
+    int size() {
+        return fifo.size() + levels.size() + sorted.size();
+    }
+
+    boolean isEmpty() {
+        return fifo.isEmpty() && levels.isEmpty() && sorted.isEmpty();
+    }
+
+    /** Cambia con cada alta, baja o cambio de política (para KernelSnapshotPublisher). */
+    int version() {
+        return version;
+    }
+
+    /** Procesos en orden de cola (FIFO) o de heap/niveles (no ordenados). */
+    void forEach(RingQueue.Visitor<PCB> visitor) {
+        int n = copyRows();
+        for (int i = 0; i < n; i++) {
+            visitor.visit(table.pcbAt(scratch[i]));
+        }
+    }
+
+    /** Copia a dest (como RingQueue/IndexedHeap.copyInto); solo la estructura de la política tiene procesos. */
+    int copyInto(Object[] dest) {
+        int n = size();
+        if (dest.length < n) {
+            throw new IllegalArgumentException("dest too small: " + dest.length + " < " + n);
+        }
+        copyRows();
+        for (int i = 0; i < n; i++) {
+            dest[i] = table.pcbAt(scratch[i]);
+        }
+        return n;
+    }
+
+    Object[] toArray() {
+        Object[] out = new Object[size()];
+        copyInto(out);
+        return out;
+    }
+
+    /**
+     * Cambia la política y reordena lo que haya: un solo sort estable
+     * O(n log n) en vez de n inserciones.
+     */
+    void setPolicy(SchedulingPolicy newPolicy) {
+        int n = copyRows();
+        this.policy = newPolicy;
+        version++;
+        // Se reordena todo abajo, asi que no hace falta vaciar heap ni niveles en orden
+        fifo.clear();
+        levels.clear();
+
+        Object[] pcbs = new Object[n];
+        for (int i = 0; i < n; i++) {
+            pcbs[i] = table.pcbAt(scratch[i]);
+        }
+        OrderedList<PCB> ordered = new OrderedList<>(OperatingSystem.comparatorFor(newPolicy), Math.max(10, n));
+        ordered.buildFrom(pcbs);
+
+        if (isFifo()) {
+            this.sorted = new IndexedIntHeap(heapComparator(SchedulingPolicy.SRT));
+            ordered.forEach(p -> fifo.enqueue(table.rowOf(p)));
+        } else if (newPolicy == SchedulingPolicy.PRIORITY) {
+            this.sorted = new IndexedIntHeap(heapComparator(SchedulingPolicy.SRT));
+            ordered.forEach(p -> levels.add(table.rowOf(p))); // en orden: cada nivel recibe sus procesos ya ordenados
+        } else {
+            this.sorted = new IndexedIntHeap(heapComparator(newPolicy), Math.max(10, n));
+            // Entrada ya ordenada: cada add al heap termina sin subir (O(1))
+            ordered.forEach(p -> sorted.add(table.rowOf(p)));
+        }
+    }
+
+    /** Copia las filas encoladas a scratch (en el orden de forEach) y devuelve cuántas son. */
+    private int copyRows() {
+        int n = size();
+        if (scratch.length < n) {
+            scratch = new int[Math.max(n, scratch.length * 2)];
+        }
+        if (!fifo.isEmpty()) return fifo.copyInto(scratch);
+        if (!levels.isEmpty()) return levels.copyInto(scratch);
+        return sorted.copyInto(scratch, 0);
+    }
+
+    private Compare.IntComparator heapComparator(SchedulingPolicy p) {
+        return p == SchedulingPolicy.EDF ? table.edfComparator() : table.srtComparator();
+    }
+
+    private boolean isFifo() {
+        return policy == SchedulingPolicy.FCFS || policy == SchedulingPolicy.RR;
+    }
+
+    private boolean isHeap() {
+        return policy == SchedulingPolicy.SRT || policy == SchedulingPolicy.EDF;
+    }
+}
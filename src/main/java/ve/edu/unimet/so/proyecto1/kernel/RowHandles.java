@@ -0,0 +1,41 @@
+/*
+ * RowHandles.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+/**
+ * Un int por fila de la PcbTable del kernel (-1 = sin handle): dónde está
+ * cada proceso en los índices y la rueda del kernel, fuera del PCB. Crece
+ * con la fila más alta que se use.
+ */
+final class RowHandles {
+
+    private int[] values;
+
+    RowHandles() {
+        this(64);
+    }
+
+    RowHandles(int initialCapacity) {
+        values = new int[initialCapacity];
+        fill(values, 0);
+    }
+
+    int get(int row) {
+        return row < values.length ? values[row] : -1;
+    }
+
+    void set(int row, int value) {
+        if (row >= values.length) {
+            int[] bigger = new int[Math.max(values.length * 2, row + 1)];
+            System.arraycopy(values, 0, bigger, 0, values.length);
+            fill(bigger, values.length);
+            values = bigger;
+        }
+        values[row] = value;
+    }
+
+    private static void fill(int[] a, int from) {
+        for (int i = from; i < a.length; i++) a[i] = -1;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * RowQueue.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import ve.edu.unimet.so.proyecto1.datastructures.IndexedIntRingQueue;
+import ve.edu.unimet.so.proyecto1.datastructures.RingQueue;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+import ve.edu.unimet.so.proyecto1.models.PcbTable;
+
+/**
+ * Procesos en orden de llegada (BLOCKED del kernel; BLOCKED y suspendidos
+ * del replay), guardados por su fila de la PcbTable: remove(p) usa la fila
+ * como handle y es O(1) sin alterar el orden del resto, en vez de buscar
+ * al proceso por identidad.
+ */
+final class RowQueue {
+
+    private final PcbTable table;
+    private final IndexedIntRingQueue rows = new IndexedIntRingQueue();
+    private int version;
+    private int[] scratch = new int[16];
+
+    RowQueue(PcbTable table) {
+        this.table = table;
+    }
+
+    void add(PCB p) {
+        rows.enqueue(table.rowOf(p));
+        version++;
+    }
+
+    /** Saca p por su fila; false si no estaba. */
+    boolean remove(PCB p) {
+        if (!table.contains(p) || !rows.remove(table.rowOf(p))) return false;
+        version++;
+        return true;
+    }
+
+    /** Primero (en orden de llegada) con ese pid, o null. Recorre la cola. */
+    PCB findPid(int pid) {
+        int n = copyRows();
+        for (int i = 0; i < n; i++) {
+            PCB p = table.pcbAt(scratch[i]);
+            if (p.getPid() == pid) return p;
+        }
+        return null;
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /** Cambia con cada alta o baja (para KernelSnapshotPublisher). */
+    int version() {
+        return version;
+    }
+
+    void forEach(RingQueue.Visitor<PCB> visitor) {
+        int n = copyRows();
+        for (int i = 0; i < n; i++) {
+            visitor.visit(table.pcbAt(scratch[i]));
+        }
+    }
+
+    /** Copia los procesos en orden a dest y devuelve cuántos son. */
+    int copyInto(Object[] dest) {
+        int n = rows.size();
+        if (dest.length < n) {
+            throw new IllegalArgumentException("dest too small: " + dest.length + " < " + n);
+        }
+        copyRows();
+        for (int i = 0; i < n; i++) {
+            dest[i] = table.pcbAt(scratch[i]);
+        }
+        return n;
+    }
+
+    Object[] toArray() {
+        Object[] out = new Object[rows.size()];
+        copyInto(out);
+        return out;
+    }
+
+    private int copyRows() {
+        int n = rows.size();
+        if (scratch.length < n) {
+            scratch = new int[Math.max(n, scratch.length * 2)];
+        }
+        return rows.copyInto(scratch);
+    }
+}
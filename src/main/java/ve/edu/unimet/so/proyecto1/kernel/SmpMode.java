@@ -0,0 +1,17 @@
+/*
+ * SmpMode.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+/**
+ * Cómo se reparten los procesos entre varias CPUs.
+ *
+ * - GLOBAL: una sola cola READY; cada tick corren los N mejores según la
+ *   política y un proceso puede migrar de CPU en cada despacho.
+ * - PARTITIONED: cada proceso queda asignado a una CPU al ser admitido
+ *   (CpuPlacement) y solo compite en la cola READY de esa CPU.
+ */
+public enum SmpMode {
+    GLOBAL,
+    PARTITIONED
+}
@@ -0,0 +1,343 @@
+/*
+ * TimingWheel.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+/**
+ * Rueda de tiempo jerárquica para despertares en ticks futuros (fin de I/O,
+ * liberaciones periódicas, etc.).
+ *
+ * 11 niveles de 64 slots: el nivel l agrupa por los bits [6l, 6l+6) del tick
+ * de expiración, así cubre todo el rango de un long sin lista de desborde.
+ * Cada entrada se agenda una vez; al avanzar el reloj solo se tocan los
+ * slots que vencen (los de niveles altos se "bajan" de nivel al llegar su
+ * turno). El costo por tick no depende de cuántas entradas estén dormidas.
+ *
+ * Las entradas viven en arreglos preasignados (sin objeto por agenda) y se
+ * identifican con un handle int para poder cancelarlas en O(1).
+ *
+ * Dentro de un mismo tick las entradas vencen en orden determinista.
+ */
+public class TimingWheel<T> {
+
+    public interface ExpiryHandler<T> {
+        void onExpired(T item, long tick);
+    }
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 11; // 11 * 6 = 66 bits >= 64
+
+    // Buckets: lista doblemente enlazada por (nivel, slot)
+    private final int[] bucketHead = new int[LEVELS * SLOTS];
+    private final int[] bucketTail = new int[LEVELS * SLOTS];
+    private final long[] occupied = new long[LEVELS]; // bit s = slot s no vacío
+
+    // Pool de entradas
+    private long[] expiry;
+    private Object[] items;
+    private int[] next;
+    private int[] prev;
+    private int[] bucketOf; // -1 = entrada libre
+    private int freeHead;   // lista de libres encadenada por next[]
+
+    private long currentTick;
+    private int size;
+    private int firing = -1; // entrada que se está entregando (ver getFiringHandle)
+
+    public TimingWheel() {
+        this(0, 64);
+    }
+
+    public TimingWheel(long startTick, int initialCapacity) {
+        if (startTick < 0) {
+            throw new IllegalArgumentException("startTick must be >= 0");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be > 0");
+        }
+        for (int b = 0; b < bucketHead.length; b++) {
+            bucketHead[b] = -1;
+            bucketTail[b] = -1;
+        }
+        this.currentTick = startTick;
+        this.expiry = new long[initialCapacity];
+        this.items = new Object[initialCapacity];
+        this.next = new int[initialCapacity];
+        this.prev = new int[initialCapacity];
+        this.bucketOf = new int[initialCapacity];
+        linkFree(0, initialCapacity);
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Agenda item para el tick indicado y devuelve su handle. Si el tick ya
+     * pasó (<= tick actual) vence en el próximo advanceTo().
+     */
+    public int schedule(T item, long tick) {
+        if (item == null) {
+            throw new IllegalArgumentException("item cannot be null");
+        }
+        if (freeHead == -1) {
+            grow();
+        }
+        int e = freeHead;
+        freeHead = next[e];
+        expiry[e] = Math.max(tick, currentTick + 1);
+        items[e] = item;
+        place(e);
+        size++;
+        return e;
+    }
+
+    public boolean isScheduled(int handle) {
+        return handle >= 0 && handle < bucketOf.length && bucketOf[handle] >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int handle) {
+        checkHandle(handle);
+        return (T) items[handle];
+    }
+
+    public long getExpiry(int handle) {
+        checkHandle(handle);
+        return expiry[handle];
+    }
+
+    /**
+     * Handle de la entrada que se está entregando al handler (ya liberado),
+     * o -1 fuera de advanceTo(). Sirve para reconocer entradas viejas.
+     */
+    public int getFiringHandle() {
+        return firing;
+    }
+
+    /** Cancela la entrada; el handle queda libre para reutilizarse. */
+    @SuppressWarnings("unchecked")
+    public T cancel(int handle) {
+        checkHandle(handle);
+        T item = (T) items[handle];
+        unlink(handle);
+        release(handle);
+        return item;
+    }
+
+    /**
+     * Cota inferior del próximo tick en el que advanceTo() tendrá trabajo
+     * (una expiración o un cambio de nivel), o Long.MAX_VALUE si está vacía.
+     * Entre el tick actual y esa cota se puede saltar sin consultar la rueda.
+     */
+    public long nextEventTick() {
+        if (size == 0) return Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            long bits = occupied[level];
+            if (bits == 0) continue;
+            int shift = SLOT_BITS * level;
+            int digit = (int) (currentTick >>> shift) & SLOT_MASK;
+            long ahead = digit == SLOT_MASK ? 0 : bits & (-1L << (digit + 1));
+            if (ahead == 0) continue;
+            int slot = Long.numberOfTrailingZeros(ahead);
+            return windowStart(level) | ((long) slot << shift);
+        }
+        return Long.MAX_VALUE; // no debería ocurrir con size > 0
+    }
+
+    /**
+     * Avanza el reloj hasta tick, entregando al handler cada entrada vencida
+     * (en orden de expiración). Los handles entregados quedan libres.
+     *
+     * @return cantidad de entradas vencidas
+     */
+    public int advanceTo(long tick, ExpiryHandler<T> handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("handler cannot be null");
+        }
+        int fired = 0;
+        while (true) {
+            long bound = nextEventTick();
+            if (bound > tick) break;
+            currentTick = bound;
+            fired += processCurrent(handler);
+        }
+        if (tick > currentTick) {
+            currentTick = tick;
+        }
+        return fired;
+    }
+
+    /**
+     * Visita las entradas agendadas sin sacarlas. Las que vencen en el mismo
+     * tick se visitan en el orden en que van a vencer, así que volver a
+     * agendarlas en este orden (sobre una rueda en el mismo tick) reproduce
+     * el mismo orden de expiración.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachScheduled(ExpiryHandler<T> visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("visitor cannot be null");
+        }
+        for (int b = 0; b < bucketHead.length; b++) {
+            for (int e = bucketHead[b]; e != -1; e = next[e]) {
+                visitor.onExpired((T) items[e], expiry[e]);
+            }
+        }
+    }
+
+    /** Vacía la rueda y la deja en el tick indicado. */
+    public void reset(long tick) {
+        if (tick < 0) {
+            throw new IllegalArgumentException("tick must be >= 0");
+        }
+        clear();
+        currentTick = tick;
+    }
+
+    public void clear() {
+        for (int b = 0; b < bucketHead.length; b++) {
+            int e = bucketHead[b];
+            while (e != -1) {
+                int n = next[e];
+                release(e);
+                e = n;
+            }
+            bucketHead[b] = -1;
+            bucketTail[b] = -1;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            occupied[level] = 0;
+        }
+        size = 0;
+    }
+
+    /** Procesa los slots cuyo turno empieza exactamente en currentTick. */
+    @SuppressWarnings("unchecked")
+    private int processCurrent(ExpiryHandler<T> handler) {
+        int fired = 0;
+        // De arriba hacia abajo: lo que baja de nivel puede caer en un slot que también empieza ahora
+        for (int level = LEVELS - 1; level >= 0; level--) {
+            int shift = SLOT_BITS * level;
+            if (level > 0 && (currentTick & ((1L << shift) - 1)) != 0) continue;
+            int slot = (int) (currentTick >>> shift) & SLOT_MASK;
+            if ((occupied[level] & (1L << slot)) == 0) continue;
+            int b = level * SLOTS + slot;
+            int e = bucketHead[b];
+            bucketHead[b] = -1;
+            bucketTail[b] = -1;
+            occupied[level] &= ~(1L << slot);
+            while (e != -1) {
+                int n = next[e];
+                if (level == 0) {
+                    T item = (T) items[e];
+                    long at = expiry[e];
+                    release(e);
+                    fired++;
+                    firing = e;
+                    handler.onExpired(item, at);
+                    firing = -1;
+                } else {
+                    place(e);
+                }
+                e = n;
+            }
+        }
+        return fired;
+    }
+
+    /** Ubica la entrada en el nivel según el bit más alto en que difiere de currentTick. */
+    private void place(int e) {
+        long diff = expiry[e] ^ currentTick;
+        int level = diff == 0 ? 0 : (63 - Long.numberOfLeadingZeros(diff)) / SLOT_BITS;
+        int slot = (int) (expiry[e] >>> (SLOT_BITS * level)) & SLOT_MASK;
+        int b = level * SLOTS + slot;
+        next[e] = -1;
+        prev[e] = bucketTail[b];
+        if (bucketTail[b] == -1) {
+            bucketHead[b] = e;
+        } else {
+            next[bucketTail[b]] = e;
+        }
+        bucketTail[b] = e;
+        bucketOf[e] = b;
+        occupied[level] |= 1L << slot;
+    }
+
+    private void unlink(int e) {
+        int b = bucketOf[e];
+        if (prev[e] == -1) {
+            bucketHead[b] = next[e];
+        } else {
+            next[prev[e]] = next[e];
+        }
+        if (next[e] == -1) {
+            bucketTail[b] = prev[e];
+        } else {
+            prev[next[e]] = prev[e];
+        }
+        if (bucketHead[b] == -1) {
+            occupied[b / SLOTS] &= ~(1L << (b % SLOTS));
+        }
+    }
+
+    private void release(int e) {
+        items[e] = null;
+        bucketOf[e] = -1;
+        next[e] = freeHead;
+        freeHead = e;
+        size--;
+    }
+
+    /** Primer tick de la ventana del nivel (bits por encima del nivel iguales a currentTick). */
+    private long windowStart(int level) {
+        int shift = SLOT_BITS * (level + 1);
+        return shift >= 64 ? 0 : (currentTick >>> shift) << shift;
+    }
+
+    private void linkFree(int from, int to) {
+        for (int e = from; e < to; e++) {
+            bucketOf[e] = -1;
+            next[e] = e + 1 < to ? e + 1 : -1;
+        }
+        freeHead = from < to ? from : -1;
+    }
+
+    private void grow() {
+        int oldCapacity = expiry.length;
+        int newCapacity = oldCapacity * 2;
+        long[] newExpiry = new long[newCapacity];
+        Object[] newItems = new Object[newCapacity];
+        int[] newNext = new int[newCapacity];
+        int[] newPrev = new int[newCapacity];
+        int[] newBucketOf = new int[newCapacity];
+        System.arraycopy(expiry, 0, newExpiry, 0, oldCapacity);
+        System.arraycopy(items, 0, newItems, 0, oldCapacity);
+        System.arraycopy(next, 0, newNext, 0, oldCapacity);
+        System.arraycopy(prev, 0, newPrev, 0, oldCapacity);
+        System.arraycopy(bucketOf, 0, newBucketOf, 0, oldCapacity);
+        expiry = newExpiry;
+        items = newItems;
+        next = newNext;
+        prev = newPrev;
+        bucketOf = newBucketOf;
+        linkFree(oldCapacity, newCapacity);
+    }
+
+    private void checkHandle(int handle) {
+        if (!isScheduled(handle)) {
+            throw new IllegalArgumentException("invalid handle: " + handle);
+        }
+    }
+}
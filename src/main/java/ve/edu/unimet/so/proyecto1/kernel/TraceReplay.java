@@ -0,0 +1,387 @@
+/*
+ * TraceReplay.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import ve.edu.unimet.so.proyecto1.datastructures.OrderedList;
+import ve.edu.unimet.so.proyecto1.datastructures.SimpleList;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+import ve.edu.unimet.so.proyecto1.models.PcbTable;
+import ve.edu.unimet.so.proyecto1.models.ProcessState;
+
+/**
+ * Reconstruye el estado de colas y CPU en cualquier tick a partir de una
+ * traza de TraceWriter.
+ *
+ * stateAt(tick) busca por tick (búsqueda binaria: los registros tienen ancho
+ * fijo y están en orden), retrocede hasta el keyframe anterior y aplica solo
+ * los registros desde ahí. El trabajo está acotado por el intervalo entre
+ * keyframes, no por la longitud de la corrida.
+ *
+ * El programCounter de un proceso en CPU es el de su último registro: los
+ * ticks que el kernel saltó en fast-forward no generan registros. Con varias
+ * CPUs cada DISPATCH lleva su CPU y cada READY su partición.
+ *
+ * Los registros nombran al proceso por su id de traza (el número de su
+ * ADMIT), no por pid: pids repetidos o negativos se reconstruyen bien. Los
+ * ids del tramo desde el keyframe son consecutivos, así que alcanza un
+ * arreglo del tamaño de ese tramo (no del pid más grande).
+ *
+ * Uso: java ... kernel.TraceReplay <archivo> <tick>
+ */
+public class TraceReplay implements AutoCloseable {
+
+    /** Estado reconstruido (copias propias, no los PCB de la corrida). */
+    public static final class State {
+        private final long tick;
+        private final SchedulingPolicy policy;
+        private final int quantum;
+        private final SmpMode smpMode;
+        private final PCB[] running;
+        private final PCB[] ready;
+        private final PCB[] blocked;
+        private final PCB[] suspended;
+        private final long terminatedCount;
+
+        private State(long tick, SchedulingPolicy policy, int quantum, SmpMode smpMode, PCB[] running,
+                PCB[] ready, PCB[] blocked, PCB[] suspended, long terminatedCount) {
+            this.tick = tick;
+            this.policy = policy;
+            this.quantum = quantum;
+            this.smpMode = smpMode;
+            this.running = running;
+            this.ready = ready;
+            this.blocked = blocked;
+            this.suspended = suspended;
+            this.terminatedCount = terminatedCount;
+        }
+
+        public long getTick() { return tick; }
+        public SchedulingPolicy getPolicy() { return policy; }
+        public int getQuantum() { return quantum; }
+        public SmpMode getSmpMode() { return smpMode; }
+        public int getCpuCount() { return running.length; }
+        /** Proceso en la CPU 0. */
+        public PCB getRunning() { return running[0]; }
+        public PCB getRunning(int cpu) { return running[cpu]; }
+        /** READY en orden de despacho (el 0 es el próximo); particionado: partición por partición. */
+        public PCB[] getReady() { return ready.clone(); }
+        public PCB[] getBlocked() { return blocked.clone(); }
+        /** READY_SUSPENDED y BLOCKED_SUSPENDED (ver el estado de cada PCB). */
+        public PCB[] getSuspended() { return suspended.clone(); }
+        public long getTerminatedCount() { return terminatedCount; }
+    }
+
+    private static final int WINDOW_RECORDS = 256;
+
+    private final FileChannel channel;
+    private final long recordCount;
+    private final ByteBuffer window = ByteBuffer.allocate(WINDOW_RECORDS * TraceWriter.RECORD_BYTES);
+    private long windowStart = -1;
+    private int windowCount;
+
+    // Estado de la reconstrucción en curso
+    private SchedulingPolicy policy;
+    private int quantum;
+    private SmpMode smpMode;
+    private PCB[] running;
+    private PcbTable table; // filas de los procesos vivos del tramo (las colas READY las guardan)
+    private ReadyQueue[] ready;
+    private RowQueue blocked;
+    private RowQueue suspended;
+    private long terminatedCount;
+    private PCB[] byId = new PCB[64]; // PCB del id idBase + i
+    private int idBase;
+    private int idCount;                 // ids asignados desde el keyframe
+
+    public TraceReplay(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path cannot be null");
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        ByteBuffer header = ByteBuffer.allocate(TraceWriter.HEADER_BYTES);
+        readFully(header, 0);
+        if (header.getLong(0) != TraceWriter.MAGIC) {
+            channel.close();
+            throw new IllegalArgumentException("not a scheduling trace: " + path);
+        }
+        this.recordCount = header.getLong(8);
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public long getFirstTick() throws IOException {
+        return recordCount == 0 ? -1 : tickAt(0);
+    }
+
+    public long getLastTick() throws IOException {
+        return recordCount == 0 ? -1 : tickAt(recordCount - 1);
+    }
+
+    /**
+     * Estado al cierre del tick indicado, incluyendo lo hecho entre ese tick y
+     * el siguiente (addProcess, setAlgorithm): lo que vería el tick + 1 al empezar.
+     */
+    public State stateAt(long tick) throws IOException {
+        if (recordCount == 0 || tick < tickAt(0)) {
+            throw new IllegalArgumentException("tick before start of trace: " + tick);
+        }
+        // Último registro con tick <= objetivo
+        long lo = 0;
+        long hi = recordCount - 1;
+        while (lo < hi) {
+            long mid = (lo + hi + 1) >>> 1;
+            if (tickAt(mid) <= tick) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        long last = lo;
+
+        // Keyframe completo más cercano hacia atrás
+        long begin = -1;
+        for (long i = last; i >= 0; i--) {
+            if (typeAt(i) == TraceWriter.REC_KEYFRAME_END) {
+                begin = window.getLong(offset(i) + 16);
+                break;
+            }
+        }
+        if (begin < 0) {
+            throw new IllegalStateException("no keyframe before tick " + tick);
+        }
+
+        for (long i = begin; i <= last; i++) {
+            apply(i);
+        }
+        return new State(tick, policy, quantum, smpMode, running.clone(), readySnapshot(), toPcbArray(blocked.toArray()),
+                toPcbArray(suspended.toArray()), terminatedCount);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // --- Aplicación de registros ---
+
+    private void apply(long i) throws IOException {
+        int off = offset(i);
+        int type = window.get(off + 12);
+        int aux = window.getShort(off + 14);
+        int id = window.getInt(off + 8);
+        long a = window.getLong(off + 16);
+        long b = window.getLong(off + 24);
+        long c = window.getLong(off + 32);
+
+        switch (type) {
+            case TraceWriter.REC_KEYFRAME_BEGIN -> reset(SchedulingPolicy.values()[aux], (int) b, a,
+                    SmpMode.values()[window.get(off + 13)], (int) c, id);
+            case TraceWriter.REC_ADMIT -> {
+                // En el ADMIT el campo es el pid real; el id es el siguiente del tramo
+                PCB p = new PCB(id, "P" + id, (int) (c >>> 32), (int) c, a, b, -1, 0);
+                int row = table.attach(p);
+                if (smpMode == SmpMode.PARTITIONED) table.setCpuId(row, aux);
+                storeNext(p);
+            }
+            case TraceWriter.REC_READY -> {
+                PCB p = process(id, a);
+                detach(p);
+                p.setState(ProcessState.READY);
+                if (smpMode == SmpMode.PARTITIONED) table.setCpuId(table.rowOf(p), aux);
+                readyOf(p).add(p);
+            }
+            case TraceWriter.REC_DISPATCH -> {
+                PCB p = process(id, a);
+                readyOf(p).remove(p);
+                p.setState(ProcessState.RUNNING);
+                table.setCpuId(table.rowOf(p), aux);
+                running[aux] = p;
+            }
+            case TraceWriter.REC_BLOCK -> {
+                PCB p = process(id, a);
+                detach(p);
+                p.setState(ProcessState.BLOCKED);
+                blocked.add(p);
+            }
+            case TraceWriter.REC_TERMINATE -> {
+                PCB p = process(id, a);
+                detach(p);
+                p.setState(ProcessState.TERMINATED);
+                table.detach(p);
+                terminatedCount++;
+            }
+            case TraceWriter.REC_SUSPEND -> {
+                PCB p = process(id, a);
+                detach(p);
+                p.setState(ProcessState.values()[aux]);
+                suspended.add(p);
+            }
+            case TraceWriter.REC_POLICY -> {
+                // Siempre le sigue un keyframe con las colas reordenadas
+                policy = SchedulingPolicy.values()[aux];
+                quantum = (int) a;
+            }
+            case TraceWriter.REC_DEADLINE_MISS -> {
+                PCB p = lookup(id);
+                if (p != null) p.markDeadlineMissed();
+            }
+            default -> {
+                // PREEMPT, INTERRUPT, KEYFRAME_END: informativos
+            }
+        }
+    }
+
+    private void reset(SchedulingPolicy newPolicy, int newQuantum, long terminated, SmpMode mode, int cpus,
+            int firstId) {
+        policy = newPolicy;
+        quantum = newQuantum;
+        smpMode = mode;
+        running = new PCB[cpus];
+        table = new PcbTable(64);
+        ready = new ReadyQueue[mode == SmpMode.GLOBAL ? 1 : cpus];
+        for (int i = 0; i < ready.length; i++) {
+            ready[i] = new ReadyQueue(table, newPolicy);
+        }
+        blocked = new RowQueue(table);
+        suspended = new RowQueue(table);
+        terminatedCount = terminated;
+        for (int i = 0; i < idCount; i++) byId[i] = null;
+        idBase = firstId;
+        idCount = 0;
+    }
+
+    /** Saca al proceso de donde esté (de READY sale por DISPATCH o por swap-out). */
+    private void detach(PCB p) {
+        for (int cpu = 0; cpu < running.length; cpu++) {
+            if (running[cpu] == p) {
+                running[cpu] = null;
+                return;
+            }
+        }
+        switch (p.getState()) {
+            case BLOCKED -> blocked.remove(p);
+            case READY -> readyOf(p).remove(p);
+            case READY_SUSPENDED, BLOCKED_SUSPENDED -> suspended.remove(p);
+            default -> {
+                // NEW (recién admitido) o ya fuera de las colas
+            }
+        }
+    }
+
+    private PCB process(int id, long programCounter) {
+        PCB p = lookup(id);
+        if (p == null) {
+            throw new IllegalStateException("trace references unknown process id " + id);
+        }
+        int delta = (int) (programCounter - p.getProgramCounter());
+        if (delta > 0) p.executeCycles(delta);
+        return p;
+    }
+
+    private PCB lookup(int id) {
+        int i = id - idBase; // con desborde de int sigue siendo la distancia dentro del tramo
+        return i >= 0 && i < idCount ? byId[i] : null;
+    }
+
+    private void storeNext(PCB p) {
+        if (idCount == byId.length) {
+            PCB[] bigger = new PCB[byId.length * 2];
+            System.arraycopy(byId, 0, bigger, 0, idCount);
+            byId = bigger;
+        }
+        byId[idCount++] = p;
+    }
+
+    private boolean isFifo() {
+        return policy == SchedulingPolicy.FCFS || policy == SchedulingPolicy.RR;
+    }
+
+    private ReadyQueue readyOf(PCB p) {
+        return ready[smpMode == SmpMode.GLOBAL ? 0 : p.getCpuId()];
+    }
+
+    private PCB[] readySnapshot() {
+        SimpleList<PCB> out = new SimpleList<>();
+        for (ReadyQueue queue : ready) {
+            if (isFifo()) {
+                queue.forEach(out::add);
+            } else {
+                OrderedList<PCB> ordered = new OrderedList<>(OperatingSystem.comparatorFor(policy),
+                        Math.max(10, queue.size()));
+                ordered.buildFrom(queue.toArray());
+                ordered.forEach(out::add);
+            }
+        }
+        return toPcbArray(out.toArray());
+    }
+
+    private static PCB[] toPcbArray(Object[] items) {
+        PCB[] out = new PCB[items.length];
+        for (int i = 0; i < items.length; i++) {
+            out[i] = (PCB) items[i];
+        }
+        return out;
+    }
+
+    // --- Lectura por ventanas de registros ---
+
+    private long tickAt(long i) throws IOException {
+        return window.getLong(offset(i));
+    }
+
+    private int typeAt(long i) throws IOException {
+        return window.get(offset(i) + 12);
+    }
+
+    /** Offset del registro i dentro de la ventana (la recarga si hace falta). */
+    private int offset(long i) throws IOException {
+        if (i < 0 || i >= recordCount) {
+            throw new IndexOutOfBoundsException("record=" + i + ", count=" + recordCount);
+        }
+        if (i < windowStart || i >= windowStart + windowCount) {
+            windowStart = (i / WINDOW_RECORDS) * WINDOW_RECORDS;
+            windowCount = (int) Math.min(WINDOW_RECORDS, recordCount - windowStart);
+            window.clear();
+            window.limit(windowCount * TraceWriter.RECORD_BYTES);
+            readFully(window, TraceWriter.HEADER_BYTES + windowStart * TraceWriter.RECORD_BYTES);
+        }
+        return (int) (i - windowStart) * TraceWriter.RECORD_BYTES;
+    }
+
+    private void readFully(ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf, position);
+            if (n < 0) {
+                throw new IOException("unexpected end of trace at " + position);
+            }
+            position += n;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: TraceReplay <trace-file> <tick>");
+            System.exit(2);
+        }
+        try (TraceReplay replay = new TraceReplay(Path.of(args[0]))) {
+            State s = replay.stateAt(Long.parseLong(args[1]));
+            System.out.println("tick=" + s.getTick() + " policy=" + s.getPolicy() + " quantum=" + s.getQuantum()
+                    + " terminated=" + s.getTerminatedCount());
+            for (int cpu = 0; cpu < s.getCpuCount(); cpu++) {
+                PCB p = s.getRunning(cpu);
+                System.out.println("CPU " + cpu + ":   " + (p == null ? "-" : p));
+            }
+            for (PCB p : s.getReady()) System.out.println("READY:   " + p);
+            for (PCB p : s.getBlocked()) System.out.println("BLOCKED: " + p);
+            for (PCB p : s.getSuspended()) System.out.println("SWAPPED: " + p);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * TraceWriter.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Traza binaria de planificación en un archivo mapeado a memoria (solo se
+ * agrega al final).
+ *
+ * Cada registro mide RECORD_BYTES y tiene siempre el mismo formato:
+ *
+ *   0  tick   long
+ *   8  id     int   (id de traza del proceso, -1 si no aplica)
+ *   12 type   byte  (REC_*)
+ *   13 reason byte  (REASON_*)
+ *   14 aux    short (ordinal de política, CPU, partición, etc.)
+ *   16 a, 24 b, 32 c  long (según el tipo)
+ *
+ * Los procesos se identifican por id de traza, no por pid (los pids pueden
+ * repetirse o ser negativos): los ADMIT se numeran 0, 1, 2... en orden, el
+ * ADMIT lleva en ese campo el pid real y los demás registros el número de
+ * su ADMIT. KEYFRAME_BEGIN lleva el número del próximo ADMIT, así el replay
+ * sabe numerarlos desde cualquier keyframe.
+ *
+ * Escribir un registro son unos pocos put absolutos sobre el buffer mapeado:
+ * sin objetos, sin syscalls (salvo al mapear la siguiente región). Los
+ * registros quedan en orden de tick, así TraceReplay puede buscar por tick
+ * con búsqueda binaria y retroceder hasta el keyframe anterior.
+ *
+ * Un keyframe es un bloque KEYFRAME_BEGIN ... KEYFRAME_END con los mismos
+ * registros ADMIT/READY/BLOCK/DISPATCH/SUSPEND que reconstruyen el estado desde cero.
+ * El kernel escribe uno al abrir la traza, después de cada cambio de política
+ * y cada keyframeInterval registros (o 4 veces el tamaño del último keyframe
+ * si es mayor, para que los keyframes no dominen con muchos procesos vivos).
+ */
+public class TraceWriter implements AutoCloseable {
+
+    public static final long MAGIC = 0x534F545241434533L; // "SOTRACE3"
+    public static final int RECORD_BYTES = 40;
+    public static final int HEADER_BYTES = RECORD_BYTES; // magic, recordCount
+
+    // Tipos de registro (0 = vacío)
+    public static final int REC_ADMIT = 1;          // id=pid real, aux=partición, a=arrival, b=deadline, c=(instrucciones << 32) | prioridad
+    public static final int REC_READY = 2;          // aux=partición (0 en modo global), a=programCounter
+    public static final int REC_DISPATCH = 3;       // aux=CPU, a=programCounter, b=ticks de quantum usados (solo en keyframes)
+    public static final int REC_PREEMPT = 4;        // reason, aux=CPU, a=id del candidato (-1 por quantum), b=programCounter
+    public static final int REC_BLOCK = 5;          // reason, a=programCounter, b=tick de fin (-1 si lo decide un evento)
+    public static final int REC_TERMINATE = 6;      // a=programCounter
+    public static final int REC_POLICY = 7;         // aux=política nueva, a=quantum
+    public static final int REC_DEADLINE_MISS = 8;  // a=deadline
+    public static final int REC_INTERRUPT = 9;      // a=costo en ticks, b=latencia
+    public static final int REC_KEYFRAME_BEGIN = 10; // id=id del próximo ADMIT, reason=SmpMode, aux=política, a=terminados, b=quantum, c=CPUs
+    public static final int REC_KEYFRAME_END = 11;   // a=índice del KEYFRAME_BEGIN
+    public static final int REC_SUSPEND = 12;        // aux=estado nuevo (READY_/BLOCKED_SUSPENDED), a=programCounter
+
+    // Razones
+    public static final int REASON_NONE = 0;
+    public static final int REASON_QUANTUM = 1;
+    public static final int REASON_SHORTER_REMAINING = 2; // SRT
+    public static final int REASON_HIGHER_PRIORITY = 3;   // PRIORITY
+    public static final int REASON_EARLIER_DEADLINE = 4;  // EDF
+    public static final int REASON_IO_CYCLE = 5;          // I/O propia del proceso
+    public static final int REASON_IO_REQUEST = 6;        // evento IO_REQUEST externo
+
+    private static final int REGION_RECORDS = 1 << 16;
+    private static final long REGION_BYTES = (long) REGION_RECORDS * RECORD_BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final int keyframeInterval;
+    private MappedByteBuffer region;
+    private long regionIndex = -1;
+    private int regionPos;        // registros escritos en la región actual
+    private long recordCount;
+    private long nextKeyframeRecord;
+    private int nextTraceId;
+
+    public TraceWriter(Path path) throws IOException {
+        this(path, 4096);
+    }
+
+    /**
+     * @param keyframeInterval registros entre keyframes (acota cuánto hay que
+     *                         reproducir para llegar a cualquier tick)
+     */
+    public TraceWriter(Path path, int keyframeInterval) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path cannot be null");
+        }
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("keyframeInterval must be > 0");
+        }
+        this.keyframeInterval = keyframeInterval;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.putLong(0, MAGIC);
+        header.putLong(8, 0);
+        mapRegion(0);
+    }
+
+    /** Agrega un registro. Solo desde el hilo del kernel. */
+    public void record(long tick, int type, int reason, int aux, int pid, long a, long b, long c) {
+        if (regionPos == REGION_RECORDS) {
+            mapRegion(regionIndex + 1);
+        }
+        int off = regionPos * RECORD_BYTES;
+        MappedByteBuffer buf = region;
+        buf.putLong(off, tick);
+        buf.putInt(off + 8, pid);
+        buf.put(off + 12, (byte) type);
+        buf.put(off + 13, (byte) reason);
+        buf.putShort(off + 14, (short) aux);
+        buf.putLong(off + 16, a);
+        buf.putLong(off + 24, b);
+        buf.putLong(off + 32, c);
+        regionPos++;
+        recordCount++;
+    }
+
+    /** Id que recibirá el próximo ADMIT. */
+    public int getNextTraceId() {
+        return nextTraceId;
+    }
+
+    /** Id del ADMIT que se va a escribir. */
+    public int takeTraceId() {
+        return nextTraceId++;
+    }
+
+    /** true si ya toca escribir otro keyframe. */
+    public boolean isKeyframeDue() {
+        return recordCount >= nextKeyframeRecord;
+    }
+
+    /** Índice que tendrá el próximo registro. */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /** Marca el fin del keyframe que empezó en beginRecord y deja visible el conteo en la cabecera. */
+    void keyframeWritten(long beginRecord) {
+        long keyframeSize = recordCount - beginRecord;
+        nextKeyframeRecord = recordCount + Math.max(keyframeInterval, 4 * keyframeSize);
+        header.putLong(8, recordCount);
+    }
+
+    @Override
+    public void close() throws IOException {
+        header.putLong(8, recordCount);
+        header.force();
+        if (region != null) region.force();
+        region = null;
+        channel.close();
+    }
+
+    private void mapRegion(long index) {
+        try {
+            if (region != null) {
+                header.putLong(8, recordCount);
+            }
+            region = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + index * REGION_BYTES, REGION_BYTES);
+            regionIndex = index;
+            regionPos = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot map trace region " + index, e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * VirtualThreadExecutor.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.util.concurrent.Semaphore;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+
+/**
+ * Un SimProcessThread por PCB (§12.1) sobre hilos virtuales, con el
+ * handshake runPermit / stepDone de §12.3 pero por concesión de K ticks en
+ * vez de uno por tick.
+ *
+ * - Hilos virtuales: un proceso estacionado en su runPermit no ocupa un hilo
+ *   de plataforma, así que miles de procesos vivos no agotan la memoria.
+ * - El hilo se crea en la primera concesión y termina con retire() (o al
+ *   cerrar el executor); los procesos en READY/BLOCKED/suspendidos solo
+ *   tienen su hilo estacionado.
+ * - Con varias CPUs las concesiones corren en paralelo: primero se sueltan
+ *   todos los runPermit y después se espera cada stepDone.
+ * - maxGrant = 1 reproduce el handshake de un tick (para comparar).
+ *
+ * El hilo de cada proceso se busca por identidad del PCB (hash abierto con
+ * System.identityHashCode, como KernelCheckpoint), no en una tabla por pid:
+ * los pids de los jobs periódicos arrancan en 1.000.000 y pueden repetirse o
+ * ser negativos en la carga. Los hilos vivos están además en un arreglo
+ * denso para que close() no recorra más que eso.
+ *
+ * Los semáforos dan el happens-before entre el hilo del proceso (que escribe
+ * el PCB) y el kernel (que lo lee después de stepDone). Solo un kernel debe
+ * usar cada executor.
+ */
+public class VirtualThreadExecutor implements ProcessExecutor {
+
+    /** Hilo de un proceso: ejecuta exactamente lo concedido y avisa. */
+    private static final class SimProcessThread implements Runnable {
+        private final PCB process;
+        private final Semaphore runPermit = new Semaphore(0);
+        private final Semaphore stepDone = new Semaphore(0);
+        private int grant; // escrito antes de runPermit.release(), leído después del acquire
+        private boolean retired;
+        private Throwable failure;
+        private int slot; // posición en live
+
+        SimProcessThread(PCB process) {
+            this.process = process;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                runPermit.acquireUninterruptibly();
+                if (retired) return;
+                try {
+                    process.executeCycles(grant);
+                } catch (Throwable t) {
+                    failure = t;
+                }
+                stepDone.release();
+            }
+        }
+    }
+
+    private final int maxGrant;
+    private final Thread.Builder builder = Thread.ofVirtual().name("SimProcess-", 0);
+    private SimProcessThread[] live = new SimProcessThread[64];
+    private SimProcessThread[] byProcess = new SimProcessThread[128]; // hash por identidad del PCB, sondeo lineal
+    private final SimProcessThread[] active = new SimProcessThread[64];
+    private int liveThreads;
+    private long handoffs;
+    private long grantedTicks;
+
+    public VirtualThreadExecutor() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /** @param maxGrant ticks máximos por handshake (1 = un handshake por tick) */
+    public VirtualThreadExecutor(int maxGrant) {
+        if (maxGrant <= 0) {
+            throw new IllegalArgumentException("maxGrant must be > 0");
+        }
+        this.maxGrant = maxGrant;
+    }
+
+    @Override
+    public void run(PCB[] running, int ticks) {
+        if (ticks <= 0) return;
+        SimProcessThread[] batch = running.length <= active.length ? active : new SimProcessThread[running.length];
+        int count = 0;
+        for (PCB p : running) {
+            if (p != null) batch[count++] = threadFor(p);
+        }
+        if (count == 0) return;
+
+        for (int left = ticks; left > 0; ) {
+            int grant = Math.min(left, maxGrant);
+            for (int i = 0; i < count; i++) {
+                batch[i].grant = grant;
+                batch[i].runPermit.release();
+            }
+            for (int i = 0; i < count; i++) {
+                SimProcessThread t = batch[i];
+                t.stepDone.acquireUninterruptibly();
+                if (t.failure != null) {
+                    throw new IllegalStateException("process " + t.process.getPid() + " failed", t.failure);
+                }
+            }
+            handoffs += count;
+            grantedTicks += (long) grant * count;
+            left -= grant;
+        }
+        for (int i = 0; i < count; i++) batch[i] = null;
+    }
+
+    @Override
+    public void retire(PCB process) {
+        int slot = find(process);
+        SimProcessThread t = byProcess[slot];
+        if (t == null) return;
+        removeAt(slot);
+        stop(t);
+    }
+
+    @Override
+    public void close() {
+        while (liveThreads > 0) {
+            SimProcessThread t = live[liveThreads - 1];
+            removeAt(find(t.process));
+            stop(t);
+        }
+    }
+
+    /** Hilos de procesos vivos (creados y no retirados). */
+    public int getLiveThreads() {
+        return liveThreads;
+    }
+
+    /** Handshakes kernel ↔ proceso (una concesión a un proceso = uno). */
+    public long getHandoffs() {
+        return handoffs;
+    }
+
+    /** Ticks de CPU concedidos en total (la suma de todas las concesiones). */
+    public long getGrantedTicks() {
+        return grantedTicks;
+    }
+
+    private SimProcessThread threadFor(PCB p) {
+        int slot = find(p);
+        SimProcessThread t = byProcess[slot];
+        if (t == null) {
+            t = new SimProcessThread(p);
+            if (liveThreads == live.length) {
+                SimProcessThread[] bigger = new SimProcessThread[live.length * 2];
+                System.arraycopy(live, 0, bigger, 0, liveThreads);
+                live = bigger;
+            }
+            t.slot = liveThreads;
+            live[liveThreads++] = t;
+            byProcess[slot] = t;
+            if (liveThreads * 2 > byProcess.length) rehash();
+            builder.start(t);
+        }
+        return t;
+    }
+
+    /** Casilla del hilo de p en byProcess, o la casilla vacía donde iría. */
+    private int find(PCB p) {
+        int mask = byProcess.length - 1;
+        int i = System.identityHashCode(p) & mask;
+        while (byProcess[i] != null && byProcess[i].process != p) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /** Vacía la casilla y corre hacia atrás las que la sondearon (sin marcas de borrado). */
+    private void removeAt(int slot) {
+        int mask = byProcess.length - 1;
+        byProcess[slot] = null;
+        for (int j = (slot + 1) & mask; byProcess[j] != null; j = (j + 1) & mask) {
+            int home = System.identityHashCode(byProcess[j].process) & mask;
+            // Se mueve si su casilla natural no está en (slot, j]
+            if (slot <= j ? home <= slot || home > j : home <= slot && home > j) {
+                byProcess[slot] = byProcess[j];
+                byProcess[j] = null;
+                slot = j;
+            }
+        }
+    }
+
+    private void rehash() {
+        SimProcessThread[] old = byProcess;
+        byProcess = new SimProcessThread[old.length * 2];
+        for (SimProcessThread t : old) {
+            if (t != null) byProcess[find(t.process)] = t;
+        }
+    }
+
+    /** Lo saca de live (cambiándolo por el último) y lo despierta para que termine. */
+    private void stop(SimProcessThread t) {
+        SimProcessThread last = live[--liveThreads];
+        live[t.slot] = last;
+        last.slot = t.slot;
+        live[liveThreads] = null;
+        t.retired = true;
+        t.runPermit.release();
+    }
+}
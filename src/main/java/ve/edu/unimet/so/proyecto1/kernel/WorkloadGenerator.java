@@ -0,0 +1,93 @@
+/*
+ * WorkloadGenerator.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import java.util.SplittableRandom;
+import ve.edu.unimet.so.proyecto1.models.PCB;
+
+/**
+ * Genera cargas de procesos reproducibles: la misma semilla produce siempre
+ * los mismos PCBs. Cada llamada a generate() o stream() crea PCBs nuevos, así
+ * que dos simulaciones nunca comparten procesos.
+ */
+public class WorkloadGenerator {
+
+    private final long seed;
+    private final int processCount;
+    private final int maxInterArrival;   // ticks entre llegadas: [0, maxInterArrival]
+    private final int maxInstructions;   // instrucciones: [1, maxInstructions]
+    private final int maxPriority;       // prioridad: [0, maxPriority]
+    private final int maxSlack;          // deadline = arrival + instrucciones + [0, maxSlack]
+    private final int ioPercent;         // % de procesos con I/O
+    private final int maxIoDuration;     // duración de I/O: [1, maxIoDuration]
+
+    public WorkloadGenerator(long seed, int processCount) {
+        this(seed, processCount, 20, 16, 9, 200, 30, 20);
+    }
+
+    public WorkloadGenerator(long seed, int processCount, int maxInterArrival, int maxInstructions,
+            int maxPriority, int maxSlack, int ioPercent, int maxIoDuration) {
+        if (processCount < 0) {
+            throw new IllegalArgumentException("processCount must be >= 0");
+        }
+        if (maxInterArrival < 0 || maxInstructions <= 0 || maxPriority < 0 || maxSlack < 0) {
+            throw new IllegalArgumentException("generator ranges must be non-negative (maxInstructions > 0)");
+        }
+        if (ioPercent < 0 || ioPercent > 100 || maxIoDuration <= 0) {
+            throw new IllegalArgumentException("ioPercent must be in [0, 100] and maxIoDuration > 0");
+        }
+        this.seed = seed;
+        this.processCount = processCount;
+        this.maxInterArrival = maxInterArrival;
+        this.maxInstructions = maxInstructions;
+        this.maxPriority = maxPriority;
+        this.maxSlack = maxSlack;
+        this.ioPercent = ioPercent;
+        this.maxIoDuration = maxIoDuration;
+    }
+
+    /** PCBs nuevos ordenados por arrivalTick (pid = posición). */
+    public PCB[] generate() {
+        WorkloadSource source = stream();
+        PCB[] out = new PCB[processCount];
+        for (int i = 0; i < processCount; i++) {
+            out[i] = source.next();
+        }
+        return out;
+    }
+
+    /**
+     * La misma carga que generate(), pero producida bajo demanda: cada next()
+     * crea un solo PCB. Cada llamada empieza de nuevo desde la semilla.
+     */
+    public WorkloadSource stream() {
+        return new Stream();
+    }
+
+    private final class Stream implements WorkloadSource {
+        private final SplittableRandom random = new SplittableRandom(seed);
+        private int produced;
+        private long arrival;
+
+        @Override
+        public PCB next() {
+            if (produced == processCount) return null;
+            int i = produced++;
+            arrival += random.nextInt(maxInterArrival + 1);
+            int instructions = 1 + random.nextInt(maxInstructions);
+            int priority = random.nextInt(maxPriority + 1);
+            long deadline = arrival + instructions + random.nextInt(maxSlack + 1);
+            int ioCycle = -1;
+            int ioDuration = 0;
+            if (random.nextInt(100) < ioPercent) {
+                ioCycle = 1 + random.nextInt(instructions);
+                ioDuration = 1 + random.nextInt(maxIoDuration);
+            }
+            return new PCB(i, "P" + i, instructions, priority, arrival, deadline, ioCycle, ioDuration);
+        }
+    }
+
+    public long getSeed() { return seed; }
+    public int getProcessCount() { return processCount; }
+}
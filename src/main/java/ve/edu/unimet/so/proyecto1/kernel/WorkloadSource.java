@@ -0,0 +1,26 @@
+/*
+ * WorkloadSource.java
+ */
+package ve.edu.unimet.so.proyecto1.kernel;
+
+import ve.edu.unimet.so.proyecto1.models.PCB;
+
+/**
+ * Fuente de trabajos en orden de arrivalTick. El kernel la consume de a uno
+ * (con un solo trabajo de adelanto) a medida que el reloj llega a cada
+ * llegada, así en memoria solo viven los procesos activos.
+ */
+public interface WorkloadSource {
+
+    /** Próximo trabajo (arrivalTick no decreciente), o null si no quedan. */
+    PCB next();
+
+    /** Descarta hasta n trabajos; devuelve cuántos descartó. */
+    default long skip(long n) {
+        long skipped = 0;
+        while (skipped < n && next() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+}
@@ -3,34 +3,70 @@
  */
 package ve.edu.unimet.so.proyecto1.models;
 
-public class PCB {
+/**
+ * Bloque de control de un proceso.
+ *
+ * Los datos de identidad y de planificación no cambian durante la vida del
+ * proceso; solo reinit() (reciclaje desde un PcbPool) los reemplaza y deja
+ * el PCB como recién creado.
+ *
+ * Los handles del kernel (índices de memoria y deadlines, rueda de I/O,
+ * traza, hilo del executor) no viven aquí: el kernel los guarda por fila de
+ * su PcbTable.
+ */
+public class PCB implements ProcessInfo {
 
     // --- Identificación ---
-    private final int pid;
-    private final String name;
+    private int pid;
+    private String name;
+    private long jobNumber = -1; // Jobs periódicos: getName() = name#jobNumber (se arma al leerlo)
     private ProcessState state;
 
     // --- Registros y Ejecución ---
     private int programCounter;
     private int mar;
-    private final int totalInstructions;
+    private int totalInstructions;
 
     // --- Planificación (RTOS) ---
-    private final int priority;
-    private final long arrivalTick;
-    private final long deadlineTick; // Deadline absoluto
+    private int priority;
+    private long arrivalTick;
+    private long deadlineTick; // Deadline absoluto
+    private boolean deadlineMissed;  // Fail-soft: se marca pero el proceso sigue
 
     // --- Entrada/Salida (I/O) ---
-    private final int ioEventCycle;      // Instrucción donde ocurre el bloqueo (-1 si no tiene)
-    private final int ioServiceDuration; // Duración del bloqueo
+    private int ioEventCycle;      // Instrucción donde ocurre el bloqueo (-1 si no tiene)
+    private int ioServiceDuration; // Duración del bloqueo
     private int ioWaitedTicks;
 
     // --- Métricas ---
     private long startTick = -1;
     private long finishTick = -1;
     private long waitingTime = 0;
+    private long readySinceTick = -1; // Tick desde el que espera en READY (-1 si no está en READY)
+
+    // --- SMP ---
+    private int cpuId = -1; // Última CPU en la que corrió (en modo particionado, su CPU asignada)
+
+    int tableRow = -1; // Fila en la PcbTable a la que está enlazado (-1 si no está en ninguna)
 
     public PCB(int pid, String name, int totalInstructions, int priority, long arrivalTick, long deadlineTick, int ioEventCycle, int ioServiceDuration) {
+        this(pid, name, totalInstructions, priority, arrivalTick, deadlineTick, ioEventCycle, ioServiceDuration, -1);
+    }
+
+    /** Job número jobNumber (>= 0) de una plantilla periódica llamada name; -1 si no es un job. */
+    public PCB(int pid, String name, int totalInstructions, int priority, long arrivalTick, long deadlineTick,
+            int ioEventCycle, int ioServiceDuration, long jobNumber) {
+        reinit(pid, name, totalInstructions, priority, arrivalTick, deadlineTick, ioEventCycle, ioServiceDuration,
+                jobNumber);
+    }
+
+    /**
+     * Reutiliza el PCB para un proceso nuevo (PcbPool): mismas validaciones
+     * que el constructor y todos los contadores en su valor inicial. Solo
+     * para PCBs que el kernel ya soltó (ninguna estructura los referencia).
+     */
+    final void reinit(int pid, String name, int totalInstructions, int priority, long arrivalTick,
+            long deadlineTick, int ioEventCycle, int ioServiceDuration, long jobNumber) {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("name must not be null/blank");
         }
@@ -46,9 +82,13 @@ public class PCB {
         if (ioServiceDuration < 0) {
             throw new IllegalArgumentException("ioServiceDuration must be >= 0");
         }
+        if (jobNumber < -1) {
+            throw new IllegalArgumentException("jobNumber must be >= -1");
+        }
 
         this.pid = pid;
         this.name = name;
+        this.jobNumber = jobNumber;
         this.totalInstructions = totalInstructions;
         this.priority = priority;
         this.arrivalTick = arrivalTick;
@@ -60,12 +100,21 @@ public class PCB {
         this.programCounter = 0;
         this.mar = 0;
         this.ioWaitedTicks = 0;
+        this.deadlineMissed = false;
+        this.startTick = -1;
+        this.finishTick = -1;
+        this.waitingTime = 0;
+        this.readySinceTick = -1;
+        this.cpuId = -1;
     }
 
     // --- Getters y Setters Básicos ---
     
     public int getPid() { return pid; }
-    public String getName() { return name; }
+    public String getName() { return jobNumber < 0 ? name : name + "#" + jobNumber; }
+    /** Nombre sin el sufijo #jobNumber (el de la plantilla en jobs periódicos). */
+    public String getBaseName() { return name; }
+    public long getJobNumber() { return jobNumber; }
     public ProcessState getState() { return state; }
     public void setState(ProcessState state) {
         if (state == null) {
@@ -86,6 +135,15 @@ public class PCB {
     public long getArrivalTick() { return arrivalTick; }
     public long getDeadlineTick() { return deadlineTick; }
 
+    public boolean isDeadlineMissed() { return deadlineMissed; }
+
+    /** Marca el miss; devuelve true solo la primera vez (para loguearlo una vez). */
+    public boolean markDeadlineMissed() {
+        if (deadlineMissed) return false;
+        deadlineMissed = true;
+        return true;
+    }
+
     public int getIoEventCycle() { return ioEventCycle; }
     public int getIoServiceDuration() { return ioServiceDuration; }
     public int getIoWaitedTicks() { return ioWaitedTicks; }
@@ -93,6 +151,14 @@ public class PCB {
     public long getStartTick() { return startTick; }
     public long getFinishTick() { return finishTick; }
     public long getWaitingTime() { return waitingTime; }
+    public long getReadySinceTick() { return readySinceTick; }
+
+    /** Job de una plantilla periódica (arrivalTick = release nominal). */
+    public boolean isPeriodicJob() { return jobNumber >= 0; }
+
+    public int getCpuId() { return cpuId; }
+    // Lo cambian PcbTable.setCpuId (el kernel) y PcbPool
+    void setCpuId(int cpuId) { this.cpuId = cpuId; }
 
     // --- Lógica de Simulación ---
 
@@ -103,10 +169,30 @@ public class PCB {
         }
     }
 
+    /** Aplica n ticks de ejecución seguidos (equivalente a n llamadas a executeCycle). */
+    public void executeCycles(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be >= 0");
+        }
+        int steps = Math.min(n, totalInstructions - programCounter);
+        if (steps > 0) {
+            programCounter += steps;
+            mar += steps;
+        }
+    }
+
     public void incrementIoWait() {
         this.ioWaitedTicks++;
     }
     
+    /** Acumula n ticks de espera de I/O de una vez (fin de I/O agendada). */
+    public void addIoWaitTicks(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be >= 0");
+        }
+        this.ioWaitedTicks += n;
+    }
+
     public void resetIoWait() {
         this.ioWaitedTicks = 0;
     }
@@ -115,6 +201,47 @@ public class PCB {
         this.waitingTime++;
     }
 
+    /** El proceso entra a READY y compite por CPU desde readyFromTick. */
+    public void markReady(long readyFromTick) {
+        this.readySinceTick = readyFromTick;
+    }
+
+    /** El proceso sale de READY; acumula los ticks esperados hasta runFromTick. */
+    public void markDispatched(long runFromTick) {
+        if (readySinceTick >= 0 && runFromTick > readySinceTick) {
+            this.waitingTime += runFromTick - readySinceTick;
+        }
+        this.readySinceTick = -1;
+    }
+
+    /**
+     * Restaura los contadores mutables desde un checkpoint (KernelCheckpoint),
+     * antes de que el PCB entre a una PcbTable. No usar durante la simulación.
+     */
+    public void restoreCounters(ProcessState state, int programCounter, int mar, int ioWaitedTicks,
+            long startTick, long finishTick, long waitingTime, long readySinceTick, boolean deadlineMissed,
+            int cpuId) {
+        if (tableRow >= 0) {
+            throw new IllegalStateException("pcb " + pid + " is in a process table");
+        }
+        if (state == null) {
+            throw new IllegalArgumentException("state must not be null");
+        }
+        if (programCounter < 0 || programCounter > totalInstructions) {
+            throw new IllegalArgumentException("programCounter must be in [0, totalInstructions]");
+        }
+        this.state = state;
+        this.programCounter = programCounter;
+        this.mar = mar;
+        this.ioWaitedTicks = ioWaitedTicks;
+        this.startTick = startTick;
+        this.finishTick = finishTick;
+        this.waitingTime = waitingTime;
+        this.readySinceTick = readySinceTick;
+        this.deadlineMissed = deadlineMissed;
+        this.cpuId = cpuId;
+    }
+
     public void setStartTick(long tick) {
         if (this.startTick == -1) {
             this.startTick = tick;
@@ -141,6 +268,6 @@ public class PCB {
     @Override
     public String toString() {
         return String.format("PCB{ID=%d, Name='%s', State=%s, PC=%d/%d, Prio=%d}", 
-                pid, name, state, programCounter, totalInstructions, priority);
+                pid, getName(), state, programCounter, totalInstructions, priority);
     }
 }
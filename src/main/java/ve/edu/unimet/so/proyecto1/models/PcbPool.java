@@ -0,0 +1,87 @@
+/*
+ * PcbPool.java
+ */
+package ve.edu.unimet.so.proyecto1.models;
+
+/**
+ * Pila de PCBs libres para los procesos que crea el propio kernel (jobs
+ * periódicos).
+ *
+ * Un PCB vuelve aquí cuando sale del historial de terminados y ninguna
+ * estructura del kernel lo referencia; acquire() lo reinicia con
+ * PCB.reinit() en vez de crear uno nuevo. Es la única clase fuera de PCB
+ * que cambia la identidad de un PCB. Con el historial acotado, la
+ * liberación de jobs en régimen estable no crea objetos.
+ *
+ * Por encima de maxFree los PCBs sueltos se dejan al GC (después de un pico
+ * de carga la pila no retiene memoria sin límite).
+ */
+public class PcbPool {
+
+    public static final int DEFAULT_MAX_FREE = 4096;
+
+    private final int maxFree;
+    private PCB[] free = new PCB[16];
+    private int freeCount;
+    private long created;
+    private long reused;
+
+    public PcbPool() {
+        this(DEFAULT_MAX_FREE);
+    }
+
+    public PcbPool(int maxFree) {
+        if (maxFree < 0) {
+            throw new IllegalArgumentException("maxFree must be >= 0");
+        }
+        this.maxFree = maxFree;
+    }
+
+    /**
+     * Un PCB recién inicializado (reciclado si hay alguno libre): el job
+     * jobNumber de la plantilla name, ya asignado a cpuId (-1 = ninguna).
+     */
+    public PCB acquire(int pid, String name, int totalInstructions, int priority, long arrivalTick,
+            long deadlineTick, int ioEventCycle, int ioServiceDuration, long jobNumber, int cpuId) {
+        PCB p;
+        if (freeCount == 0) {
+            created++;
+            p = new PCB(pid, name, totalInstructions, priority, arrivalTick, deadlineTick, ioEventCycle,
+                    ioServiceDuration, jobNumber);
+        } else {
+            p = free[--freeCount];
+            free[freeCount] = null;
+            p.reinit(pid, name, totalInstructions, priority, arrivalTick, deadlineTick, ioEventCycle,
+                    ioServiceDuration, jobNumber);
+            reused++;
+        }
+        p.setCpuId(cpuId);
+        return p;
+    }
+
+    /**
+     * Devuelve un PCB que el kernel ya no referencia. Debe haber salido de su
+     * PcbTable: al soltar la fila el kernel comprueba que no le queden
+     * handles vivos (rueda de I/O, deadlines, memoria) que tocarían al
+     * proceso nuevo que reciba este PCB.
+     */
+    public void release(PCB process) {
+        if (process.tableRow >= 0) {
+            throw new IllegalStateException("pcb " + process.getPid() + " is still in a process table");
+        }
+        if (freeCount == maxFree) return;
+        if (freeCount == free.length) {
+            PCB[] bigger = new PCB[Math.min(maxFree, free.length * 2)];
+            System.arraycopy(free, 0, bigger, 0, freeCount);
+            free = bigger;
+        }
+        free[freeCount++] = process;
+    }
+
+    public int getFreeCount() { return freeCount; }
+    public int getMaxFree() { return maxFree; }
+    /** PCBs creados con new (el pool estaba vacío). */
+    public long getCreated() { return created; }
+    /** PCBs entregados reciclados. */
+    public long getReused() { return reused; }
+}
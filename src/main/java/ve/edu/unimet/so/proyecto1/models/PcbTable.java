@@ -0,0 +1,491 @@
+/*
+ * PcbTable.java
+ */
+package ve.edu.unimet.so.proyecto1.models;
+
+import ve.edu.unimet.so.proyecto1.datastructures.Compare;
+
+/**
+ * Tabla de procesos en formato "struct of arrays": cada campo del PCB vive en
+ * un arreglo primitivo y un proceso se identifica por un handle int (la fila).
+ *
+ * Pensada para simulaciones con millones de procesos: no hay un objeto por
+ * proceso, los comparadores leen primitivos contiguos y el GC no tiene que
+ * recorrer millones de PCBs. Las filas liberadas se reutilizan.
+ *
+ * Para GUI y código existente hay una vista flyweight (View) que implementa
+ * ProcessInfo con los mismos getters que PCB.
+ *
+ * Una fila también puede enlazarse a un PCB existente (attach): así la usa
+ * el kernel, con una fila por proceso vivo. rowOf(pcb) la encuentra en O(1)
+ * y las colas READY guardan filas y se ordenan con los comparadores de
+ * abajo. El PCB sigue siendo el dueño de los datos: sync() copia a la fila
+ * lo que cambió (el kernel lo hace al encolar en READY, que es cuando los
+ * comparadores lo leen).
+ */
+public class PcbTable {
+
+    private static final ProcessState[] STATES = ProcessState.values();
+
+    // --- Identificación ---
+    private int[] pid;
+    private String[] name;
+    private long[] jobNumber; // jobs periódicos: name#jobNumber (-1 si no es job)
+    private byte[] state; // ordinal de ProcessState, -1 = fila libre
+    private PCB[] owner;  // PCB enlazado con attach() (null en filas de add())
+
+    // --- Registros y Ejecución ---
+    private int[] programCounter;
+    private int[] mar;
+    private int[] totalInstructions;
+
+    // --- Planificación (RTOS) ---
+    private int[] priority;
+    private long[] arrivalTick;
+    private long[] deadlineTick;
+    private boolean[] deadlineMissed;
+
+    // --- Entrada/Salida (I/O) ---
+    private int[] ioEventCycle;
+    private int[] ioServiceDuration;
+    private int[] ioWaitedTicks;
+
+    // --- Métricas ---
+    private long[] startTick;
+    private long[] finishTick;
+    private long[] waitingTime;
+    private long[] readySinceTick;
+
+    // --- SMP ---
+    private int[] cpuId;
+
+    // Filas libres (pila) y tope de filas usadas alguna vez
+    private int[] freeRows;
+    private int freeCount;
+    private int highWater;
+    private int size;
+
+    private final Compare.IntComparator srtComparator = (a, b) -> {
+        int c = Integer.compare(remaining(a), remaining(b));
+        if (c != 0) return c;
+        c = Long.compare(deadlineTick[a], deadlineTick[b]);
+        if (c != 0) return c;
+        c = Long.compare(arrivalTick[a], arrivalTick[b]);
+        if (c != 0) return c;
+        return Integer.compare(pid[a], pid[b]);
+    };
+
+    private final Compare.IntComparator priorityComparator = (a, b) -> {
+        int c = Integer.compare(priority[b], priority[a]);
+        if (c != 0) return c;
+        c = Long.compare(deadlineTick[a], deadlineTick[b]);
+        if (c != 0) return c;
+        c = Long.compare(arrivalTick[a], arrivalTick[b]);
+        if (c != 0) return c;
+        return Integer.compare(pid[a], pid[b]);
+    };
+
+    private final Compare.IntComparator edfComparator = (a, b) -> {
+        int c = Long.compare(deadlineTick[a], deadlineTick[b]);
+        if (c != 0) return c;
+        c = Integer.compare(priority[b], priority[a]);
+        if (c != 0) return c;
+        c = Long.compare(arrivalTick[a], arrivalTick[b]);
+        if (c != 0) return c;
+        return Integer.compare(pid[a], pid[b]);
+    };
+
+    private final Compare.IntComparator fifoComparator = (a, b) -> {
+        int c = Long.compare(arrivalTick[a], arrivalTick[b]);
+        if (c != 0) return c;
+        return Integer.compare(pid[a], pid[b]);
+    };
+
+    public PcbTable() {
+        this(1024);
+    }
+
+    public PcbTable(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be > 0");
+        }
+        allocate(initialCapacity);
+        this.freeRows = new int[16];
+        this.freeCount = 0;
+        this.highWater = 0;
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return pid.length;
+    }
+
+    /** Crea un proceso en estado NEW y devuelve su handle. Mismas reglas que el constructor de PCB. */
+    public int add(int pid, String name, int totalInstructions, int priority, long arrivalTick, long deadlineTick,
+            int ioEventCycle, int ioServiceDuration) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("name must not be null/blank");
+        }
+        if (totalInstructions <= 0) {
+            throw new IllegalArgumentException("totalInstructions must be > 0");
+        }
+        if (deadlineTick < arrivalTick) {
+            throw new IllegalArgumentException("deadlineTick must be >= arrivalTick");
+        }
+        if (ioEventCycle < -1 || ioEventCycle > totalInstructions || ioEventCycle == 0) {
+            throw new IllegalArgumentException("ioEventCycle must be -1 or in [1, totalInstructions]");
+        }
+        if (ioServiceDuration < 0) {
+            throw new IllegalArgumentException("ioServiceDuration must be >= 0");
+        }
+
+        int h = allocateRow();
+        this.pid[h] = pid;
+        this.name[h] = name;
+        this.jobNumber[h] = -1;
+        this.state[h] = (byte) ProcessState.NEW.ordinal();
+        this.programCounter[h] = 0;
+        this.mar[h] = 0;
+        this.totalInstructions[h] = totalInstructions;
+        this.priority[h] = priority;
+        this.arrivalTick[h] = arrivalTick;
+        this.deadlineTick[h] = deadlineTick;
+        this.deadlineMissed[h] = false;
+        this.ioEventCycle[h] = ioEventCycle;
+        this.ioServiceDuration[h] = ioServiceDuration;
+        this.ioWaitedTicks[h] = 0;
+        this.startTick[h] = -1;
+        this.finishTick[h] = -1;
+        this.waitingTime[h] = 0;
+        this.readySinceTick[h] = -1;
+        this.cpuId[h] = -1;
+        return h;
+    }
+
+    /** Copia un PCB existente a la tabla (estado y contadores incluidos). */
+    public int importPcb(PCB p) {
+        int h = add(p.getPid(), p.getBaseName(), p.getTotalInstructions(), p.getPriority(), p.getArrivalTick(),
+                p.getDeadlineTick(), p.getIoEventCycle(), p.getIoServiceDuration());
+        jobNumber[h] = p.getJobNumber();
+        copyCounters(h, p);
+        return h;
+    }
+
+    /**
+     * Enlaza el PCB a una fila nueva con una copia de sus datos. Un PCB está
+     * en una sola tabla a la vez; detach() (o release() de su fila) lo suelta.
+     */
+    public int attach(PCB p) {
+        if (p == null) {
+            throw new IllegalArgumentException("pcb cannot be null");
+        }
+        if (p.tableRow >= 0) {
+            throw new IllegalArgumentException("pcb " + p.getPid() + " is already in a process table");
+        }
+        int h = importPcb(p);
+        owner[h] = p;
+        p.tableRow = h;
+        return h;
+    }
+
+    public void detach(PCB p) {
+        release(rowOf(p));
+    }
+
+    /** Fila del PCB enlazado, en O(1). */
+    public int rowOf(PCB p) {
+        int h = p == null ? -1 : p.tableRow;
+        if (h < 0 || h >= highWater || owner[h] != p) {
+            throw new IllegalArgumentException("pcb is not in this table: " + p);
+        }
+        return h;
+    }
+
+    public boolean contains(PCB p) {
+        int h = p == null ? -1 : p.tableRow;
+        return h >= 0 && h < highWater && owner[h] == p;
+    }
+
+    /** PCB enlazado a la fila (null si la fila se creó con add()). */
+    public PCB pcbAt(int h) {
+        checkHandle(h);
+        return owner[h];
+    }
+
+    /** Copia a la fila el estado y los contadores actuales de su PCB. */
+    public void sync(int h) {
+        checkHandle(h);
+        PCB p = owner[h];
+        if (p == null) {
+            throw new IllegalArgumentException("row " + h + " has no pcb");
+        }
+        copyCounters(h, p);
+    }
+
+    /** Libera la fila (y suelta su PCB, si tenía); el handle puede reutilizarse en el siguiente add(). */
+    public void release(int h) {
+        checkHandle(h);
+        if (owner[h] != null) {
+            owner[h].tableRow = -1;
+            owner[h] = null;
+        }
+        state[h] = -1;
+        name[h] = null;
+        if (freeCount == freeRows.length) {
+            int[] grown = new int[freeRows.length * 2];
+            System.arraycopy(freeRows, 0, grown, 0, freeCount);
+            freeRows = grown;
+        }
+        freeRows[freeCount++] = h;
+        size--;
+    }
+
+    public boolean isLive(int h) {
+        return h >= 0 && h < highWater && state[h] >= 0;
+    }
+
+    // --- Getters por handle ---
+
+    public int getPid(int h) { return pid[h]; }
+    public String getName(int h) { return jobNumber[h] < 0 ? name[h] : name[h] + "#" + jobNumber[h]; }
+    public ProcessState getState(int h) { return STATES[state[h]]; }
+    public int getProgramCounter(int h) { return programCounter[h]; }
+    public int getMar(int h) { return mar[h]; }
+    public int getTotalInstructions(int h) { return totalInstructions[h]; }
+    public int getRemainingInstructions(int h) { return remaining(h); }
+    public int getPriority(int h) { return priority[h]; }
+    public long getArrivalTick(int h) { return arrivalTick[h]; }
+    public long getDeadlineTick(int h) { return deadlineTick[h]; }
+    public boolean isDeadlineMissed(int h) { return deadlineMissed[h]; }
+    public int getIoEventCycle(int h) { return ioEventCycle[h]; }
+    public int getIoServiceDuration(int h) { return ioServiceDuration[h]; }
+    public int getIoWaitedTicks(int h) { return ioWaitedTicks[h]; }
+    public long getStartTick(int h) { return startTick[h]; }
+    public long getFinishTick(int h) { return finishTick[h]; }
+    public long getWaitingTime(int h) { return waitingTime[h]; }
+    public int getCpuId(int h) { return cpuId[h]; }
+
+    /** CPU del proceso de la fila (la del PCB enlazado también). */
+    public void setCpuId(int h, int cpuId) {
+        checkHandle(h);
+        this.cpuId[h] = cpuId;
+        if (owner[h] != null) owner[h].setCpuId(cpuId);
+    }
+
+    // --- Lógica de Simulación (mismo contrato que PCB) ---
+
+    public void setState(int h, ProcessState s) {
+        if (s == null) {
+            throw new IllegalArgumentException("state must not be null");
+        }
+        state[h] = (byte) s.ordinal();
+    }
+
+    public void executeCycles(int h, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be >= 0");
+        }
+        int steps = Math.min(n, totalInstructions[h] - programCounter[h]);
+        if (steps > 0) {
+            programCounter[h] += steps;
+            mar[h] += steps;
+        }
+    }
+
+    public void incrementIoWait(int h) { ioWaitedTicks[h]++; }
+    public void resetIoWait(int h) { ioWaitedTicks[h] = 0; }
+
+    public void markReady(int h, long readyFromTick) {
+        readySinceTick[h] = readyFromTick;
+    }
+
+    public void markDispatched(int h, long runFromTick) {
+        if (readySinceTick[h] >= 0 && runFromTick > readySinceTick[h]) {
+            waitingTime[h] += runFromTick - readySinceTick[h];
+        }
+        readySinceTick[h] = -1;
+    }
+
+    public void setStartTick(int h, long tick) {
+        if (startTick[h] == -1) {
+            startTick[h] = tick;
+        }
+    }
+
+    public void setFinishTick(int h, long tick) { finishTick[h] = tick; }
+
+    public boolean hasFinished(int h) {
+        return programCounter[h] >= totalInstructions[h];
+    }
+
+    public boolean shouldTriggerIO(int h) {
+        return ioEventCycle[h] != -1 && programCounter[h] == ioEventCycle[h];
+    }
+
+    // --- Comparadores por handle (mismos desempates que OperatingSystem) ---
+
+    public Compare.IntComparator srtComparator() { return srtComparator; }
+    public Compare.IntComparator priorityComparator() { return priorityComparator; }
+    public Compare.IntComparator edfComparator() { return edfComparator; }
+    public Compare.IntComparator fifoComparator() { return fifoComparator; }
+
+    /** Nueva vista flyweight; moveTo(h) la apunta a otra fila sin crear objetos. */
+    public View newView() {
+        return new View();
+    }
+
+    /**
+     * Vista reutilizable de una fila. Una sola instancia puede recorrer toda
+     * la tabla (p.ej. al pintar una JTable); no guarda copia de los datos.
+     */
+    public final class View implements ProcessInfo {
+        private int h = -1;
+
+        public View moveTo(int handle) {
+            checkHandle(handle);
+            this.h = handle;
+            return this;
+        }
+
+        public int handle() { return h; }
+
+        public int getPid() { return pid[h]; }
+        public String getName() { return PcbTable.this.getName(h); }
+        public ProcessState getState() { return STATES[state[h]]; }
+        public int getProgramCounter() { return programCounter[h]; }
+        public int getMar() { return mar[h]; }
+        public int getTotalInstructions() { return totalInstructions[h]; }
+        public int getRemainingInstructions() { return remaining(h); }
+        public int getPriority() { return priority[h]; }
+        public long getArrivalTick() { return arrivalTick[h]; }
+        public long getDeadlineTick() { return deadlineTick[h]; }
+        public boolean isDeadlineMissed() { return deadlineMissed[h]; }
+        public int getIoEventCycle() { return ioEventCycle[h]; }
+        public int getIoServiceDuration() { return ioServiceDuration[h]; }
+        public int getIoWaitedTicks() { return ioWaitedTicks[h]; }
+        public long getStartTick() { return startTick[h]; }
+        public long getFinishTick() { return finishTick[h]; }
+        public long getWaitingTime() { return waitingTime[h]; }
+        public int getCpuId() { return cpuId[h]; }
+
+        public long getDeadlineRemaining(long currentTick) {
+            return deadlineTick[h] - currentTick;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PCB{ID=%d, Name='%s', State=%s, PC=%d/%d, Prio=%d}",
+                    pid[h], PcbTable.this.getName(h), STATES[state[h]], programCounter[h], totalInstructions[h], priority[h]);
+        }
+    }
+
+    private void copyCounters(int h, PCB p) {
+        state[h] = (byte) p.getState().ordinal();
+        programCounter[h] = p.getProgramCounter();
+        mar[h] = p.getMar();
+        deadlineMissed[h] = p.isDeadlineMissed();
+        ioWaitedTicks[h] = p.getIoWaitedTicks();
+        startTick[h] = p.getStartTick();
+        finishTick[h] = p.getFinishTick();
+        waitingTime[h] = p.getWaitingTime();
+        readySinceTick[h] = p.getReadySinceTick();
+        cpuId[h] = p.getCpuId();
+    }
+
+    private int remaining(int h) {
+        return Math.max(0, totalInstructions[h] - programCounter[h]);
+    }
+
+    private int allocateRow() {
+        int h;
+        if (freeCount > 0) {
+            h = freeRows[--freeCount];
+        } else {
+            if (highWater == pid.length) {
+                grow(pid.length * 2);
+            }
+            h = highWater++;
+        }
+        size++;
+        return h;
+    }
+
+    private void allocate(int capacity) {
+        pid = new int[capacity];
+        name = new String[capacity];
+        jobNumber = new long[capacity];
+        state = new byte[capacity];
+        owner = new PCB[capacity];
+        programCounter = new int[capacity];
+        mar = new int[capacity];
+        totalInstructions = new int[capacity];
+        priority = new int[capacity];
+        arrivalTick = new long[capacity];
+        deadlineTick = new long[capacity];
+        deadlineMissed = new boolean[capacity];
+        ioEventCycle = new int[capacity];
+        ioServiceDuration = new int[capacity];
+        ioWaitedTicks = new int[capacity];
+        startTick = new long[capacity];
+        finishTick = new long[capacity];
+        waitingTime = new long[capacity];
+        readySinceTick = new long[capacity];
+        cpuId = new int[capacity];
+    }
+
+    private void grow(int newCapacity) {
+        int n = highWater;
+        int[] oldPid = pid;
+        String[] oldName = name;
+        long[] oldJobNumber = jobNumber;
+        byte[] oldState = state;
+        PCB[] oldOwner = owner;
+        int[] oldPc = programCounter;
+        int[] oldMar = mar;
+        int[] oldTotal = totalInstructions;
+        int[] oldPriority = priority;
+        long[] oldArrival = arrivalTick;
+        long[] oldDeadline = deadlineTick;
+        boolean[] oldMissed = deadlineMissed;
+        int[] oldIoCycle = ioEventCycle;
+        int[] oldIoDuration = ioServiceDuration;
+        int[] oldIoWaited = ioWaitedTicks;
+        long[] oldStart = startTick;
+        long[] oldFinish = finishTick;
+        long[] oldWaiting = waitingTime;
+        long[] oldReadySince = readySinceTick;
+        int[] oldCpuId = cpuId;
+
+        allocate(newCapacity);
+        System.arraycopy(oldPid, 0, pid, 0, n);
+        System.arraycopy(oldName, 0, name, 0, n);
+        System.arraycopy(oldJobNumber, 0, jobNumber, 0, n);
+        System.arraycopy(oldState, 0, state, 0, n);
+        System.arraycopy(oldOwner, 0, owner, 0, n);
+        System.arraycopy(oldPc, 0, programCounter, 0, n);
+        System.arraycopy(oldMar, 0, mar, 0, n);
+        System.arraycopy(oldTotal, 0, totalInstructions, 0, n);
+        System.arraycopy(oldPriority, 0, priority, 0, n);
+        System.arraycopy(oldArrival, 0, arrivalTick, 0, n);
+        System.arraycopy(oldDeadline, 0, deadlineTick, 0, n);
+        System.arraycopy(oldMissed, 0, deadlineMissed, 0, n);
+        System.arraycopy(oldIoCycle, 0, ioEventCycle, 0, n);
+        System.arraycopy(oldIoDuration, 0, ioServiceDuration, 0, n);
+        System.arraycopy(oldIoWaited, 0, ioWaitedTicks, 0, n);
+        System.arraycopy(oldStart, 0, startTick, 0, n);
+        System.arraycopy(oldFinish, 0, finishTick, 0, n);
+        System.arraycopy(oldWaiting, 0, waitingTime, 0, n);
+        System.arraycopy(oldReadySince, 0, readySinceTick, 0, n);
+        System.arraycopy(oldCpuId, 0, cpuId, 0, n);
+    }
+
+    private void checkHandle(int h) {
+        if (!isLive(h)) {
+            throw new IllegalArgumentException("invalid handle: " + h);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * PeriodicTaskTemplate.java
+ */
+package ve.edu.unimet.so.proyecto1.models;
+
+/**
+ * Plantilla de tarea periódica (§8): cada periodTicks libera un job (un PCB
+ * nuevo) con deadline relativa relativeDeadlineTicks.
+ *
+ * Los datos de la tarea (WCET, período, deadline, prioridad, I/O) son los que
+ * usa el control de admisión. El período y la deadline solo cambian si la
+ * admisión la degrada (hasta maxPeriodTicks). nextReleaseTick, jobsReleased
+ * y cpuId los mantiene el kernel.
+ */
+public class PeriodicTaskTemplate {
+
+    public static final long UNLIMITED_JOBS = Long.MAX_VALUE;
+
+    // --- Tarea ---
+    private final String name;
+    private final int wcet;               // instrucciones de cada job
+    private long periodTicks;
+    private long relativeDeadlineTicks;
+    private final int priority;
+    private int ioEventCycle = -1;        // patrón I/O opcional (igual que en PCB)
+    private int ioServiceDuration = 0;
+
+    // --- Degradación y límites ---
+    private long maxPeriodTicks;          // período máximo aceptable al degradar (= periodTicks: no degradable)
+    private long maxJobs = UNLIMITED_JOBS;
+
+    // --- Estado de liberación (kernel) ---
+    private long nextReleaseTick;
+    private long jobsReleased;
+    private int cpuId = -1;               // CPU asignada en modo particionado (-1 = cualquiera)
+
+    public PeriodicTaskTemplate(String name, int wcet, long periodTicks, long relativeDeadlineTicks, int priority,
+            long firstReleaseTick) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("name must not be null/blank");
+        }
+        if (wcet <= 0) {
+            throw new IllegalArgumentException("wcet must be > 0");
+        }
+        if (periodTicks <= 0 || relativeDeadlineTicks <= 0) {
+            throw new IllegalArgumentException("periodTicks and relativeDeadlineTicks must be > 0");
+        }
+        if (firstReleaseTick < 0) {
+            throw new IllegalArgumentException("firstReleaseTick must be >= 0");
+        }
+        this.name = name;
+        this.wcet = wcet;
+        this.periodTicks = periodTicks;
+        this.relativeDeadlineTicks = relativeDeadlineTicks;
+        this.priority = priority;
+        this.maxPeriodTicks = periodTicks;
+        this.nextReleaseTick = firstReleaseTick;
+    }
+
+    /** Cada job se bloquea ioServiceDuration ticks después de su instrucción ioEventCycle. */
+    public void setIoPattern(int ioEventCycle, int ioServiceDuration) {
+        if (ioEventCycle < -1 || ioEventCycle > wcet || ioEventCycle == 0) {
+            throw new IllegalArgumentException("ioEventCycle must be -1 or in [1, wcet]");
+        }
+        if (ioServiceDuration < 0) {
+            throw new IllegalArgumentException("ioServiceDuration must be >= 0");
+        }
+        this.ioEventCycle = ioEventCycle;
+        this.ioServiceDuration = ioServiceDuration;
+    }
+
+    /** Período máximo que se acepta si la admisión tiene que degradar la tarea. */
+    public void setMaxPeriodTicks(long maxPeriodTicks) {
+        if (maxPeriodTicks < periodTicks) {
+            throw new IllegalArgumentException("maxPeriodTicks must be >= periodTicks");
+        }
+        this.maxPeriodTicks = maxPeriodTicks;
+    }
+
+    /** Límite de jobs de esta plantilla (UNLIMITED_JOBS por defecto). */
+    public void setMaxJobs(long maxJobs) {
+        if (maxJobs < 0) {
+            throw new IllegalArgumentException("maxJobs must be >= 0");
+        }
+        this.maxJobs = maxJobs;
+    }
+
+    /**
+     * Cambia el período (degradación). Con deadline implícita (igual al
+     * período) la deadline se estira con él.
+     */
+    public void degradeTo(long newPeriodTicks) {
+        if (newPeriodTicks < periodTicks || newPeriodTicks > maxPeriodTicks) {
+            throw new IllegalArgumentException("newPeriodTicks must be in [periodTicks, maxPeriodTicks]");
+        }
+        if (relativeDeadlineTicks == periodTicks) {
+            relativeDeadlineTicks = newPeriodTicks;
+        }
+        periodTicks = newPeriodTicks;
+    }
+
+    /** Deadline relativa si el período fuera period (misma regla que degradeTo). */
+    public long deadlineForPeriod(long period) {
+        return relativeDeadlineTicks == periodTicks ? period : relativeDeadlineTicks;
+    }
+
+    /** true si todavía puede liberar jobs. */
+    public boolean hasJobsLeft() {
+        return jobsReleased < maxJobs;
+    }
+
+    /** Registra un job liberado y avanza al próximo período. */
+    public void markReleased() {
+        jobsReleased++;
+        nextReleaseTick += periodTicks;
+    }
+
+    // --- Getters y Setters ---
+
+    public String getName() { return name; }
+    public int getWcet() { return wcet; }
+    public long getPeriodTicks() { return periodTicks; }
+    public long getRelativeDeadlineTicks() { return relativeDeadlineTicks; }
+    public int getPriority() { return priority; }
+    public int getIoEventCycle() { return ioEventCycle; }
+    public int getIoServiceDuration() { return ioServiceDuration; }
+    public long getMaxPeriodTicks() { return maxPeriodTicks; }
+    public long getMaxJobs() { return maxJobs; }
+    public long getNextReleaseTick() { return nextReleaseTick; }
+    public void setNextReleaseTick(long nextReleaseTick) { this.nextReleaseTick = nextReleaseTick; }
+    public long getJobsReleased() { return jobsReleased; }
+    public int getCpuId() { return cpuId; }
+    public void setCpuId(int cpuId) { this.cpuId = cpuId; }
+
+    /** Para restaurar un checkpoint. */
+    public void restoreCounters(long jobsReleased, int cpuId) {
+        this.jobsReleased = jobsReleased;
+        this.cpuId = cpuId;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Periodic{Name='%s', C=%d, T=%d, D=%d, Prio=%d, jobs=%d}",
+                name, wcet, periodTicks, relativeDeadlineTicks, priority, jobsReleased);
+    }
+}
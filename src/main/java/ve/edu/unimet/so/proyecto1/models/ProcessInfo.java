@@ -0,0 +1,37 @@
+/*
+ * ProcessInfo.java
+ */
+package ve.edu.unimet.so.proyecto1.models;
+
+/**
+ * Vista de solo lectura de un proceso. La implementan PCB (objeto completo)
+ * y PcbTable.View (flyweight sobre la tabla de arreglos), así la GUI y los
+ * reportes pueden mostrar ambos sin copiar datos.
+ */
+public interface ProcessInfo {
+
+    int getPid();
+    String getName();
+    ProcessState getState();
+
+    int getProgramCounter();
+    int getMar();
+    int getTotalInstructions();
+    int getRemainingInstructions();
+
+    int getPriority();
+    long getArrivalTick();
+    long getDeadlineTick();
+    boolean isDeadlineMissed();
+
+    int getIoEventCycle();
+    int getIoServiceDuration();
+    int getIoWaitedTicks();
+
+    long getStartTick();
+    long getFinishTick();
+    long getWaitingTime();
+    int getCpuId();
+
+    long getDeadlineRemaining(long currentTick);
+}